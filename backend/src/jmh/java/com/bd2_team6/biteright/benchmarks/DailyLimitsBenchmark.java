@@ -0,0 +1,69 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.entities.daily_limits.DailyLimits;
+import com.bd2_team6.biteright.entities.daily_limits.DailyLimitsRepository;
+import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user_goal.UserGoal;
+import com.bd2_team6.biteright.entities.user_info.UserInfo;
+import com.bd2_team6.biteright.service.DailyLimitsService;
+import org.openjdk.jmh.annotations.*;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code DailyLimitsService.recalculateDailyLimits}, run when a user registers or changes their profile
+ * or goal. The repository is a stub that returns what it is given, so only the calculation is measured.
+ * The users get random profiles with a fixed seed.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="DailyLimitsBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DailyLimitsBenchmark {
+    private static final int USERS = 256;
+    private static final String[] LIFESTYLES = {"sedentary", "light", "moderate", "active", "athlete", null};
+    private static final String[] GOALS = {"lose weight", "maintain", "gain muscle", null};
+
+    private DailyLimitsService dailyLimitsService;
+    private User[] users;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        DailyLimitsRepository repository = (DailyLimitsRepository) Proxy.newProxyInstance(
+                DailyLimitsRepository.class.getClassLoader(), new Class<?>[]{DailyLimitsRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("save")) {
+                        return args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        dailyLimitsService = new DailyLimitsService(null, repository);
+
+        Random random = new Random(42);
+        users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("user" + i, "user" + i + "@biteright.com", "passwordHash", "standard");
+            UserGoal goal = new UserGoal(GOALS[random.nextInt(GOALS.length)], 50 + random.nextFloat() * 50,
+                    LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365)));
+            float weight = 45 + random.nextFloat() * 80;
+            int height = 150 + random.nextInt(50);
+            user.setUserInfo(new UserInfo(user, goal, "Name", "Surname", 18 + random.nextInt(60), weight, height,
+                    LIFESTYLES[random.nextInt(LIFESTYLES.length)], weight / (height / 100f * height / 100f)));
+            users[i] = user;
+        }
+    }
+
+    @Benchmark
+    public DailyLimits recalculateDailyLimits() {
+        User user = users[next++ & (USERS - 1)];
+        dailyLimitsService.recalculateDailyLimits(user);
+        return user.getDailyLimits();
+    }
+}
@@ -0,0 +1,614 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates realistic, referentially consistent data for every table of the MySQL schema:
+ * catalogs of meal types, ingredients, exercises and recipes, and users with their profile, goal, limits and limit
+ * changes, preferences, addresses, emails and verification codes, and the meals, water intakes, exercises and
+ * weight measurements they logged since signing up. Rows are written to an empty schema through batched JDBC, or
+ * to bulk-load files with a {@code load.sql} script for MySQL.
+ *
+ * Users are generated in chunks on several threads, only a few chunks are in memory at a time. Every user draws
+ * from its own random generator seeded from {@code --seed} and the user's index, and chunks take their ids in
+ * order, so the output does not depend on the number of threads.
+ *
+ * Signups grow over time and most users stop logging after a few months. Activity follows a power law, most users
+ * log a few days a month and a few log every day. Logging peaks in January; portions grow in winter, on weekends and
+ * over Christmas; water intake and exercise grow in summer. A small part of the ingredient catalog makes up most
+ * meal contents.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.bd2_team6.biteright.benchmarks.DataGenerator
+ *     -Djmh.report= -Djmh.args="--users=100000 --output=target/generated-data"
+ * or write to a database with {@code --url=jdbc:mysql://localhost:3306/mysql_database?rewriteBatchedStatements=true
+ * --username=... --password=...}. All users have the password {@link #PASSWORD}.
+ */
+public class DataGenerator {
+    public static final String PASSWORD = "Password1!";
+    static final String[] MEAL_TYPES = {"Breakfast", "Lunch", "Dinner", "Snack"};
+    private static final LocalTime[] MEAL_TIMES = {LocalTime.of(7, 0), LocalTime.of(12, 0), LocalTime.of(18, 0),
+            LocalTime.of(15, 0)};
+    private static final String[] FOODS = {"chicken", "rice", "pasta", "bread", "cheese", "yogurt", "apple",
+            "banana", "oats", "salmon", "tuna", "beef", "potato", "tomato", "egg", "milk", "butter", "beans", "corn",
+            "peanut", "almond", "chocolate", "lettuce", "carrot", "pork", "turkey", "tofu", "lentils", "orange", "honey"};
+    private static final String[] STYLES = {"smoked", "grilled", "wholegrain", "natural", "light", "organic", "dried",
+            "fresh", "frozen", "roasted", "sweet", "spicy", "greek", "brown", "dark", "classic"};
+    private static final String[] DISHES = {"salad", "soup", "stew", "bowl", "wrap", "pie", "curry", "casserole",
+            "sandwich", "smoothie", "pancakes", "stir-fry"};
+    private static final String[] EXERCISES = {"Running", "Cycling", "Swimming", "Walking", "Yoga", "Rowing",
+            "Weight training", "Hiking", "Dancing", "Tennis", "Football", "Basketball", "Skiing", "Pilates",
+            "Climbing", "Boxing"};
+    private static final double[] EXERCISE_METS = {9.8, 7.5, 8.0, 3.5, 2.5, 7.0, 6.0, 6.0, 5.0, 7.3, 7.0, 6.5, 7.0,
+            3.0, 8.0, 9.0};
+    private static final String[] LIFESTYLES = {"sedentary", "light", "moderate", "active", "athlete"};
+    private static final String[] GOALS = {"lose weight", "maintain", "gain muscle"};
+    private static final String[] CITIES = {"Warsaw", "Krakow", "Gdansk", "Wroclaw", "Poznan", "Lodz", "Berlin",
+            "Prague", "Vienna", "London"};
+    private static final String[] COUNTRIES = {"Poland", "Poland", "Poland", "Poland", "Poland", "Poland", "Germany",
+            "Czechia", "Austria", "United Kingdom"};
+    private static final int CHUNK_SIZE = 50;
+
+    private final long seed;
+    private final LocalDate today;
+    private final int years;
+    private final int ingredients;
+    private final int recipes;
+    private final int threads;
+    private final String passwordHash;
+
+    private final long[] nextIds = new long[SchemaTable.values().length];
+    private int claimedChunks;
+    private boolean failed;
+
+    public DataGenerator(long seed, LocalDate today, int years, int ingredients, int recipes, int threads,
+                         String passwordHash) {
+        this.seed = seed;
+        this.today = today;
+        this.years = years;
+        this.ingredients = ingredients;
+        this.recipes = recipes;
+        this.threads = threads;
+        this.passwordHash = passwordHash;
+    }
+
+    public record SeededUser(long id, String username, String email, double activity) {
+    }
+
+    public record Population(List<SeededUser> users, long[] mealTypeIds, long[] ingredientIds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("users", "10000");
+        options.put("years", "3");
+        options.put("ingredients", "300000");
+        options.put("recipes", "20000");
+        options.put("threads", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        options.put("seed", "42");
+        options.put("today", LocalDate.now().toString());
+        options.put("output", "target/generated-data");
+        options.put("url", "");
+        options.put("username", "");
+        options.put("password", "");
+        options.put("batch-size", "1000");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = arg.startsWith("--") && separator > 0 ? arg.substring(2, separator) : null;
+            if (key == null || !options.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown argument " + arg + ", expected --<option>=<value> with "
+                        + "options " + options.keySet());
+            }
+            options.put(key, arg.substring(separator + 1));
+        }
+
+        DataGenerator generator = new DataGenerator(Long.parseLong(options.get("seed")),
+                LocalDate.parse(options.get("today")), Integer.parseInt(options.get("years")),
+                Integer.parseInt(options.get("ingredients")), Integer.parseInt(options.get("recipes")),
+                Integer.parseInt(options.get("threads")), new BCryptPasswordEncoder().encode(PASSWORD));
+        int users = Integer.parseInt(options.get("users"));
+        if (options.get("url").isEmpty()) {
+            generator.toFiles(Path.of(options.get("output")), users);
+        } else {
+            generator.toDatabase(new DriverManagerDataSource(options.get("url"), options.get("username"),
+                    options.get("password")), users, Integer.parseInt(options.get("batch-size")));
+        }
+    }
+
+    /// Writes through batched JDBC, ids continue after the rows already in the tables
+    public Population toDatabase(DataSource dataSource, int users, int batchSize) throws Exception {
+        boolean summariesByTriggers;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (SchemaTable table : SchemaTable.values()) {
+                if (table.idColumn != null) {
+                    try (ResultSet result = statement.executeQuery(
+                            "SELECT COALESCE(MAX(" + table.idColumn + "), 0) + 1 FROM " + table.tableName)) {
+                        result.next();
+                        nextIds[table.ordinal()] = result.getLong(1);
+                    }
+                }
+            }
+            // MySQL keeps daily_summary current with triggers, H2 and schemas created by Hibernate have none
+            try (ResultSet result = statement.executeQuery(
+                    "SELECT COUNT(*) FROM information_schema.triggers WHERE LOWER(event_object_table) = 'meal'")) {
+                summariesByTriggers = result.next() && result.getLong(1) > 0;
+            }
+        }
+
+        Population population = generate(users, !summariesByTriggers,
+                thread -> new JdbcRowSink(dataSource, batchSize));
+
+        // the backend takes content ids in blocks of 50, its first block must start after the rows written here
+        try (Connection connection = dataSource.getConnection()) {
+            for (SchemaTable table : new SchemaTable[]{SchemaTable.MEAL_CONTENT, SchemaTable.RECIPE_CONTENT}) {
+                long nextBlock = nextIds[table.ordinal()] + 50;
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE id_generator SET next_val = ? WHERE sequence_name = ?")) {
+                    update.setLong(1, nextBlock);
+                    update.setString(2, table.tableName);
+                    if (update.executeUpdate() == 0) {
+                        try (PreparedStatement insert = connection.prepareStatement(
+                                "INSERT INTO id_generator (sequence_name, next_val) VALUES (?, ?)")) {
+                            insert.setString(1, table.tableName);
+                            insert.setLong(2, nextBlock);
+                            insert.executeUpdate();
+                        }
+                    }
+                }
+            }
+        }
+        return population;
+    }
+
+    /// Writes bulk-load files for an empty schema and {@code load.sql}, which loads them with MySQL's LOAD DATA
+    public Population toFiles(Path directory, int users) throws Exception {
+        Files.createDirectories(directory);
+        Arrays.fill(nextIds, 1);
+        // LOAD DATA fires the triggers, the summaries are rebuilt once at the end instead of written here
+        Population population = generate(users, false, thread -> new TsvRowSink(directory, thread));
+
+        try (PrintWriter script = new PrintWriter(Files.newBufferedWriter(directory.resolve("load.sql")))) {
+            script.println("-- loads the generated files into an empty schema created by the backend's migrations,");
+            script.println("-- run from this directory: mysql --local-infile=1 mysql_database < load.sql");
+            script.println("SET foreign_key_checks = 0;");
+            script.println("SET unique_checks = 0;");
+            for (SchemaTable table : SchemaTable.values()) {
+                for (int thread = 0; thread <= threads; thread++) {
+                    if (Files.exists(directory.resolve(TsvRowSink.fileName(table, thread)))) {
+                        script.printf("LOAD DATA LOCAL INFILE '%s' INTO TABLE %s (%s);%n",
+                                TsvRowSink.fileName(table, thread), table.tableName, String.join(", ", table.columns));
+                    }
+                }
+            }
+            script.println("SET unique_checks = 1;");
+            script.println("SET foreign_key_checks = 1;");
+            script.println("-- the backend takes content ids in blocks of 50, its first block must start after the loaded rows");
+            script.printf("INSERT INTO id_generator (sequence_name, next_val) VALUES ('meal_content', %d), "
+                            + "('recipe_content', %d) AS new ON DUPLICATE KEY UPDATE next_val = new.next_val;%n",
+                    nextIds[SchemaTable.MEAL_CONTENT.ordinal()] + 50, nextIds[SchemaTable.RECIPE_CONTENT.ordinal()] + 50);
+            script.println("CALL REBUILD_DAILY_SUMMARY();");
+        }
+        return population;
+    }
+
+    private interface SinkFactory {
+        RowSink open(int thread) throws Exception;
+    }
+
+    private Population generate(int users, boolean summaries, SinkFactory sinks) throws Exception {
+        long start = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+
+        // the catalogs are chunk 0, written before any user references them
+        Chunk catalogChunk = new Chunk();
+        Catalog catalog = generateCatalog(catalogChunk);
+        claim(catalogChunk, 0);
+        catalogChunk.resolve();
+        try (RowSink sink = sinks.open(0)) {
+            catalogChunk.writeTo(sink);
+        }
+        rows.addAndGet(catalogChunk.rowCount());
+        catalog.resolve(catalogChunk);
+
+        SeededUser[] seeded = new SeededUser[users];
+        int chunks = (users + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        AtomicInteger nextChunk = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> workers = new ArrayList<>();
+            for (int thread = 1; thread <= threads; thread++) {
+                int sinkIndex = thread;
+                Callable<Void> worker = () -> {
+                    try (RowSink sink = sinks.open(sinkIndex)) {
+                        for (int index = nextChunk.getAndIncrement(); index < chunks; index = nextChunk.getAndIncrement()) {
+                            Chunk chunk = new Chunk();
+                            for (int user = index * CHUNK_SIZE; user < Math.min(users, (index + 1) * CHUNK_SIZE); user++) {
+                                generateUser(chunk, user, catalog, summaries);
+                            }
+                            claim(chunk, index + 1);
+                            chunk.resolve();
+                            chunk.writeTo(sink);
+                            chunk.collectUsers(seeded);
+                            long written = rows.addAndGet(chunk.rowCount());
+                            if ((index + 1) % Math.max(1, chunks / 10) == 0) {
+                                System.out.printf("%d/%d users, %d rows, %.0f rows/min%n",
+                                        Math.min(users, (index + 1) * CHUNK_SIZE), users, written,
+                                        written / ((System.nanoTime() - start) / 60e9));
+                            }
+                        }
+                    } catch (Exception | Error e) {
+                        fail();
+                        throw e;
+                    }
+                    return null;
+                };
+                workers.add(executor.submit(worker));
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.printf("Generated %d users and %d rows in %.1f s%n", users, rows.get(),
+                (System.nanoTime() - start) / 1e9);
+        return new Population(Arrays.asList(seeded), catalog.mealTypeIds, catalog.ingredientIds);
+    }
+
+    /// Chunks take their ids in order, so the ids do not depend on which thread finished first
+    private synchronized void claim(Chunk chunk, int index) throws InterruptedException {
+        while (claimedChunks != index) {
+            if (failed) {
+                throw new IllegalStateException("Another generator thread failed.");
+            }
+            wait();
+        }
+        for (SchemaTable table : SchemaTable.values()) {
+            chunk.bases[table.ordinal()] = nextIds[table.ordinal()];
+            nextIds[table.ordinal()] += chunk.counts[table.ordinal()];
+        }
+        claimedChunks++;
+        notifyAll();
+    }
+
+    private synchronized void fail() {
+        failed = true;
+        notifyAll();
+    }
+
+    private Catalog generateCatalog(Chunk chunk) {
+        Random random = new Random(seed);
+        Catalog catalog = new Catalog();
+        catalog.mealTypes = new LocalId[MEAL_TYPES.length];
+        for (int i = 0; i < MEAL_TYPES.length; i++) {
+            catalog.mealTypes[i] = chunk.id(SchemaTable.MEAL_TYPE);
+            chunk.add(SchemaTable.MEAL_TYPE, catalog.mealTypes[i], MEAL_TYPES[i]);
+        }
+
+        catalog.ingredients = new LocalId[ingredients];
+        catalog.nutrition = new int[ingredients][];
+        for (int i = 0; i < ingredients; i++) {
+            int protein = random.nextInt(35);
+            int fat = random.nextInt(random.nextInt(10) == 0 ? 80 : 25);
+            int carbs = random.nextInt(Math.max(1, 100 - protein - fat));
+            int calories = protein * 4 + fat * 9 + carbs * 4;
+            catalog.ingredients[i] = chunk.id(SchemaTable.INGREDIENT);
+            catalog.nutrition[i] = new int[]{calories, protein, fat, carbs};
+            chunk.add(SchemaTable.INGREDIENT, catalog.ingredients[i], STYLES[random.nextInt(STYLES.length)] + " "
+                            + FOODS[random.nextInt(FOODS.length)] + " " + i, "Brand " + random.nextInt(2000), 100,
+                    calories, protein, fat, carbs);
+        }
+
+        catalog.exercises = new LocalId[EXERCISES.length];
+        for (int i = 0; i < EXERCISES.length; i++) {
+            catalog.exercises[i] = chunk.id(SchemaTable.EXERCISE_INFO);
+            chunk.add(SchemaTable.EXERCISE_INFO, catalog.exercises[i], EXERCISE_METS[i], EXERCISES[i]);
+        }
+
+        for (int i = 0; i < recipes; i++) {
+            LocalId recipeId = chunk.id(SchemaTable.RECIPE);
+            double calories = 0, protein = 0, fat = 0, carbs = 0;
+            List<Object[]> contents = new ArrayList<>();
+            for (int c = 3 + random.nextInt(10); c > 0; c--) {
+                int ingredient = popularIngredient(random);
+                int amount = 10 + random.nextInt(300);
+                int[] values = catalog.nutrition[ingredient];
+                // ingredient values are per 100 g portion, like Recipe.recalculateMacros
+                calories += values[0] * amount / 100.0;
+                protein += values[1] * amount / 100.0;
+                fat += values[2] * amount / 100.0;
+                carbs += values[3] * amount / 100.0;
+                contents.add(new Object[]{chunk.id(SchemaTable.RECIPE_CONTENT), recipeId, catalog.ingredients[ingredient],
+                        amount});
+            }
+            chunk.add(SchemaTable.RECIPE, recipeId, STYLES[random.nextInt(STYLES.length)] + " "
+                            + FOODS[random.nextInt(FOODS.length)] + " " + DISHES[random.nextInt(DISHES.length)] + " " + i,
+                    "Generated recipe", null, round2(calories), round2(protein), round2(fat), round2(carbs));
+            for (Object[] content : contents) {
+                chunk.add(SchemaTable.RECIPE_CONTENT, content);
+            }
+        }
+        return catalog;
+    }
+
+    /// Index into the ingredient catalog, low indexes are picked far more often
+    private int popularIngredient(Random random) {
+        double u = random.nextDouble();
+        return (int) (ingredients * u * u * u);
+    }
+
+    private void generateUser(Chunk chunk, int index, Catalog catalog, boolean summaries) {
+        Random random = new Random(seed * 31 + index);
+        LocalDate first = today.minusYears(years);
+        // more users sign up as the application grows
+        LocalDate signup = first.plusDays((long) (ChronoUnit.DAYS.between(first, today) * Math.sqrt(random.nextDouble())));
+        LocalDateTime signupTime = signup.atTime(8 + random.nextInt(14), random.nextInt(60));
+        boolean verified = random.nextInt(20) > 0;
+        double activity = activity(random);
+        LocalDate lastActive = random.nextInt(10) < 4 ? today
+                : signup.plusDays((long) (-120 * Math.log(1 - random.nextDouble())));
+        if (lastActive.isAfter(today)) {
+            lastActive = today;
+        }
+
+        LocalId userId = chunk.id(SchemaTable.APP_USER);
+        String username = "user_" + index;
+        String email = username + "@biteright.com";
+        boolean forgotPassword = random.nextInt(30) == 0;
+        String forgottenPasswordCode = forgotPassword ? code(random) : "";
+        chunk.add(SchemaTable.APP_USER, userId, username, email, passwordHash, "standard", verified,
+                forgottenPasswordCode);
+        chunk.users.add(new ChunkUser(index, userId, username, email, verified ? activity : 0));
+
+        String verificationCode = code(random);
+        chunk.add(SchemaTable.EMAIL_OUTBOX, chunk.id(SchemaTable.EMAIL_OUTBOX), email, "BiteRight - Email Verification",
+                "Hello, " + username + "!\nThank you for registering in BiteRight!\nPlease click the link below to "
+                        + "verify your email address.", verificationCode,
+                "http://localhost:80/verifyuser/" + email + "/" + verificationCode, "sent", 1, signupTime, signupTime,
+                signupTime.plusSeconds(2 + random.nextInt(30)), null);
+        if (!verified) {
+            chunk.add(SchemaTable.VERIFICATION_CODE, chunk.id(SchemaTable.VERIFICATION_CODE), userId, verificationCode,
+                    signupTime.plusMinutes(60));
+        }
+        if (forgotPassword) {
+            LocalDateTime requested = signupTime.plusDays(random.nextInt(
+                    (int) Math.max(1, ChronoUnit.DAYS.between(signup, lastActive) + 1)));
+            chunk.add(SchemaTable.EMAIL_OUTBOX, chunk.id(SchemaTable.EMAIL_OUTBOX), email,
+                    "BiteRight - Forgotten password", "Hello, " + username + "!\nIf you requested to reset your "
+                            + "password, please click the link below to complete the process.\nIf it wasn't you then "
+                            + "ignore this email.", forgottenPasswordCode,
+                    "http://localhost:80/passwordreset/" + email + "/" + forgottenPasswordCode, "sent", 1, requested,
+                    requested, requested.plusSeconds(2 + random.nextInt(30)), null);
+        }
+
+        int height = 155 + random.nextInt(40);
+        double weight = round2((19 + random.nextDouble() * 14) * height * height / 10000.0);
+        String goal = GOALS[random.nextInt(GOALS.length)];
+        double goalWeight = goal.startsWith("lose") ? weight * 0.9 : goal.startsWith("gain") ? weight * 1.05 : weight;
+        LocalId goalId = chunk.id(SchemaTable.USER_GOAL);
+        chunk.add(SchemaTable.USER_GOAL, goalId, goal, round2(goalWeight), signup.plusDays(60 + random.nextInt(300)));
+        chunk.add(SchemaTable.USER_INFO, chunk.id(SchemaTable.USER_INFO), userId, goalId, "Name" + index,
+                "Surname" + index, 16 + random.nextInt(60), weight, height, LIFESTYLES[random.nextInt(LIFESTYLES.length)],
+                round2(weight / (height / 100.0 * height / 100.0)));
+
+        // limits are changed every few months while the user is active, daily_limits holds the last ones
+        int calorieLimit = 1600 + random.nextInt(1400);
+        LocalDate changed = signup;
+        while (true) {
+            chunk.add(SchemaTable.LIMIT_HISTORY, changed, userId, calorieLimit, (int) (weight * 1.8),
+                    calorieLimit / 36, calorieLimit / 8, (int) (weight * 35));
+            changed = changed.plusDays(30 + random.nextInt(150));
+            if (changed.isAfter(lastActive)) {
+                break;
+            }
+            calorieLimit = Math.max(1200, calorieLimit + 100 * (random.nextInt(5) - 2));
+        }
+        chunk.add(SchemaTable.DAILY_LIMITS, chunk.id(SchemaTable.DAILY_LIMITS), userId, calorieLimit,
+                (int) (weight * 1.8), calorieLimit / 36, calorieLimit / 8, (int) (weight * 35));
+        chunk.add(SchemaTable.USER_PREFERENCES, chunk.id(SchemaTable.USER_PREFERENCES), userId,
+                random.nextInt(5) == 0 ? "pl" : "eng", random.nextBoolean(), "Arial", random.nextBoolean());
+        for (int a = random.nextInt(10) < 6 ? 0 : 1 + random.nextInt(2); a > 0; a--) {
+            int city = random.nextInt(CITIES.length);
+            chunk.add(SchemaTable.ADDRESS, chunk.id(SchemaTable.ADDRESS), userId,
+                    "Street " + (1 + random.nextInt(200)) + "/" + (1 + random.nextInt(50)), CITIES[city],
+                    String.format("%05d", random.nextInt(100_000)), COUNTRIES[city]);
+        }
+
+        if (verified) {
+            generateHistory(chunk, random, userId, signup, lastActive, activity, weight, goalWeight, catalog, summaries);
+        }
+    }
+
+    private void generateHistory(Chunk chunk, Random random, LocalId userId, LocalDate signup, LocalDate lastActive,
+                                 double activity, double weight, double goalWeight, Catalog catalog,
+                                 boolean summaries) {
+        Map<LocalDate, long[]> days = summaries ? new LinkedHashMap<>() : null;
+        for (LocalDate day = signup; !day.isAfter(lastActive) && day.isBefore(today); day = day.plusDays(1)) {
+            // new year's resolutions
+            double logging = day.getMonth() == Month.JANUARY ? activity * 1.3 : activity;
+            if (random.nextDouble() >= logging) {
+                continue;
+            }
+            long[] totals = days == null ? new long[6] : days.computeIfAbsent(day, key -> new long[6]);
+            double winter = Math.cos(2 * Math.PI * (day.getDayOfYear() - 355) / 365.0);
+            double summer = Math.cos(2 * Math.PI * (day.getDayOfYear() - 196) / 365.0);
+            boolean christmas = day.getMonth() == Month.DECEMBER && day.getDayOfMonth() >= 24
+                    && day.getDayOfMonth() <= 26;
+            double portions = (1 + 0.08 * winter) * (day.getDayOfWeek().getValue() >= 6 ? 1.1 : 1.0)
+                    * (christmas ? 1.25 : 1.0);
+
+            for (int type = 0; type < MEAL_TYPES.length; type++) {
+                if (type == 3 && random.nextInt(10) >= (christmas ? 8 : 5)) {
+                    continue;
+                }
+                LocalId mealId = chunk.id(SchemaTable.MEAL);
+                List<Object[]> contents = new ArrayList<>();
+                double calories = 0, protein = 0, fat = 0, carbs = 0;
+                for (int c = 1 + random.nextInt(5); c > 0; c--) {
+                    int ingredient = popularIngredient(random);
+                    int amount = (int) Math.max(5, (30 + random.nextInt(220)) * portions);
+                    int[] values = catalog.nutrition[ingredient];
+                    contents.add(new Object[]{chunk.id(SchemaTable.MEAL_CONTENT), catalog.ingredientIds[ingredient],
+                            mealId, amount});
+                    calories += values[0] * amount / 100.0;
+                    protein += values[1] * amount / 100.0;
+                    fat += values[2] * amount / 100.0;
+                    carbs += values[3] * amount / 100.0;
+                }
+                chunk.add(SchemaTable.MEAL, mealId, userId, catalog.mealTypeIds[type],
+                        day.atTime(MEAL_TIMES[type]).plusMinutes(random.nextInt(150)), MEAL_TYPES[type], null,
+                        round2(calories), round2(protein), round2(fat), round2(carbs));
+                for (Object[] content : contents) {
+                    chunk.add(SchemaTable.MEAL_CONTENT, content);
+                }
+                // the summaries add up the totals of every meal rounded, like the MySQL triggers
+                totals[0] += Math.round(round2(calories));
+                totals[1] += Math.round(round2(protein));
+                totals[2] += Math.round(round2(fat));
+                totals[3] += Math.round(round2(carbs));
+            }
+
+            for (int w = 2 + random.nextInt(6); w > 0; w--) {
+                int amount = (int) ((150 + random.nextInt(600)) * (1 + 0.2 * summer));
+                chunk.add(SchemaTable.WATER_INTAKE, chunk.id(SchemaTable.WATER_INTAKE),
+                        day.atTime(7 + random.nextInt(15), random.nextInt(60)), userId, amount);
+                totals[4] += amount;
+            }
+
+            if (random.nextDouble() < 0.3 * (1 + 0.3 * summer)) {
+                int exercise = random.nextInt(EXERCISES.length);
+                int duration = 15 + random.nextInt(76);
+                int burnt = (int) Math.round(EXERCISE_METS[exercise] * weight * duration / 60);
+                chunk.add(SchemaTable.USER_EXERCISE, chunk.id(SchemaTable.USER_EXERCISE), userId,
+                        catalog.exerciseIds[exercise], day.atTime(6 + random.nextInt(15), random.nextInt(60)),
+                        duration, burnt);
+                totals[5] += burnt;
+            }
+
+            if (day.getDayOfWeek().getValue() == 1 || random.nextInt(20) == 0) {
+                weight += (goalWeight - weight) * 0.01 + (random.nextDouble() - 0.5) * 0.6;
+                chunk.add(SchemaTable.WEIGHT_HISTORY, chunk.id(SchemaTable.WEIGHT_HISTORY), userId,
+                        day.atTime(7, random.nextInt(60)), round2(weight));
+            }
+        }
+
+        if (days != null) {
+            days.forEach((day, totals) -> chunk.add(SchemaTable.DAILY_SUMMARY, userId, day, totals[0], totals[1],
+                    totals[2], totals[3], totals[4], totals[5]));
+        }
+    }
+
+    /// Share of days a user logs anything, Pareto distributed and capped at every day
+    private static double activity(Random random) {
+        return Math.min(1.0, 0.08 / Math.pow(1 - random.nextDouble(), 1 / 1.5));
+    }
+
+    private static String code(Random random) {
+        return String.format("%08d", random.nextInt(100_000_000));
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /// Id of a row within its chunk, replaced by the real id once the chunk has claimed its ids
+    private record LocalId(SchemaTable table, long index) {
+    }
+
+    private record ChunkUser(int index, LocalId id, String username, String email, double activity) {
+    }
+
+    private static class Catalog {
+        LocalId[] mealTypes;
+        LocalId[] ingredients;
+        LocalId[] exercises;
+        int[][] nutrition;
+        long[] mealTypeIds;
+        long[] ingredientIds;
+        long[] exerciseIds;
+
+        void resolve(Chunk chunk) {
+            mealTypeIds = Arrays.stream(mealTypes).mapToLong(chunk::resolve).toArray();
+            ingredientIds = Arrays.stream(ingredients).mapToLong(chunk::resolve).toArray();
+            exerciseIds = Arrays.stream(exercises).mapToLong(chunk::resolve).toArray();
+        }
+    }
+
+    private static class Chunk {
+        final Map<SchemaTable, List<Object[]>> rows = new EnumMap<>(SchemaTable.class);
+        final long[] counts = new long[SchemaTable.values().length];
+        final long[] bases = new long[SchemaTable.values().length];
+        final List<ChunkUser> users = new ArrayList<>();
+
+        LocalId id(SchemaTable table) {
+            return new LocalId(table, counts[table.ordinal()]++);
+        }
+
+        void add(SchemaTable table, Object... row) {
+            rows.computeIfAbsent(table, key -> new ArrayList<>()).add(row);
+        }
+
+        long resolve(LocalId id) {
+            return bases[id.table().ordinal()] + id.index();
+        }
+
+        void resolve() {
+            for (List<Object[]> tableRows : rows.values()) {
+                for (Object[] row : tableRows) {
+                    for (int i = 0; i < row.length; i++) {
+                        if (row[i] instanceof LocalId id) {
+                            row[i] = resolve(id);
+                        }
+                    }
+                }
+            }
+        }
+
+        void writeTo(RowSink sink) throws Exception {
+            // EnumMap iterates in declaration order, which satisfies the foreign keys
+            for (Map.Entry<SchemaTable, List<Object[]>> table : rows.entrySet()) {
+                sink.write(table.getKey(), table.getValue());
+            }
+            sink.commit();
+        }
+
+        void collectUsers(SeededUser[] seeded) {
+            for (ChunkUser user : users) {
+                seeded[user.index()] = new SeededUser(resolve(user.id()), user.username(), user.email(),
+                        user.activity());
+            }
+        }
+
+        long rowCount() {
+            return rows.values().stream().mapToLong(List::size).sum();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.controllers.DTO.MealDTO;
+import com.bd2_team6.biteright.controllers.DTO.RecipeDTO;
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.meal.Meal;
+import com.bd2_team6.biteright.entities.meal_content.MealContent;
+import com.bd2_team6.biteright.entities.meal_type.MealType;
+import com.bd2_team6.biteright.entities.recipe.Recipe;
+import com.bd2_team6.biteright.entities.recipe_content.RecipeContent;
+import com.bd2_team6.biteright.entities.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning loaded entities into responses: {@code MealDTO} and {@code RecipeDTO} construction, and the
+ * construction followed by Jackson serialization as done for every item of a history or recipe page.
+ * The object mapper is configured like the application's, with {@code spring.jackson.date-format}.
+ * Entities are built in memory with ids set as if loaded, from a fixed seed.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="DtoSerializationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+    @Param({"5", "20"})
+    public int contents;
+
+    private ObjectMapper objectMapper;
+    private Meal meal;
+    private Recipe recipe;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Random random = new Random(42);
+        User user = new User("benchmark_user", "benchmark@biteright.com", "passwordHash", "standard");
+        MealType mealType = new MealType("Lunch");
+        mealType.setTypeId(2L);
+        meal = new Meal(user, mealType, LocalDateTime.of(2025, 5, 11, 12, 30), "Chicken with rice and salad",
+                "Benchmark meal");
+        meal.setMealId(1000L);
+        recipe = new Recipe("Chicken with rice and salad", "Benchmark recipe");
+        recipe.setRecipeId(100L);
+
+        for (int i = 0; i < contents; i++) {
+            Ingredient ingredient = new Ingredient("Ingredient " + i, "Brand", 100, random.nextInt(900),
+                    random.nextInt(40), random.nextInt(60), random.nextInt(90));
+            ingredient.setIngredientId(10_000L + i);
+
+            MealContent mealContent = new MealContent(ingredient, meal, 5 + random.nextInt(400));
+            mealContent.setMealContentId(50_000L + i);
+            meal.getMealContents().add(mealContent);
+
+            RecipeContent recipeContent = new RecipeContent(recipe, ingredient, 5 + random.nextInt(400));
+            recipeContent.setRecipeContentId(20_000L + i);
+            recipe.getRecipeContents().add(recipeContent);
+        }
+        meal.recalculateNutrition();
+        recipe.recalculateMacros();
+    }
+
+    @Benchmark
+    public MealDTO mealDto() {
+        return new MealDTO(meal);
+    }
+
+    @Benchmark
+    public RecipeDTO recipeDto() {
+        return new RecipeDTO(recipe);
+    }
+
+    @Benchmark
+    public byte[] serializeMeal() throws Exception {
+        return objectMapper.writeValueAsBytes(new MealDTO(meal));
+    }
+
+    @Benchmark
+    public byte[] serializeRecipe() throws Exception {
+        return objectMapper.writeValueAsBytes(new RecipeDTO(recipe));
+    }
+}
@@ -0,0 +1,56 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.service.AuthenticationService;
+import org.openjdk.jmh.annotations.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the email check done on every registration, email change and login by email.
+ * {@code legacyMatches} reproduces the old check, {@code String.matches} compiled the expression on every call;
+ * {@code isValidEmail} is the check behind {@code AuthenticationService.validateEmail}, with the pattern compiled once.
+ * Both check the same valid addresses, generated with a fixed seed.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="EmailValidationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailValidationBenchmark {
+    private static final int EMAILS = 256;
+    private static final String LEGACY_REGEX =
+            "^(?=.{1,64}@)[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@[^-][A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*(\\.[A-Za-z]{2,})$";
+    private static final String[] DOMAINS = {"gmail.com", "biteright.com", "student.pw.edu.pl", "outlook.com"};
+
+    private String[] emails;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        emails = new String[EMAILS];
+        for (int i = 0; i < EMAILS; i++) {
+            StringBuilder local = new StringBuilder();
+            for (int length = 4 + random.nextInt(12); local.length() < length; ) {
+                local.append((char) ('a' + random.nextInt(26)));
+            }
+            if (random.nextBoolean()) {
+                local.append('.').append(random.nextInt(1000));
+            }
+            emails[i] = local + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+        }
+    }
+
+    @Benchmark
+    public boolean legacyMatches() {
+        return emails[next++ & (EMAILS - 1)].matches(LEGACY_REGEX);
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return AuthenticationService.isValidEmail(emails[next++ & (EMAILS - 1)]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.controllers.DTO.IngredientDTO;
+import com.bd2_team6.biteright.service.IngredientCatalog;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one ingredient picker search over a synthetic catalog of a few hundred thousand products.
+ * {@code linearScan} is the in-memory equivalent of the old {@code LIKE '%x%'} query, it checks every name.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="IngredientSearchBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngredientSearchBenchmark {
+    private static final String[] WORDS = {
+            "tomato", "potato", "chicken", "breast", "cheese", "yogurt", "greek", "natural", "wholegrain", "bread",
+            "pasta", "rice", "brown", "sweet", "corn", "oat", "flakes", "milk", "almond", "butter", "peanut", "salmon",
+            "smoked", "tuna", "beans", "red", "green", "apple", "juice", "orange", "chocolate", "dark", "protein", "bar"};
+    private static final String[] SYLLABLES = {
+            "ba", "be", "bo", "ca", "co", "da", "de", "di", "fa", "fe", "ga", "go", "ka", "ki", "la", "le", "li", "lo",
+            "ma", "me", "mi", "na", "ne", "no", "pa", "pe", "pi", "ra", "re", "ri", "ro", "sa", "se", "so", "ta", "te",
+            "ti", "va", "ve", "za"};
+
+    @Param({"300000"})
+    public int catalogSize;
+
+    @Param({"tom", "chicken breast", "smoked salm", "choclate"})
+    public String query;
+
+    private IngredientCatalog catalog;
+    private List<IngredientDTO> ingredients;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ingredients = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            String name = word(random) + " " + word(random) + " " + word(random);
+            ingredients.add(new IngredientDTO(id, name, "Brand", 100, 100, 10, 5, 20));
+        }
+
+        catalog = new IngredientCatalog(null);
+        catalog.replaceAll(ingredients);
+    }
+
+    // product names mix common food words with brand-like words, so common queries still match thousands of names
+    private static String word(Random random) {
+        if (random.nextInt(4) == 0) {
+            return WORDS[random.nextInt(WORDS.length)];
+        }
+        StringBuilder word = new StringBuilder();
+        for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    @Benchmark
+    public List<IngredientDTO> catalogSearch() {
+        return catalog.search(query, 20);
+    }
+
+    @Benchmark
+    public List<IngredientDTO> linearScan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<IngredientDTO> found = new ArrayList<>();
+        for (IngredientDTO ingredient : ingredients) {
+            if (ingredient.getName().toLowerCase(Locale.ROOT).contains(needle)) {
+                found.add(ingredient);
+            }
+        }
+        return found;
+    }
+}
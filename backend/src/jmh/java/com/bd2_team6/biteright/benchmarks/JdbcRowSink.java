@@ -0,0 +1,60 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows with batched inserts on one connection, committing once per chunk. With MySQL add
+ * {@code rewriteBatchedStatements=true} to the url, so a batch is sent as multi-row inserts.
+ */
+class JdbcRowSink implements RowSink {
+    private final Connection connection;
+    private final int batchSize;
+    private final Map<SchemaTable, PreparedStatement> statements = new EnumMap<>(SchemaTable.class);
+
+    JdbcRowSink(DataSource dataSource, int batchSize) throws Exception {
+        this.connection = dataSource.getConnection();
+        this.connection.setAutoCommit(false);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void write(SchemaTable table, List<Object[]> rows) throws Exception {
+        PreparedStatement statement = statements.get(table);
+        if (statement == null) {
+            statement = connection.prepareStatement(table.insertSql());
+            statements.put(table, statement);
+        }
+        int pending = 0;
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, row[i]);
+            }
+            statement.addBatch();
+            if (++pending == batchSize) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            statement.executeBatch();
+        }
+    }
+
+    @Override
+    public void commit() throws Exception {
+        connection.commit();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (PreparedStatement statement : statements.values()) {
+            statement.close();
+        }
+        connection.close();
+    }
+}
@@ -0,0 +1,72 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.authentication.jason_web_token.JwtClaims;
+import com.bd2_team6.biteright.authentication.jason_web_token.JwtService;
+import org.openjdk.jmh.annotations.*;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.io.Decoders;
+import javax.crypto.SecretKey;
+import io.jsonwebtoken.Jwts;
+import java.util.concurrent.TimeUnit;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Tokens validated per second by the JWT filter, before and after the single-parse pipeline.
+ * {@code legacyPipeline} reproduces the old filter: extractEmail followed by isTokenValid, where every
+ * call decoded the secret, built a new key and parser and verified the signature again.
+ * {@code generateToken} is the signing cost paid on every login.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtValidationBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+    private String secret;
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] keyBytes = new byte[48];
+        new java.util.Random(42).nextBytes(keyBytes);
+        secret = Base64.getEncoder().encodeToString(keyBytes);
+        jwtService = new JwtService(secret, TimeUnit.HOURS.toMillis(1));
+        token = jwtService.generateToken("benchmark.user@biteright.com", 1L, "benchmark_user");
+    }
+
+    @Benchmark
+    public boolean legacyPipeline() {
+        String email = legacyExtractEmail(token);
+        return legacyExtractEmail(token).equals(email) && !legacyExtractExpiration(token).before(new Date());
+    }
+
+    @Benchmark
+    public JwtClaims parseToken() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("benchmark.user@biteright.com", 1L, "benchmark_user");
+    }
+
+    private SecretKey legacySecretKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+
+    private String legacyExtractEmail(String token) {
+        return Jwts.parser().verifyWith(legacySecretKey()).build()
+                .parseSignedClaims(token).getPayload().get("email", String.class);
+    }
+
+    private Date legacyExtractExpiration(String token) {
+        return Jwts.parser().verifyWith(legacySecretKey()).build()
+                .parseSignedClaims(token).getPayload().getExpiration();
+    }
+}
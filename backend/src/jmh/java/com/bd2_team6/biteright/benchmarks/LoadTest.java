@@ -0,0 +1,371 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.BiteRightApplication;
+import com.bd2_team6.biteright.authentication.jason_web_token.JwtService;
+import com.bd2_team6.biteright.controllers.DTO.MealContentDTO;
+import com.bd2_team6.biteright.controllers.requests.create_requests.MealCreateRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the backend. Starts the application on a random port against H2 in MySQL mode, seeds a
+ * synthetic population with {@link DataGenerator} and starts user actions at a fixed rate: opening the dashboard
+ * (45%), paging through history (25%), logging a meal (20%) and logging in (10%). Each action sends the requests the
+ * frontend sends for it, one after the other. Prints requests, throughput and p50/p99/p999 per endpoint and writes
+ * them to {@code --report} as JSON, to compare runs between commits.
+ *
+ * Actions start on schedule whether or not earlier ones have answered, and the first request of an action is timed
+ * from its scheduled start, so a saturated server shows up as latency rather than as a lower request rate.
+ * The population, the sequence of actions and the day the users live on are derived from {@code --seed} and
+ * {@code --today}, so runs with the same arguments send the same requests against the same data.
+ *
+ * Other arguments are passed to Spring, e.g. {@code --spring.datasource.url=jdbc:mysql://...} for an empty local
+ * database; the test profile creates the schema.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.bd2_team6.biteright.benchmarks.LoadTest
+ *     -Djmh.report= -Djmh.args="--users=50 --years=2 --rate=20 --duration=60"
+ */
+public class LoadTest {
+    private static final int MAX_IN_FLIGHT = 5000;
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("users", "50");
+        DEFAULTS.put("years", "2");
+        DEFAULTS.put("ingredients", "5000");
+        DEFAULTS.put("recipes", "300");
+        DEFAULTS.put("rate", "20");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("warmup", "15");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("today", "2025-06-30");
+        DEFAULTS.put("report", "target/load-test-result.json");
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final LocalDate today;
+    private final DataGenerator.Population population;
+    private final Map<Long, String> tokens;
+    private final double[] cumulativeActivity;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private LoadTest(ObjectMapper objectMapper, String baseUrl, LocalDate today,
+                     DataGenerator.Population population, Map<Long, String> tokens) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.today = today;
+        this.population = population;
+        this.tokens = tokens;
+
+        // active users open the app more often
+        List<DataGenerator.SeededUser> users = population.users();
+        cumulativeActivity = new double[users.size()];
+        double total = 0;
+        for (int i = 0; i < users.size(); i++) {
+            total += users.get(i).activity();
+            cumulativeActivity[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // devtools would restart the application in a new thread and run main again
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = arg.startsWith("--") && separator > 0 ? arg.substring(2, separator) : null;
+            if (key != null && DEFAULTS.containsKey(key)) {
+                options.put(key, arg.substring(separator + 1));
+            } else {
+                springArgs.add(arg);
+            }
+        }
+        long seed = Long.parseLong(options.get("seed"));
+        LocalDate today = LocalDate.parse(options.get("today"));
+        double rate = Double.parseDouble(options.get("rate"));
+
+        try (ConfigurableApplicationContext context = start(springArgs)) {
+            long seedStart = System.nanoTime();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            // fewer threads than the connection pool has connections, the generated data does not depend on them
+            DataGenerator.Population population = new DataGenerator(seed, today,
+                    Integer.parseInt(options.get("years")), Integer.parseInt(options.get("ingredients")),
+                    Integer.parseInt(options.get("recipes")), Math.min(8, Runtime.getRuntime().availableProcessors()),
+                    context.getBean(PasswordEncoder.class).encode(DataGenerator.PASSWORD))
+                    .toDatabase(context.getBean(DataSource.class), Integer.parseInt(options.get("users")), 1000);
+            System.out.printf("Seeded %d users, %d meals, %d meal contents, %d water intakes, %d exercises, "
+                            + "%d weight measurements in %.1f s%n", population.users().size(),
+                    count(jdbcTemplate, "meal"), count(jdbcTemplate, "meal_content"),
+                    count(jdbcTemplate, "water_intake"), count(jdbcTemplate, "user_exercise"),
+                    count(jdbcTemplate, "weight_history"), (System.nanoTime() - seedStart) / 1e9);
+
+            JwtService jwtService = context.getBean(JwtService.class);
+            Map<Long, String> tokens = new ConcurrentHashMap<>();
+            for (DataGenerator.SeededUser user : population.users()) {
+                tokens.put(user.id(), "Bearer " + jwtService.generateToken(user.email(), user.id(), user.username()));
+            }
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTest loadTest = new LoadTest(context.getBean(ObjectMapper.class), "http://localhost:" + port,
+                    today, population, tokens);
+
+            // the warm-up draws its actions from another seed, the measured run always starts with the same actions
+            loadTest.run(new Random(seed + 1), rate, Integer.parseInt(options.get("warmup")));
+            loadTest.endpoints = new ConcurrentHashMap<>();
+            int dropped = loadTest.run(new Random(seed), rate, Integer.parseInt(options.get("duration")));
+            loadTest.report(options, dropped);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(List<String> springArgs) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--server.port=0", "--jwt.secret=" + "a".repeat(64), "--spring.jpa.show-sql=false",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.mail.username=loadtest@biteright.com", "--spring.mail.password=unused",
+                "--logging.level.root=WARN"));
+        args.addAll(springArgs);
+        return new SpringApplicationBuilder(BiteRightApplication.class)
+                .profiles("test")
+                .run(args.toArray(new String[0]));
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    /// Starts actions at {@code rate} per second for {@code seconds}, returns the actions dropped at the in-flight limit
+    private int run(Random random, double rate, int seconds) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        int dropped = 0;
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            List<Step> action = nextAction(random);
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= MAX_IN_FLIGHT) {
+                dropped++;
+                continue;
+            }
+            inFlight.incrementAndGet();
+            execute(action, 0, null, scheduled);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return dropped;
+    }
+
+    /// One user action, all choices are made here so they only depend on the random sequence
+    private List<Step> nextAction(Random random) {
+        DataGenerator.SeededUser user = pickUser(random);
+        String token = tokens.get(user.id());
+        int kind = random.nextInt(100);
+        List<Step> steps = new ArrayList<>();
+        if (kind < 45) {
+            String date = today.toString();
+            steps.add(get("/dailyLimits/find", "/dailyLimits/find", token));
+            steps.add(get("/meal/findByDate/{date}", "/meal/findByDate/" + date, token));
+            steps.add(get("/waterIntake/findWaterIntakesByDate/{date}", "/waterIntake/findWaterIntakesByDate/" + date,
+                    token));
+            steps.add(get("/userInfo/weight", "/userInfo/weight", token));
+            steps.add(get("/dailySummary/averageCalories", "/dailySummary/averageCalories?startDate="
+                    + today.minusDays(6) + "&endDate=" + date, token));
+            steps.add(get("/weightHistory/findWeightHistoriesForUser",
+                    "/weightHistory/findWeightHistoriesForUser?page=0&size=1", token));
+            steps.add(get("/userInfo/findUserInfo", "/userInfo/findUserInfo", token));
+        } else if (kind < 70) {
+            addHistoryPages(steps, "/meal/history", 20, 2, token);
+            int pages = 1 + random.nextInt(5);
+            switch (random.nextInt(3)) {
+                case 0 -> addHistoryPages(steps, "/waterIntake/history", 10, pages, token);
+                case 1 -> addHistoryPages(steps, "/userExercise/history", 10, pages, token);
+                default -> addHistoryPages(steps, "/weightHistory/history", 10, pages, token);
+            }
+        } else if (kind < 90) {
+            List<MealContentDTO> contents = new ArrayList<>();
+            long[] ingredientIds = population.ingredientIds();
+            for (int c = 1 + random.nextInt(4); c > 0; c--) {
+                contents.add(new MealContentDTO(null, ingredientIds[random.nextInt(ingredientIds.length)], null,
+                        30 + random.nextInt(220)));
+            }
+            int type = random.nextInt(population.mealTypeIds().length);
+            MealCreateRequest meal = new MealCreateRequest(population.mealTypeIds()[type],
+                    DataGenerator.MEAL_TYPES[type] + " " + today, null,
+                    today.atTime(7 + random.nextInt(15), random.nextInt(60)), contents);
+            steps.add(post("/meal/create", "/meal/create", token, meal));
+        } else {
+            steps.add(post("/api/auth/login", "/api/auth/login", null,
+                    Map.of("email", user.email(), "password", DataGenerator.PASSWORD)));
+        }
+        return steps;
+    }
+
+    private DataGenerator.SeededUser pickUser(Random random) {
+        double point = random.nextDouble() * cumulativeActivity[cumulativeActivity.length - 1];
+        int index = Arrays.binarySearch(cumulativeActivity, point);
+        return population.users().get(index >= 0 ? index : -index - 1);
+    }
+
+    private void execute(List<Step> steps, int index, String previousBody, long start) {
+        if (index == steps.size()) {
+            inFlight.decrementAndGet();
+            return;
+        }
+        Call call = steps.get(index).next(previousBody);
+        if (call == null) {
+            execute(steps, index + 1, previousBody, System.nanoTime());
+            return;
+        }
+        httpClient.sendAsync(call.request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long end = System.nanoTime();
+            Endpoint endpoint = endpoints.computeIfAbsent(call.endpoint, key -> new Endpoint());
+            if (error != null || response.statusCode() >= 400) {
+                endpoint.errors.increment();
+            } else {
+                endpoint.histogram.recordValue(end - start);
+            }
+            execute(steps, index + 1, error == null ? response.body() : null, end);
+        });
+    }
+
+    /// The first page of a history, then up to {@code pages - 1} more by following nextCursor like the frontend does
+    private void addHistoryPages(List<Step> steps, String endpoint, int size, int pages, String token) {
+        String path = endpoint + "?size=" + size;
+        steps.add(get(endpoint, path, token));
+        for (int page = 1; page < pages; page++) {
+            steps.add(previous -> {
+                String cursor = nextCursor(previous);
+                return cursor == null ? null : new Call(endpoint, request(path + "&cursor="
+                        + URLEncoder.encode(cursor, StandardCharsets.UTF_8), token).GET().build());
+            });
+        }
+    }
+
+        private String nextCursor(String body) {
+        try {
+            JsonNode cursor = body == null ? null : objectMapper.readTree(body).get("nextCursor");
+            return cursor == null || cursor.isNull() ? null : cursor.asText();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private Step get(String endpoint, String path, String token) {
+        HttpRequest request = request(path, token).GET().build();
+        return previous -> new Call(endpoint, request);
+    }
+
+    private Step post(String endpoint, String path, String token, Object body) {
+        try {
+            HttpRequest request = request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+            return previous -> new Call(endpoint, request);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+        return token == null ? builder : builder.header("Authorization", token);
+    }
+
+    private void report(Map<String, String> options, int dropped) throws Exception {
+        double seconds = Double.parseDouble(options.get("duration"));
+        Map<String, Object> results = new TreeMap<>();
+        System.out.printf("%n%-45s %9s %8s %9s %9s %9s %7s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms",
+                "p999 ms", "errors");
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram histogram = entry.getValue().histogram;
+            long errors = entry.getValue().errors.sum();
+            System.out.printf("%-45s %9d %8.1f %9.1f %9.1f %9.1f %7d%n", entry.getKey(), histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds, millis(histogram, 50), millis(histogram, 99),
+                    millis(histogram, 99.9), errors);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", histogram.getTotalCount());
+            result.put("throughput", histogram.getTotalCount() / seconds);
+            result.put("p50Ms", millis(histogram, 50));
+            result.put("p99Ms", millis(histogram, 99));
+            result.put("p999Ms", millis(histogram, 99.9));
+            result.put("maxMs", histogram.getMaxValue() / 1_000_000.0);
+            result.put("errors", errors);
+            results.put(entry.getKey(), result);
+        }
+        if (dropped > 0) {
+            System.out.printf("%d actions were not started, more than %d were in flight%n", dropped, MAX_IN_FLIGHT);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("droppedActions", dropped);
+        report.put("endpoints", results);
+        File file = new File(options.get("report"));
+        if (file.getAbsoluteFile().getParentFile() != null) {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println("Results written to " + file.getPath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    /// The next request of an action given the body of the previous response, null to skip it
+    private interface Step {
+        Call next(String previousBody);
+    }
+
+    private record Call(String endpoint, HttpRequest request) {
+    }
+
+    private static class Endpoint {
+        final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(2), 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,100 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.BiteRightApplication;
+import com.bd2_team6.biteright.controllers.DTO.MealContentDTO;
+import com.bd2_team6.biteright.controllers.requests.create_requests.MealCreateRequest;
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+import com.bd2_team6.biteright.entities.meal.Meal;
+import com.bd2_team6.biteright.entities.meal_type.MealType;
+import com.bd2_team6.biteright.entities.meal_type.MealTypeRepository;
+import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.service.MealService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@code MealService.createMeal} against the in-memory H2 database of the test profile, by number of
+ * contents. The JDBC statements prepared per create are printed after each trial: ingredients are resolved by one
+ * query and the contents are inserted as one batch, so the count stays the same for 5, 20 or 100 contents.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="MealCreateBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MealCreateBenchmark {
+    @Param({"5", "20", "100"})
+    public int contents;
+
+    private ConfigurableApplicationContext context;
+    private MealService mealService;
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+    private Long userId;
+    private MealCreateRequest request;
+    private long creates;
+    private long statements;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BiteRightApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--jwt.secret=" + "a".repeat(64), "--spring.jpa.show-sql=false",
+                        "--spring.mail.username=benchmark@biteright.com", "--spring.mail.password=unused");
+        mealService = context.getBean(MealService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        userId = context.getBean(UserRepository.class)
+                .save(new User("benchmark_user", "benchmark@biteright.com", "passwordHash", "standard")).getId();
+        MealType mealType = context.getBean(MealTypeRepository.class).save(new MealType("Lunch"));
+
+        IngredientRepository ingredientRepository = context.getBean(IngredientRepository.class);
+        List<MealContentDTO> mealContents = new ArrayList<>();
+        for (int i = 0; i < contents; i++) {
+            Ingredient ingredient = ingredientRepository.save(
+                    new Ingredient("Ingredient " + i, "Brand", 100, 100 + i, 10, 5, 20));
+            mealContents.add(new MealContentDTO(null, ingredient.getIngredientId(), ingredient.getName(), 50 + i));
+        }
+        request = new MealCreateRequest(mealType.getTypeId(), "Benchmark meal", null,
+                LocalDateTime.of(2025, 5, 11, 12, 0), mealContents);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteMeals() {
+        jdbcTemplate.update("DELETE FROM meal_content");
+        jdbcTemplate.update("DELETE FROM meal");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%d contents: %.1f statements per create%n", contents, (double) statements / creates);
+        context.close();
+    }
+
+    @Benchmark
+    public Meal createMeal() {
+        long before = statistics.getPrepareStatementCount();
+        Meal meal = mealService.createMeal(userId, request);
+        statements += statistics.getPrepareStatementCount() - before;
+        creates++;
+        return meal;
+    }
+}
@@ -0,0 +1,54 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.recipe.Recipe;
+import com.bd2_team6.biteright.entities.recipe_content.RecipeContent;
+import org.openjdk.jmh.annotations.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code Recipe.recalculateMacros}, run on every recipe create and update, by number of contents.
+ * {@code RecipeService.calculateMacros} only reads the totals it stores, so this is where the arithmetic is paid.
+ * The recipes use random portions and nutrition values with a fixed seed, cycled so the JIT cannot specialise
+ * on a single recipe.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RecipeMacrosBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecipeMacrosBenchmark {
+    private static final int RECIPES = 256;
+
+    @Param({"5", "15", "40"})
+    public int contents;
+
+    private Recipe[] recipes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        recipes = new Recipe[RECIPES];
+        for (int r = 0; r < RECIPES; r++) {
+            Recipe recipe = new Recipe("Recipe " + r, "Benchmark recipe");
+            for (int c = 0; c < contents; c++) {
+                Ingredient ingredient = new Ingredient("Ingredient " + c, "Brand", 50 + random.nextInt(200),
+                        random.nextInt(900), random.nextInt(40), random.nextInt(60), random.nextInt(90));
+                recipe.getRecipeContents().add(new RecipeContent(recipe, ingredient, 5 + random.nextInt(400)));
+            }
+            recipes[r] = recipe;
+        }
+    }
+
+    @Benchmark
+    public double recalculateMacros() {
+        Recipe recipe = recipes[next++ & (RECIPES - 1)];
+        recipe.recalculateMacros();
+        return recipe.getCalories();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.BiteRightApplication;
+import com.bd2_team6.biteright.controllers.requests.RegistrationRequest;
+import com.bd2_team6.biteright.service.AuthenticationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registrations per second from several concurrent clients against the in-memory H2 database of the test profile.
+ * Password hashing dominates, it runs before the registration transaction so the connection pool is only held
+ * for the inserts. The JDBC statements prepared per registration are printed after the trial.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RegistrationBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrationBenchmark {
+    private ConfigurableApplicationContext context;
+    private AuthenticationService authenticationService;
+    private Statistics statistics;
+    private final AtomicLong registrations = new AtomicLong();
+    private long statementsBefore;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BiteRightApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--jwt.secret=" + "a".repeat(64), "--spring.jpa.show-sql=false",
+                        "--spring.mail.username=benchmark@biteright.com", "--spring.mail.password=unused",
+                        "--email-outbox.poll-interval-ms=3600000");
+        authenticationService = context.getBean(AuthenticationService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statementsBefore = statistics.getPrepareStatementCount();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%.1f statements per registration%n",
+                (double) (statistics.getPrepareStatementCount() - statementsBefore) / registrations.get());
+        context.close();
+    }
+
+    @Benchmark
+    public void register() throws Exception {
+        long id = registrations.incrementAndGet();
+        RegistrationRequest request = new RegistrationRequest();
+        request.setUsername("benchmark_user_" + id);
+        request.setEmail("benchmark" + id + "@biteright.com");
+        request.setPassword("benchmark_password");
+        authenticationService.registerNewUser(request);
+    }
+}
@@ -0,0 +1,15 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import java.util.List;
+
+/// Destination of the rows made by {@link DataGenerator}, each generator thread writes to its own sink
+interface RowSink extends AutoCloseable {
+    /// Rows hold the values of {@link SchemaTable#columns} in order
+    void write(SchemaTable table, List<Object[]> rows) throws Exception;
+
+    /// Called after every chunk of users, whose rows reference only rows written before
+    void commit() throws Exception;
+
+    @Override
+    void close() throws Exception;
+}
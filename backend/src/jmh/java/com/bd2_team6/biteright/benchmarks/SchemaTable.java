@@ -0,0 +1,62 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/// Tables written by {@link DataGenerator}, in an order that satisfies the foreign keys
+enum SchemaTable {
+    MEAL_TYPE("meal_type", "meal_type_id", "name"),
+    INGREDIENT("ingredient", "ingredient_id", "name", "brand", "portion_size", "calories", "protein", "fat", "carbs"),
+    EXERCISE_INFO("exercise_info", "exercise_id", "metabolic_equivalent", "name"),
+    RECIPE("recipe", "recipe_id", "name", "description", "image_url", "calories", "protein", "fat", "carbs"),
+    RECIPE_CONTENT("recipe_content", "recipe_content_id", "recipe_id", "ingredient_id", "ingredient_amount"),
+    APP_USER("app_user", "user_id", "username", "email", "password_hash", "type", "is_verified",
+            "forgotten_password_code"),
+    USER_GOAL("user_goal", "user_goal_id", "goal_type", "goal_weight", "deadline"),
+    USER_INFO("user_info", "user_info_id", "user_id", "user_goal_id", "name", "surname", "age", "weight", "height",
+            "lifestyle", "bmi"),
+    DAILY_LIMITS("daily_limits", "daily_limit_id", "user_id", "calorie_limit", "protein_limit", "fat_limit",
+            "carb_limit", "water_goal"),
+    // ids are left to the database, MySQL's trigger on daily_limits adds rows of its own
+    LIMIT_HISTORY("limit_history", null, "date_changed", "user_id", "calorie_limit", "protein_limit",
+            "fat_limit", "carb_limit", "water_goal"),
+    USER_PREFERENCES("user_preferences", "user_preferences_id", "user_id", "language", "darkmode", "font",
+            "notifications"),
+    ADDRESS("address", "address_id", "user_id", "address", "city", "postal_code", "country"),
+    VERIFICATION_CODE("verification_code", "code_id", "user_id", "code", "expiration_date"),
+    EMAIL_OUTBOX("email_outbox", "email_id", "recipient", "subject", "body", "code", "link", "status", "attempts",
+            "next_attempt_at", "created_at", "sent_at", "last_error"),
+    MEAL("meal", "meal_id", "user_id", "meal_type_id", "meal_date", "name", "description", "calories", "protein",
+            "fat", "carbs"),
+    MEAL_CONTENT("meal_content", "meal_content_id", "ingredient_id", "meal_id", "ingredient_amount"),
+    WATER_INTAKE("water_intake", "water_intake_id", "intake_date", "user_id", "water_amount"),
+    USER_EXERCISE("user_exercise", "user_exercise_id", "user_id", "exercise_id", "activity_date", "duration",
+            "calories_burnt"),
+    WEIGHT_HISTORY("weight_history", "weight_id", "user_id", "measurement_date", "weight"),
+    // without entry_count, which only the MySQL schema has; there the triggers or a rebuild write the summaries
+    DAILY_SUMMARY("daily_summary", null, "user_id", "summary_date", "calories", "protein", "fat", "carbs",
+            "water_drank", "calories_burnt");
+
+    final String tableName;
+    final String idColumn;
+    /// Id column first, rows are written in this order
+    final List<String> columns;
+
+    SchemaTable(String tableName, String idColumn, String... columns) {
+        this.tableName = tableName;
+        this.idColumn = idColumn;
+        List<String> all = new ArrayList<>();
+        if (idColumn != null) {
+            all.add(idColumn);
+        }
+        all.addAll(Arrays.asList(columns));
+        this.columns = Collections.unmodifiableList(all);
+    }
+
+    String insertSql() {
+        return "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+}
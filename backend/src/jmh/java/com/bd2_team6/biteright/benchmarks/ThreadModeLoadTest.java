@@ -0,0 +1,163 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import com.bd2_team6.biteright.BiteRightApplication;
+import com.bd2_team6.biteright.authentication.jason_web_token.JwtService;
+import com.bd2_team6.biteright.controllers.DTO.MealContentDTO;
+import com.bd2_team6.biteright.controllers.requests.create_requests.MealCreateRequest;
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+import com.bd2_team6.biteright.entities.meal_type.MealType;
+import com.bd2_team6.biteright.entities.meal_type.MealTypeRepository;
+import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.service.MealService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares request execution on Tomcat's platform thread pool with virtual threads. For each mode the application
+ * is started on a random port and {@code /meal/history} is driven by 1k and 5k closed-loop clients, each sending
+ * its next request as soon as the previous one answered. Prints throughput and latency percentiles per run.
+ *
+ * The test profile's in-memory H2 answers in microseconds, so the difference only shows against a database with
+ * real latency; extra arguments are passed to Spring, e.g. {@code --spring.datasource.url=jdbc:mysql://...}.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec
+ *     -Dbenchmark.main=com.bd2_team6.biteright.benchmarks.ThreadModeLoadTest -Djmh.report= -Djmh.args="--duration=30"
+ */
+public class ThreadModeLoadTest {
+    private static final int[] CLIENTS = {1000, 5000};
+    private static final int MEALS = 200;
+
+    public static void main(String[] args) throws Exception {
+        // devtools would restart the application in a new thread and run main again
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int durationSeconds = 30;
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--duration=")) {
+                durationSeconds = Integer.parseInt(arg.substring("--duration=".length()));
+            } else {
+                springArgs.add(arg);
+            }
+        }
+
+        System.out.printf("%-9s %8s %10s %9s %9s %9s %8s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms",
+                "p999 ms", "errors");
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads, springArgs)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URI uri = URI.create("http://localhost:" + port + "/meal/history?size=20");
+                String token = seed(context);
+
+                // warm up the JIT, the connection pools and Tomcat's threads
+                run(uri, token, 200, 5);
+                for (int clients : CLIENTS) {
+                    Result result = run(uri, token, clients, durationSeconds);
+                    System.out.printf("%-9s %8d %10.0f %9.1f %9.1f %9.1f %8d%n",
+                            virtualThreads ? "virtual" : "platform", clients,
+                            result.histogram.getTotalCount() / result.seconds,
+                            millis(result.histogram, 50), millis(result.histogram, 99),
+                            millis(result.histogram, 99.9), result.errors.get());
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, List<String> springArgs) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--server.port=0", "--jwt.secret=" + "a".repeat(64), "--spring.jpa.show-sql=false",
+                "--spring.mail.username=loadtest@biteright.com", "--spring.mail.password=unused",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                // accept every client connection in both modes, so only request execution differs
+                "--server.tomcat.max-connections=10000", "--server.tomcat.accept-count=10000",
+                "--logging.level.root=WARN"));
+        args.addAll(springArgs);
+        return new SpringApplicationBuilder(BiteRightApplication.class)
+                .profiles("test")
+                .run(args.toArray(new String[0]));
+    }
+
+    private static String seed(ConfigurableApplicationContext context) {
+        User user = context.getBean(UserRepository.class)
+                .save(new User("loadtest_user", "loadtest@biteright.com", "passwordHash", "standard"));
+        MealType mealType = context.getBean(MealTypeRepository.class).save(new MealType("Lunch"));
+        Ingredient ingredient = context.getBean(IngredientRepository.class)
+                .save(new Ingredient("Load test ingredient", "Brand", 100, 120, 10, 5, 20));
+
+        MealService mealService = context.getBean(MealService.class);
+        LocalDateTime date = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < MEALS; i++) {
+            List<MealContentDTO> contents = List.of(
+                    new MealContentDTO(null, ingredient.getIngredientId(), ingredient.getName(), 100 + i % 50));
+            mealService.createMeal(user.getId(),
+                    new MealCreateRequest(mealType.getTypeId(), "Meal " + i, null, date.plusHours(6L * i), contents));
+        }
+        return context.getBean(JwtService.class).generateToken(user.getEmail(), user.getId(), user.getUsername());
+    }
+
+    private static Result run(URI uri, String token, int clients, int durationSeconds) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        Result result = new Result();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            send(httpClient, request, result, end, done);
+        }
+        done.await();
+        // requests in flight at the end are waited for and counted
+        result.seconds = (System.nanoTime() - start) / 1e9;
+        return result;
+    }
+
+    // the client side is asynchronous, so thousands of clients do not need thousands of threads
+    private static void send(HttpClient httpClient, HttpRequest request, Result result, long end,
+                             CountDownLatch done) {
+        long start = System.nanoTime();
+        if (start >= end) {
+            done.countDown();
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenCompleteAsync((response, error) -> {
+            if (error != null || response.statusCode() != 200) {
+                result.errors.incrementAndGet();
+            } else {
+                result.histogram.recordValue(System.nanoTime() - start);
+            }
+            send(httpClient, request, result, end, done);
+        });
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    private static class Result {
+        final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(2), 3);
+        final AtomicLong errors = new AtomicLong();
+        double seconds;
+    }
+}
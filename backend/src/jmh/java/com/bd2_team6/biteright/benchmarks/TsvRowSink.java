@@ -0,0 +1,89 @@
+package com.bd2_team6.biteright.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows to one file per table and thread, {@code <table>.<thread>.tsv}, in the default format of MySQL's
+ * {@code LOAD DATA}: tab separated, backslash escaped, {@code \N} for null.
+ */
+class TsvRowSink implements RowSink {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path directory;
+    private final int thread;
+    private final Map<SchemaTable, Writer> writers = new EnumMap<>(SchemaTable.class);
+
+    TsvRowSink(Path directory, int thread) {
+        this.directory = directory;
+        this.thread = thread;
+    }
+
+    static String fileName(SchemaTable table, int thread) {
+        return table.tableName + "." + thread + ".tsv";
+    }
+
+    @Override
+    public void write(SchemaTable table, List<Object[]> rows) throws IOException {
+        Writer writer = writers.get(table);
+        if (writer == null) {
+            writer = Files.newBufferedWriter(directory.resolve(fileName(table, thread)), StandardCharsets.UTF_8);
+            writers.put(table, writer);
+        }
+        StringBuilder line = new StringBuilder(128);
+        for (Object[] row : rows) {
+            line.setLength(0);
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    line.append('\t');
+                }
+                append(line, row[i]);
+            }
+            writer.write(line.append('\n').toString());
+        }
+    }
+
+    private static void append(StringBuilder line, Object value) {
+        if (value == null) {
+            line.append("\\N");
+        } else if (value instanceof Boolean bool) {
+            line.append(bool ? '1' : '0');
+        } else if (value instanceof LocalDateTime dateTime) {
+            line.append(DATE_TIME.format(dateTime));
+        } else if (value instanceof String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> line.append("\\\\");
+                    case '\t' -> line.append("\\t");
+                    case '\n' -> line.append("\\n");
+                    default -> line.append(c);
+                }
+            }
+        } else {
+            line.append(value);
+        }
+    }
+
+    @Override
+    public void commit() throws IOException {
+        for (Writer writer : writers.values()) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Writer writer : writers.values()) {
+            writer.close();
+        }
+    }
+}
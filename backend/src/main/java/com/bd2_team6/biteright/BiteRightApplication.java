@@ -1,8 +1,10 @@
 package com.bd2_team6.biteright;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.SpringApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BiteRightApplication  {
 	public static void main(String[] args) {
 		SpringApplication.run(BiteRightApplication.class, args);
@@ -0,0 +1,13 @@
+package com.bd2_team6.biteright.authentication.custom_user_details;
+
+/**
+ * Identity of the caller, resolved once per request by the security filters.
+ * Controllers receive it through {@code @AuthenticationPrincipal} instead of looking the user up again.
+ */
+public interface AuthenticatedUser {
+    Long getUserId();
+
+    String getUsername();
+
+    String getEmail();
+}
@@ -0,0 +1,40 @@
+package com.bd2_team6.biteright.authentication.custom_user_details;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
+import com.bd2_team6.biteright.entities.user.User;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Collection;
+import lombok.Getter;
+
+/**
+ * Snapshot of the user data the JWT filter needs to authenticate a request.
+ * Kept deliberately small so that the principal cache does not hold on to managed entities.
+ */
+@Getter
+public class CachedPrincipal implements AuthenticatedUser, Principal {
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final Collection<? extends GrantedAuthority> authorities;
+    private final long expiresAt;
+
+    public CachedPrincipal(User user, long expiresAt) {
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.authorities = Collections.singleton(new SimpleGrantedAuthority(user.getType()));
+        this.expiresAt = expiresAt;
+    }
+
+    /** The email is what identifies a token, so it stays the name seen by {@code authentication.getName()}. */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
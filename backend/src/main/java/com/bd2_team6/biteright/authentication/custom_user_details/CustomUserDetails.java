@@ -7,7 +7,7 @@ import com.bd2_team6.biteright.entities.user.User;
 import java.util.Collections;
 import java.util.Collection;
 
-public class CustomUserDetails  implements UserDetails {
+public class CustomUserDetails implements UserDetails, AuthenticatedUser {
     private final User user;
 
     public CustomUserDetails(User user) {
@@ -29,6 +29,12 @@ public class CustomUserDetails  implements UserDetails {
         return this.user.getUsername();
     }
 
+    @Override
+    public Long getUserId() {
+        return this.user.getId();
+    }
+
+    @Override
     public String getEmail() {
         return this.user.getEmail();
     }
@@ -0,0 +1,134 @@
+package com.bd2_team6.biteright.authentication.custom_user_details;
+
+import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.entities.user.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.Map;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by email.
+ * The JWT filter resolves a request's principal from here, so only a miss touches the database.
+ * Entries are evicted in least-recently-used order once {@code maxSize} is reached.
+ */
+@Component
+public class PrincipalCache {
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, CachedPrincipal> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public PrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                          @Value("${jwt.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${jwt.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("Principal cache size must be positive.");
+
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                boolean evict = size() > PrincipalCache.this.maxSize;
+                if (evict)
+                    evictions.increment();
+                return evict;
+            }
+        };
+
+        this.hits = Counter.builder("biteright.principal.cache")
+                .tag("result", "hit")
+                .description("Principal lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("biteright.principal.cache")
+                .tag("result", "miss")
+                .description("Principal lookups that had to load the user from the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("biteright.principal.cache.evictions")
+                .description("Principals evicted because the cache was full")
+                .register(meterRegistry);
+        Gauge.builder("biteright.principal.cache.size", this, PrincipalCache::size)
+                .description("Number of cached principals")
+                .register(meterRegistry);
+    }
+
+    public Optional<CachedPrincipal> get(String email) {
+        long now = System.currentTimeMillis();
+        long observedGeneration;
+
+        lock.lock();
+        try {
+            CachedPrincipal cached = entries.get(email);
+            if (cached != null && !cached.isExpired(now)) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            if (cached != null)
+                entries.remove(email);
+            observedGeneration = generation.get();
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        Optional<User> userOpt = userRepository.findByEmail(email);
+        if (userOpt.isEmpty())
+            return Optional.empty();
+
+        CachedPrincipal loaded = new CachedPrincipal(userOpt.get(), now + ttlMillis);
+        lock.lock();
+        try {
+            // an invalidation that raced with the load wins, the next request will reload
+            if (generation.get() == observedGeneration)
+                entries.put(email, loaded);
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(loaded);
+    }
+
+    public void invalidate(String email) {
+        if (email == null)
+            return;
+
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.remove(email);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
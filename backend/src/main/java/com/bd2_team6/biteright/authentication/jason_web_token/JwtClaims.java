@@ -0,0 +1,20 @@
+package com.bd2_team6.biteright.authentication.jason_web_token;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature, issuer and expiry have already been verified by {@link JwtService}.
+ * {@code userId} and {@code username} are null for tokens issued before the claims were introduced.
+ * The username is informative only, it can change while the token is still valid.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+    private final String email;
+    private final Long userId;
+    private final String username;
+    private final String issuer;
+    private final Date expiration;
+}
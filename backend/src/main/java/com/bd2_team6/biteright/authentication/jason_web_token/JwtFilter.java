@@ -1,21 +1,20 @@
 package com.bd2_team6.biteright.authentication.jason_web_token;
 
-import com.bd2_team6.biteright.authentication.custom_user_details.CustomUserDetails;
-import com.bd2_team6.biteright.authentication.custom_user_details.CustomUserDetailsService;
+import com.bd2_team6.biteright.authentication.custom_user_details.CachedPrincipal;
+import com.bd2_team6.biteright.authentication.custom_user_details.PrincipalCache;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.security.core.Authentication;
-import org.springframework.context.ApplicationContext;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.FilterChain;
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -24,27 +23,28 @@ public class JwtFilter extends OncePerRequestFilter {
     private JwtService jwtService;
 
     @Autowired
-    ApplicationContext context;
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String email = null;
+        JwtClaims claims = null;
 
         try {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-                email = jwtService.extractEmail(token);
+                // parsing verifies the signature, issuer and expiry
+                claims = jwtService.parseToken(authHeader.substring(7));
             }
 
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                CustomUserDetails userDetails = (CustomUserDetails) context.getBean(CustomUserDetailsService.class)
-                        .loadUserByEmail(email);
-                if (jwtService.isTokenValid(token, userDetails)) {
-                    Authentication authentication = new UsernamePasswordAuthenticationToken(email, null,
-                            userDetails.getAuthorities());
+            if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                String email = claims.getEmail();
+                Optional<CachedPrincipal> principalOpt = principalCache.get(email);
+                if (principalOpt.isPresent() && belongsToPrincipal(claims, principalOpt.get())) {
+                    CachedPrincipal principal = principalOpt.get();
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            principal, null, principal.getAuthorities());
+                    authentication.setDetails(claims);
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 } else {
                     logger.error("Token validation failed for email: " + email);
@@ -56,4 +56,9 @@ public class JwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // an email can be taken over by another account after a change, the id claim pins the token to its owner
+    private boolean belongsToPrincipal(JwtClaims claims, CachedPrincipal principal) {
+        return claims.getUserId() == null || claims.getUserId().equals(principal.getUserId());
+    }
+
 }
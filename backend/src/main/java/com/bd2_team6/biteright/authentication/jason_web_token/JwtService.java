@@ -1,68 +1,67 @@
 package com.bd2_team6.biteright.authentication.jason_web_token;
 
-import com.bd2_team6.biteright.authentication.custom_user_details.CustomUserDetails;
-
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Claims;
 import javax.crypto.SecretKey;
 import io.jsonwebtoken.Jwts;
 import java.util.Date;
-import lombok.RequiredArgsConstructor;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
-    @Value("${jwt.token-valid-time}")
-    private long JwtTokenValidTime;
-
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String ISSUER = "biteRightApplication";
+    public static final String EMAIL_CLAIM = "email";
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String USERNAME_CLAIM = "username";
 
-    public boolean isTokenValid(String token, CustomUserDetails userDetails) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(userDetails.getEmail()) && !isTokenExpired(token));
-    }
+    private final long jwtTokenValidTime;
+    private final SecretKey secretKey;
+    private final JwtParser parser;
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.token-valid-time}") long jwtTokenValidTime) {
+        this.jwtTokenValidTime = jwtTokenValidTime;
+        // the key and the parser are immutable and thread-safe, so they are built once
+        this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts
+                .parser()
+                .verifyWith(secretKey)
+                .requireIssuer(ISSUER)
+                .build();
     }
 
-    public String generateToken(String email) {
-        String token = Jwts
+    public String generateToken(String email, Long userId, String username) {
+        long now = System.currentTimeMillis();
+        return Jwts
                 .builder()
-                .claim("email", email)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + JwtTokenValidTime))
-                .issuer("biteRightApplication")
-                .signWith(getSecretKey())
+                .claim(EMAIL_CLAIM, email)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(USERNAME_CLAIM, username)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtTokenValidTime))
+                .issuer(ISSUER)
+                .signWith(secretKey)
                 .compact();
-        return token;
-    }
-    
-    private SecretKey getSecretKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public String extractEmail(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("email", String.class);
-    }
+    /**
+     * Verifies the signature, issuer and expiry of the token in a single pass.
+     *
+     * @throws JwtException if the token is malformed, forged, issued by someone else or expired
+     */
+    public JwtClaims parseToken(String token) throws JwtException {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
-    private Date extractExpiration(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getExpiration();
+        String email = claims.get(EMAIL_CLAIM, String.class);
+        if (email == null)
+            throw new JwtException("Token does not contain an email claim.");
+
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return new JwtClaims(email, userId != null ? userId.longValue() : null,
+                claims.get(USERNAME_CLAIM, String.class), claims.getIssuer(), claims.getExpiration());
     }
 }
@@ -14,6 +14,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.Customizer;
@@ -32,9 +33,13 @@ public class SecurityConfig {
     @Autowired
     private JwtFilter jwtFilter;
 
+    // raising the strength upgrades existing hashes on the next login
+    @Value("${password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -81,6 +86,9 @@ public class SecurityConfig {
                                 "/api/auth/resetforgottenpassword",
                                 "/api/auth/check-availability")
                         .permitAll()
+                    // repository names, latencies and exception types are for operators, not for every account
+                    .requestMatchers("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**")
+                        .hasAuthority("admin")
                     .anyRequest().authenticated())
                 .httpBasic(Customizer.withDefaults())
                 .addFilterBefore(jwtFilter, BasicAuthenticationFilter.class)
@@ -11,6 +11,7 @@ import com.bd2_team6.biteright.authentication.jason_web_token.JwtService;
 import com.bd2_team6.biteright.controllers.requests.LoginRequest;
 import com.bd2_team6.biteright.controllers.requests.PasswordResetRequest;
 import com.bd2_team6.biteright.service.AuthenticationService;
+import com.bd2_team6.biteright.entities.user.User;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +19,7 @@ import org.springframework.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import lombok.RequiredArgsConstructor;
+import java.util.concurrent.RejectedExecutionException;
 
 
 @RestController
@@ -53,6 +55,10 @@ public class AuthenticationController {
             authService.registerNewUser(registrationRequestBody);
             return ResponseEntity.status(HttpStatus.OK).body("User registered successfully");
         }
+        catch (RejectedExecutionException e) {
+            logger.error("Error registering user.\n" + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
         catch (Exception e) {
             logger.error("Error registering user.\n" + e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Exception caught during registration.\n" +e.getMessage());
@@ -62,10 +68,14 @@ public class AuthenticationController {
     @PostMapping("/login")
     public ResponseEntity<String> loginUser(@RequestBody LoginRequest loginRequestBody)  {
         try {
-            String email = authService.loginUser(loginRequestBody.getEmail(), loginRequestBody.getPassword());
-            String token = jwtService.generateToken(email);
+            User user = authService.loginUser(loginRequestBody.getEmail(), loginRequestBody.getPassword());
+            String token = jwtService.generateToken(user.getEmail(), user.getId(), user.getUsername());
             return ResponseEntity.status(HttpStatus.OK).body(token);
         }
+        catch (RejectedExecutionException e) {
+            logger.error("Error logging in user.\n" + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
         catch (Exception e) {
             logger.error("Error logging in user.\n" + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -116,8 +126,8 @@ public class AuthenticationController {
     public ResponseEntity<String> changeEmail(Authentication authentication,  @RequestBody EmailUpdateRequest request) {
         String oldEmail = authentication.getName();
         try {
-            authService.changeEmail(oldEmail, request.getNewEmail());
-            String token = jwtService.generateToken(request.getNewEmail());
+            User user = authService.changeEmail(oldEmail, request.getNewEmail());
+            String token = jwtService.generateToken(user.getEmail(), user.getId(), user.getUsername());
             return ResponseEntity.status(HttpStatus.OK).body(token);
         }
         catch (Exception e) {
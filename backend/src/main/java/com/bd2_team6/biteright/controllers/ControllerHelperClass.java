@@ -1,7 +1,9 @@
 package com.bd2_team6.biteright.controllers;
 
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
 import com.bd2_team6.biteright.entities.user.User;
 import com.bd2_team6.biteright.entities.user.UserRepository;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import java.util.Optional;
 
@@ -9,6 +11,11 @@ import java.util.Optional;
 public class ControllerHelperClass {
 
     public static String getUsernameFromAuthentication(Authentication authentication, UserRepository userRepository) {
+        // the security filters already resolved the caller, only unknown principals fall back to the database
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getUsername();
+        }
+
         String email = authentication.getName();
         Optional<User> userOpt = userRepository.findByEmail(email);
         if (userOpt.isPresent()) {
@@ -18,4 +25,23 @@ public class ControllerHelperClass {
             throw new IllegalArgumentException("User not found");
         }
     }
+
+    public static Long getUserId(AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        return principal.getUserId();
+    }
+
+    // history tables are indexed on (user_id, date), other columns would sort every row of the user; the id
+    // breaks ties between rows of the same date, so offset pages neither repeat nor skip them
+    public static Sort historySort(String sortBy, String sortDir, String dateProperty, String idProperty) {
+        if (!sortBy.equals(dateProperty) && !sortBy.equals(idProperty)) {
+            throw new IllegalArgumentException("Sorting is only supported by " + dateProperty + " or " + idProperty);
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return sortBy.equals(idProperty)
+                ? Sort.by(direction, idProperty)
+                : Sort.by(direction, dateProperty, idProperty);
+    }
 }
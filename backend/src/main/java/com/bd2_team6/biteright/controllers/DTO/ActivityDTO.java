@@ -0,0 +1,15 @@
+package com.bd2_team6.biteright.controllers.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityDTO {
+    private Integer currentStreak;
+    private Integer longestStreak;
+    private List<ActivityDayDTO> heatmap;
+}
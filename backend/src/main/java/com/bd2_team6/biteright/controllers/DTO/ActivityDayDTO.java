@@ -0,0 +1,16 @@
+package com.bd2_team6.biteright.controllers.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityDayDTO {
+    private LocalDate date;
+    private Integer calories;
+    private Integer waterDrank;
+    private Integer caloriesBurnt;
+}
@@ -0,0 +1,29 @@
+package com.bd2_team6.biteright.controllers.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.function.Function;
+
+/// One page of a keyset-paginated result, nextCursor is null on the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+    // number of rows in the whole range, only sent when the client asked for it
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+
+    public <R> CursorPageDTO<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = items.stream().<R>map(mapper).toList();
+        return new CursorPageDTO<>(mapped, nextCursor, total);
+    }
+}
@@ -20,6 +20,10 @@ public class MealDTO {
     private LocalDateTime mealDate;
     private String mealTypeName;
     private Long mealTypeId;
+    private Float calories;
+    private Float protein;
+    private Float fat;
+    private Float carbs;
     private Set<MealContentDTO> contents;
 
     public MealDTO(Meal meal) {
@@ -29,6 +33,10 @@ public class MealDTO {
         this.mealDate = meal.getMealDate();
         this.mealTypeName = meal.getMealType().getName();
         this.mealTypeId = meal.getMealType().getTypeId();
+        this.calories = meal.getCalories();
+        this.protein = meal.getProtein();
+        this.fat = meal.getFat();
+        this.carbs = meal.getCarbs();
 
         this.contents = meal.getMealContents().stream()
                              .map(MealContentDTO::new)
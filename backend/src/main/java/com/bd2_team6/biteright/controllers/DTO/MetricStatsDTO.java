@@ -0,0 +1,17 @@
+package com.bd2_team6.biteright.controllers.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricStatsDTO {
+    private Double average;
+    private Integer min;
+    private Integer max;
+    private Double standardDeviation;
+    private Double median;
+    private Double percentile90;
+}
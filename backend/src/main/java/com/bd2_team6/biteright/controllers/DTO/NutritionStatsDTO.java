@@ -0,0 +1,21 @@
+package com.bd2_team6.biteright.controllers.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionStatsDTO {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Integer days;
+    private MetricStatsDTO calories;
+    private MetricStatsDTO protein;
+    private MetricStatsDTO fat;
+    private MetricStatsDTO carbs;
+    private MetricStatsDTO waterDrank;
+    private MetricStatsDTO caloriesBurnt;
+}
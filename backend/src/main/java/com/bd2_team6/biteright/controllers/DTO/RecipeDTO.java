@@ -17,6 +17,10 @@ public class RecipeDTO {
     private String name;
     private String description;
     private String imageUrl;
+    private Double calories;
+    private Double protein;
+    private Double fat;
+    private Double carbs;
     private Set<RecipeContentDTO> contents;
 
     public RecipeDTO(Recipe recipe) {
@@ -24,6 +28,10 @@ public class RecipeDTO {
         this.name = recipe.getName();
         this.description = recipe.getDescription();
         this.imageUrl = recipe.getImageUrl();
+        this.calories = recipe.getCalories();
+        this.protein = recipe.getProtein();
+        this.fat = recipe.getFat();
+        this.carbs = recipe.getCarbs();
         this.contents = recipe.getRecipeContents().stream()
                 .map(RecipeContentDTO::new)
                 .collect(Collectors.toSet());
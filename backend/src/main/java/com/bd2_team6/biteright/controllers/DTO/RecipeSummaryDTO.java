@@ -0,0 +1,19 @@
+package com.bd2_team6.biteright.controllers.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSummaryDTO {
+    private Long recipeId;
+    private String name;
+    private String description;
+    private String imageUrl;
+    private Double calories;
+    private Double protein;
+    private Double fat;
+    private Double carbs;
+}
@@ -0,0 +1,16 @@
+package com.bd2_team6.biteright.controllers.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/// Weight history aggregated per day, week, month or year, oldest point first; buckets without measurements are left out
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeightSeriesDTO {
+    private String bucket;
+    private List<WeightSeriesPointDTO> points;
+}
@@ -0,0 +1,19 @@
+package com.bd2_team6.biteright.controllers.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/// Weights measured in the bucket starting at date
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeightSeriesPointDTO {
+    private LocalDate date;
+    private Float mean;
+    private Float min;
+    private Float max;
+    private Integer count;
+}
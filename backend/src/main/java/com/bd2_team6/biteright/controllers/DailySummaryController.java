@@ -1,13 +1,15 @@
 package com.bd2_team6.biteright.controllers;
 
+import com.bd2_team6.biteright.controllers.DTO.ActivityDTO;
+import com.bd2_team6.biteright.controllers.DTO.NutritionStatsDTO;
 import com.bd2_team6.biteright.entities.daily_summary.DailySummary;
-import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
 import com.bd2_team6.biteright.service.DailySummaryService;
 
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,33 +23,32 @@ public class DailySummaryController {
     private static final Logger logger = LoggerFactory.getLogger(DailySummaryController.class);
 
     private final DailySummaryService dailySummaryService;
-    private final UserRepository userRepository;
 
     @GetMapping("/find")
     public ResponseEntity<?> findDailySummary(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestParam(required = false) String date,
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate) {
         
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+        Long userId = ControllerHelperClass.getUserId(principal);
 
         try {
             if (date != null) {
                 // Single date
                 LocalDate summaryDate = LocalDate.parse(date);
-                return dailySummaryService.findDailySummaryByUsernameAndDate(username, summaryDate)
+                return dailySummaryService.findDailySummaryByUserIdAndDate(userId, summaryDate)
                         .map(ResponseEntity::ok)
                         .orElse(ResponseEntity.ok(new DailySummary())); // Return empty object which maps to zeros/nulls
             } else if (startDate != null && endDate != null) {
                 // Date range
                 LocalDate start = LocalDate.parse(startDate);
                 LocalDate end = LocalDate.parse(endDate);
-                List<DailySummary> summaries = dailySummaryService.findDailySummariesByUsernameBetweenDates(username, start, end);
+                List<DailySummary> summaries = dailySummaryService.findDailySummariesByUserIdBetweenDates(userId, start, end);
                 return ResponseEntity.ok(summaries);
             } else {
                 // Default to today's date
-                return dailySummaryService.findDailySummaryByUsernameAndDate(username, LocalDate.now())
+                return dailySummaryService.findDailySummaryByUserIdAndDate(userId, LocalDate.now())
                         .map(ResponseEntity::ok)
                         .orElse(ResponseEntity.ok(new DailySummary()));
             }
@@ -58,10 +59,10 @@ public class DailySummaryController {
     }
 
     @GetMapping("/streak")
-    public ResponseEntity<?> getStreak(Authentication authentication) {
+    public ResponseEntity<?> getStreak(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            int streak = dailySummaryService.calculateStreak(username);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            int streak = dailySummaryService.calculateStreak(userId);
             return ResponseEntity.ok(streak);
         } catch (IllegalArgumentException e) {
             logger.error("Error calculating streak.\n" + e.getMessage());
@@ -69,16 +70,48 @@ public class DailySummaryController {
         }
     }
 
+    @GetMapping("/activity")
+    public ResponseEntity<?> getActivity(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(defaultValue = "365") int days) {
+        try {
+            Long userId = ControllerHelperClass.getUserId(principal);
+            ActivityDTO activity = dailySummaryService.findActivity(userId, days);
+            return ResponseEntity.ok(activity);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error finding activity.\n" + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStatistics(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "none") String bucket) {
+        try {
+            Long userId = ControllerHelperClass.getUserId(principal);
+            LocalDate start = LocalDate.parse(startDate);
+            LocalDate end = LocalDate.parse(endDate);
+            List<NutritionStatsDTO> statistics = dailySummaryService.calculateStatistics(userId, start, end, bucket);
+            return ResponseEntity.ok(statistics);
+        } catch (Exception e) {
+            logger.error("Error calculating statistics.\n" + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/averageCalories")
     public ResponseEntity<?> getAverageCalories(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestParam String startDate,
             @RequestParam String endDate) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+            Long userId = ControllerHelperClass.getUserId(principal);
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
-            double avgCalories = dailySummaryService.calculateAverageDailyCalories(username, start, end);
+            double avgCalories = dailySummaryService.calculateAverageDailyCalories(userId, start, end);
             return ResponseEntity.ok(avgCalories);
         } catch (Exception e) {
             logger.error("Error calculating average calories.\n" + e.getMessage());
@@ -88,14 +121,14 @@ public class DailySummaryController {
 
     @GetMapping("/averageProtein")
     public ResponseEntity<?> getAverageProtein(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestParam String startDate,
             @RequestParam String endDate) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+            Long userId = ControllerHelperClass.getUserId(principal);
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
-            double avgProtein = dailySummaryService.calculateAverageDailyProtein(username, start, end);
+            double avgProtein = dailySummaryService.calculateAverageDailyProtein(userId, start, end);
             return ResponseEntity.ok(avgProtein);
         } catch (Exception e) {
             logger.error("Error calculating average protein.\n" + e.getMessage());
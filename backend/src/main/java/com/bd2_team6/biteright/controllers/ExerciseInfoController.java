@@ -1,12 +1,13 @@
 package com.bd2_team6.biteright.controllers;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.ExerciseInfoDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.ExerciseInfoCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.ExerciseInfoUpdateRequest;
 import com.bd2_team6.biteright.service.ExerciseInfoService;
 import lombok.RequiredArgsConstructor;
 
-import java.util.Set;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,7 +24,7 @@ public class ExerciseInfoController {
     @GetMapping("/find/{name}")
     public ResponseEntity<?> findExerciseInfo(@PathVariable("name") String exerciseName) {
         try {
-            Set<ExerciseInfoDTO> info = exerciseInfoService.findExerciseInfoByName(exerciseName);
+            List<ExerciseInfoDTO> info = exerciseInfoService.findExerciseInfoByName(exerciseName);
             return ResponseEntity.ok(info);
         } catch (IllegalArgumentException e) {
             logger.error("Error finding exercise info.\n" + e.getMessage());
@@ -31,6 +32,19 @@ public class ExerciseInfoController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<?> searchExerciseInfo(@RequestParam("name") String name,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            CursorPageDTO<ExerciseInfoDTO> page = exerciseInfoService.searchExerciseInfo(name, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error searching exercise info.\n" + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/create")
     public ResponseEntity<?> createExerciseInfo(@RequestBody ExerciseInfoCreateRequest request){
         logger.info("REST request to create ExerciseInfo: {}", request.getName());
@@ -2,6 +2,7 @@ package com.bd2_team6.biteright.controllers;
 
 import org.springframework.web.bind.annotation.RestController;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.IngredientDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.IngredientCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.IngredientUpdateRequest;
@@ -11,7 +12,7 @@ import com.bd2_team6.biteright.service.IngredientService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.RequestMapping;
 
-import java.util.Set;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PutMapping;
 
 
@@ -32,17 +34,31 @@ public class IngredientController {
     private final IngredientService ingredientService;
 
     @GetMapping("/find/{name}")
-    public ResponseEntity<?> findIngredient(@PathVariable("name") String name) {
+    public ResponseEntity<?> findIngredient(@PathVariable("name") String name,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
-            Set<IngredientDTO> ingredients = ingredientService.findIngredientsByName(name);
+            List<IngredientDTO> ingredients = ingredientService.findIngredientsByName(name, limit);
             return ResponseEntity.ok(ingredients);
         }
         catch (IllegalArgumentException e) {
             logger.error("Error finding ingredient.\n" + e.getMessage());
-            return ResponseEntity.notFound().build();
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-    
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchIngredients(@RequestParam("name") String name,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            CursorPageDTO<IngredientDTO> page = ingredientService.searchIngredients(name, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error searching ingredients.\n" + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/create")
     public ResponseEntity<?> createIngredient(@RequestBody IngredientCreateRequest request) {
         try {
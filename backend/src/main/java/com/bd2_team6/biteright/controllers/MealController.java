@@ -3,20 +3,21 @@ package com.bd2_team6.biteright.controllers;
 import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDate;
-import java.util.Set;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.MealDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.MealCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.MealUpdateRequest;
 import com.bd2_team6.biteright.entities.meal.Meal;
-import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
 import com.bd2_team6.biteright.service.MealService;
 
 @RestController
@@ -25,15 +26,15 @@ import com.bd2_team6.biteright.service.MealService;
 public class MealController {
     private static final Logger logger = LoggerFactory.getLogger(MealController.class);
     private final MealService mealService;
-    private final UserRepository userRepository;
 
 
+    // returns every meal of the user, /meal/history pages through them instead
     @GetMapping("/findUserMeals")
-    public ResponseEntity<?> findUserMeals(Authentication authentication) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+    public ResponseEntity<?> findUserMeals(@AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = ControllerHelperClass.getUserId(principal);
 
         try {
-            Set<MealDTO> mealsDTO = mealService.findUserMealsByUsername(username);
+            List<MealDTO> mealsDTO = mealService.findUserMealsByUserId(userId);
             return ResponseEntity.ok(mealsDTO);
         }
         catch (IllegalArgumentException e) {
@@ -45,13 +46,32 @@ public class MealController {
         }
     }
 
+    // newest first, pass the returned nextCursor to read the following page
+    @GetMapping("/history")
+    public ResponseEntity<?> findMealHistory(@AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "mealTypeId", required = false) Long mealTypeId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        Long userId = ControllerHelperClass.getUserId(principal);
+
+        try {
+            CursorPageDTO<MealDTO> page = mealService.findMealHistory(userId, from, to, mealTypeId, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error finding meal history." + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/findByDate/{date}") 
-    public ResponseEntity<?> findMealsByDate(Authentication authentication, 
+    public ResponseEntity<?> findMealsByDate(@AuthenticationPrincipal AuthenticatedUser principal, 
                                              @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+        Long userId = ControllerHelperClass.getUserId(principal);
 
         try {
-            Set<MealDTO> mealsDTO = mealService.findMealsByDate(username, date);
+            List<MealDTO> mealsDTO = mealService.findMealsByDate(userId, date);
             return ResponseEntity.ok(mealsDTO);
         }
         catch (IllegalArgumentException e) {
@@ -64,11 +84,11 @@ public class MealController {
     }
 
     @GetMapping("/findByName/{name}")
-    public ResponseEntity<?> findMealByName(Authentication authentication, @PathVariable("name") String mealName) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+    public ResponseEntity<?> findMealByName(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable("name") String mealName) {
+        Long userId = ControllerHelperClass.getUserId(principal);
 
         try {
-            MealDTO mealDTO = mealService.findMealByName(username, mealName);
+            MealDTO mealDTO = mealService.findMealByName(userId, mealName);
             return ResponseEntity.ok(mealDTO);
         }
         catch (IllegalArgumentException e) {
@@ -81,11 +101,11 @@ public class MealController {
     }
 
     @GetMapping("/findByID/{id}")
-    public ResponseEntity<?> findMealById(Authentication authentication, @PathVariable("id") Long mealId) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+    public ResponseEntity<?> findMealById(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable("id") Long mealId) {
+        Long userId = ControllerHelperClass.getUserId(principal);
 
         try {
-            MealDTO mealDTO = mealService.findMealById(username, mealId);
+            MealDTO mealDTO = mealService.findMealById(userId, mealId);
             return ResponseEntity.ok(mealDTO);
         }
         catch (IllegalArgumentException e) {
@@ -98,11 +118,11 @@ public class MealController {
     }
 
     @PostMapping("/create") 
-    public ResponseEntity<?> createMeal(Authentication authentication, @RequestBody MealCreateRequest request) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+    public ResponseEntity<?> createMeal(@AuthenticationPrincipal AuthenticatedUser principal, @RequestBody MealCreateRequest request) {
+        Long userId = ControllerHelperClass.getUserId(principal);
 
         try {
-            Meal meal = mealService.createMeal(username, request);
+            Meal meal = mealService.createMeal(userId, request);
             MealDTO mealDTO = new MealDTO(meal);
             return ResponseEntity.ok(mealDTO);
         }
@@ -116,12 +136,12 @@ public class MealController {
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<?> updateMeal(Authentication authentication, @RequestBody MealUpdateRequest request, 
+    public ResponseEntity<?> updateMeal(@AuthenticationPrincipal AuthenticatedUser principal, @RequestBody MealUpdateRequest request, 
             @PathVariable("id") Long mealId) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+        Long userId = ControllerHelperClass.getUserId(principal);
 
         try {
-            Meal meal = mealService.updateMeal(username, request, mealId);
+            Meal meal = mealService.updateMeal(userId, request, mealId);
             MealDTO mealDTO = new MealDTO(meal);
             return ResponseEntity.ok(mealDTO);
         }
@@ -135,11 +155,11 @@ public class MealController {
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<?> deleteMeal(Authentication authentication, @PathVariable("id") Long mealId) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
+    public ResponseEntity<?> deleteMeal(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable("id") Long mealId) {
+        Long userId = ControllerHelperClass.getUserId(principal);
 
         try {
-            mealService.deleteMeal(username, mealId);
+            mealService.deleteMeal(userId, mealId);
             return ResponseEntity.ok("Meal successfully deleted");
         }
         catch (IllegalArgumentException e) {
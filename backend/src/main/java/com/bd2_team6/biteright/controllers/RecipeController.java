@@ -1,7 +1,9 @@
 package com.bd2_team6.biteright.controllers;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.RecipeDTO;
 import com.bd2_team6.biteright.controllers.DTO.RecipeMacrosDTO;
+import com.bd2_team6.biteright.controllers.DTO.RecipeSummaryDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.RecipeCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.RecipeUpdateRequest;
 import com.bd2_team6.biteright.entities.recipe.Recipe;
@@ -9,7 +11,7 @@ import com.bd2_team6.biteright.service.RecipeService;
 
 import lombok.RequiredArgsConstructor;
 
-import java.util.Set;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,7 +30,7 @@ public class RecipeController {
     @GetMapping("/findRecipes/{name}")
     public ResponseEntity<?> findRecipes(@PathVariable("name") String name) {
         try {
-            Set<RecipeDTO> recipesDTO = recipeService.findRecipes(name);
+            List<RecipeDTO> recipesDTO = recipeService.findRecipes(name);
             return ResponseEntity.ok(recipesDTO);
         } catch (IllegalArgumentException e) {
             logger.error("Error finding recipes by name." + e.getMessage());
@@ -39,6 +41,19 @@ public class RecipeController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<?> searchRecipes(@RequestParam("name") String name,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            CursorPageDTO<RecipeSummaryDTO> page = recipeService.searchRecipes(name, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error searching recipes.\n" + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/findByName/{name}")
     public ResponseEntity<?> findRecipeByName(@PathVariable("name") String recipeName) {
         try {
@@ -1,15 +1,16 @@
 package com.bd2_team6.biteright.controllers;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.UserExerciseDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.UserExerciseCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.UserExerciseUpdateRequest;
-import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import com.bd2_team6.biteright.entities.user_exercise.UserExercise;
@@ -27,16 +28,15 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class UserExerciseController {
     private final UserExerciseService userExerciseService;
-    private final UserRepository userRepository;
     private static final Logger logger = LoggerFactory.getLogger(UserExerciseController.class);
 
     @PostMapping("/create")
-    public ResponseEntity<?> createUserExercise(Authentication authentication,
+    public ResponseEntity<?> createUserExercise(@AuthenticationPrincipal AuthenticatedUser principal,
             @RequestBody UserExerciseCreateRequest request) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-        logger.info("REST request to create UserExercise for user: {}", username);
+        Long userId = ControllerHelperClass.getUserId(principal);
+        logger.info("REST request to create UserExercise for user: {}", userId);
         try {
-            UserExercise userExercise = userExerciseService.createUserExercise(username, request);
+            UserExercise userExercise = userExerciseService.createUserExercise(userId, request);
             return ResponseEntity.ok(mapToDTO(userExercise));
         }
         catch (IllegalArgumentException e){
@@ -49,23 +49,21 @@ public class UserExerciseController {
     }
 
     @GetMapping("/findExercisesForUser")
-    public ResponseEntity<?> findExerciseForUser(Authentication authentication,
+    public ResponseEntity<?> findExerciseForUser(@AuthenticationPrincipal AuthenticatedUser principal,
                                                     @RequestParam(defaultValue = "0") int page,
                                                     @RequestParam(defaultValue = "10") int size,
                                                     @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(defaultValue = "activityDate") String sortBy) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-        logger.info("REST request to get all exercises for user: {}, page: {}", username, page);
+        Long userId = ControllerHelperClass.getUserId(principal);
+        logger.info("REST request to get all exercises for user: {}, page: {}", userId, page);
         try {
-            Sort sort = sortDir.equalsIgnoreCase("desc")
-                    ? Sort.by(sortBy).descending()
-                    : Sort.by(sortBy).ascending();
+            Sort sort = ControllerHelperClass.historySort(sortBy, sortDir, "activityDate", "userExerciseId");
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<UserExercise> userExercises = userExerciseService.findUserExercisesByUsername(username, pageable);
+            Page<UserExercise> userExercises = userExerciseService.findUserExercisesByUserId(userId, pageable);
             return ResponseEntity.ok(mapToDTOPage(userExercises));
         }
         catch (IllegalArgumentException e){
-            logger.error("Search failed for user: {}: {}", username, e.getMessage());
+            logger.error("Search failed for user: {}: {}", userId, e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Internal Error: Critical failure finding user exercises", e);
@@ -73,24 +71,41 @@ public class UserExerciseController {
         }
     }
 
+    // newest first, pass the returned nextCursor to read the following page; count=true adds the total
+    @GetMapping("/history")
+    public ResponseEntity<?> findUserExerciseHistory(@AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
+        Long userId = ControllerHelperClass.getUserId(principal);
+
+        try {
+            CursorPageDTO<UserExercise> page = userExerciseService.findUserExerciseHistory(userId, from, to, cursor, size, count);
+            return ResponseEntity.ok(page.map(this::mapToDTO));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error finding exercise history." + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/findExercisesByDate/{date}")
-    public ResponseEntity<?> findExercisesByDate(Authentication authentication,
+    public ResponseEntity<?> findExercisesByDate(@AuthenticationPrincipal AuthenticatedUser principal,
                                                     @RequestParam(defaultValue = "0") int page,
                                                     @RequestParam(defaultValue = "10") int size,
                                                     @RequestParam(defaultValue = "desc") String sortDir,
                                                     @RequestParam(defaultValue = "activityDate") String sortBy,
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-        logger.info("REST request to get exercises for user: {}, date: {}", username, date);
+        Long userId = ControllerHelperClass.getUserId(principal);
+        logger.info("REST request to get exercises for user: {}, date: {}", userId, date);
         try {
-            Sort sort = sortDir.equalsIgnoreCase("desc")
-                    ? Sort.by(sortBy).descending()
-                    : Sort.by(sortBy).ascending();
+            Sort sort = ControllerHelperClass.historySort(sortBy, sortDir, "activityDate", "userExerciseId");
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<UserExercise> userExercises = userExerciseService.findUserExercisesByDate(username, date, pageable);
+            Page<UserExercise> userExercises = userExerciseService.findUserExercisesByDate(userId, date, pageable);
             return ResponseEntity.ok(mapToDTOPage(userExercises));
         } catch (IllegalArgumentException e) {
-            logger.error("Date search failed for user: {}, date: {}: {}", username, date, e.getMessage());
+            logger.error("Date search failed for user: {}, date: {}: {}", userId, date, e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Internal Error: Critical failure finding exercises by date", e);
@@ -99,15 +114,15 @@ public class UserExerciseController {
     }
 
     @GetMapping("/findLastExercise")
-    public ResponseEntity<?> findLastExerciseByDate(Authentication authentication) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-        logger.info("REST request to get last exercise for user: {}", username);
+    public ResponseEntity<?> findLastExerciseByDate(@AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = ControllerHelperClass.getUserId(principal);
+        logger.info("REST request to get last exercise for user: {}", userId);
         try {
-            UserExercise userExercise = userExerciseService.findLastExerciseByUsername(username);
+            UserExercise userExercise = userExerciseService.findLastExerciseByUserId(userId);
             return ResponseEntity.ok(mapToDTO(userExercise));
         }
         catch (IllegalArgumentException e) {
-            logger.warn("Last exercise not found for user: {}: {}", username, e.getMessage());
+            logger.warn("Last exercise not found for user: {}: {}", userId, e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Internal Error: Critical failure finding last exercise", e);
@@ -116,11 +131,11 @@ public class UserExerciseController {
     }
 
     @GetMapping("/findExerciseById/{id}")
-    public ResponseEntity<?> findExerciseById(Authentication authentication, @PathVariable("id") Long userExerciseId) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-        logger.info("REST request to get exercise: {} for user: {}", userExerciseId, username);
+    public ResponseEntity<?> findExerciseById(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable("id") Long userExerciseId) {
+        Long userId = ControllerHelperClass.getUserId(principal);
+        logger.info("REST request to get exercise: {} for user: {}", userExerciseId, userId);
         try {
-            UserExercise userExercise = userExerciseService.findExerciseById(username, userExerciseId);
+            UserExercise userExercise = userExerciseService.findExerciseById(userId, userExerciseId);
             return ResponseEntity.ok(mapToDTO(userExercise));
         }
         catch (IllegalArgumentException e){
@@ -133,13 +148,13 @@ public class UserExerciseController {
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<?> updateExerciseById(Authentication authentication,
+    public ResponseEntity<?> updateExerciseById(@AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable("id") Long userExerciseId,
             @RequestBody UserExerciseUpdateRequest request) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-        logger.info("REST request to update exercise: {} for user: {}", userExerciseId, username);
+        Long userId = ControllerHelperClass.getUserId(principal);
+        logger.info("REST request to update exercise: {} for user: {}", userExerciseId, userId);
         try {
-            UserExercise updatedUserExercise = userExerciseService.updateUserExerciseById(username, userExerciseId,
+            UserExercise updatedUserExercise = userExerciseService.updateUserExerciseById(userId, userExerciseId,
                     request);
             return ResponseEntity.ok(mapToDTO(updatedUserExercise));
         }
@@ -153,11 +168,11 @@ public class UserExerciseController {
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<?> deleteExercise(Authentication authentication, @PathVariable("id") Long userExerciseId) {
-        String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-        logger.info("REST request to delete exercise: {} for user: {}", userExerciseId, username);
+    public ResponseEntity<?> deleteExercise(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable("id") Long userExerciseId) {
+        Long userId = ControllerHelperClass.getUserId(principal);
+        logger.info("REST request to delete exercise: {} for user: {}", userExerciseId, userId);
         try {
-            userExerciseService.deleteUserExerciseById(username, userExerciseId);
+            userExerciseService.deleteUserExerciseById(userId, userExerciseId);
             return ResponseEntity.ok("User exercise deleted successfully");
         }
         catch (IllegalArgumentException e) {
@@ -1,9 +1,10 @@
 package com.bd2_team6.biteright.controllers;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.WaterIntakeDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.WaterIntakeCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.WaterIntakeUpdateRequest;
-import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
 import com.bd2_team6.biteright.entities.water_intake.WaterIntake;
 import com.bd2_team6.biteright.service.WaterIntakeService;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +17,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 
@@ -26,14 +27,13 @@ import java.time.LocalDate;
 public class WaterIntakeController {
     private static final Logger logger = LoggerFactory.getLogger(WaterIntakeController.class);
     private final WaterIntakeService waterIntakeService;
-    private final UserRepository userRepository;
 
     @PostMapping("/create")
-    public ResponseEntity<?> createWaterIntake(Authentication authentication,
+    public ResponseEntity<?> createWaterIntake(@AuthenticationPrincipal AuthenticatedUser principal,
                                                          @RequestBody WaterIntakeCreateRequest request) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            WaterIntake waterIntake = waterIntakeService.createWaterIntake(username, request);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            WaterIntake waterIntake = waterIntakeService.createWaterIntake(userId, request);
             return ResponseEntity.ok(mapToDTO(waterIntake));
         }
         catch (IllegalArgumentException e){
@@ -46,18 +46,16 @@ public class WaterIntakeController {
     }
 
     @GetMapping("/findWaterIntakesForUser")
-    public ResponseEntity<?> findWaterIntakeForUser(Authentication authentication,
+    public ResponseEntity<?> findWaterIntakeForUser(@AuthenticationPrincipal AuthenticatedUser principal,
                                                     @RequestParam(defaultValue = "0") int page,
                                                     @RequestParam(defaultValue = "10") int size,
                                                     @RequestParam(defaultValue = "desc") String sortDir,
                                                     @RequestParam(defaultValue = "intakeDate") String sortBy) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            Sort sort = sortDir.equalsIgnoreCase("desc")
-                    ? Sort.by(sortBy).descending()
-                    : Sort.by(sortBy).ascending();
+            Long userId = ControllerHelperClass.getUserId(principal);
+            Sort sort = ControllerHelperClass.historySort(sortBy, sortDir, "intakeDate", "waterIntakeId");
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<WaterIntake> waterIntakes = waterIntakeService.findWaterIntakesByUsername(username, pageable);
+            Page<WaterIntake> waterIntakes = waterIntakeService.findWaterIntakesByUserId(userId, pageable);
             return ResponseEntity.ok(mapToDTOPage(waterIntakes));
         }
         catch (IllegalArgumentException e){
@@ -69,8 +67,27 @@ public class WaterIntakeController {
         }
     }
 
+    // newest first, pass the returned nextCursor to read the following page; count=true adds the total
+    @GetMapping("/history")
+    public ResponseEntity<?> findWaterIntakeHistory(@AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
+        Long userId = ControllerHelperClass.getUserId(principal);
+
+        try {
+            CursorPageDTO<WaterIntake> page = waterIntakeService.findWaterIntakeHistory(userId, from, to, cursor, size, count);
+            return ResponseEntity.ok(page.map(this::mapToDTO));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error finding water intake history." + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/findWaterIntakesByDate/{date}")
-    public ResponseEntity<?> findWaterIntakesByDate(Authentication authentication,
+    public ResponseEntity<?> findWaterIntakesByDate(@AuthenticationPrincipal AuthenticatedUser principal,
                             @RequestParam(defaultValue = "0") int page,
                             @RequestParam(defaultValue = "10") int size,
                             @RequestParam(defaultValue = "desc") String sortDir,
@@ -78,12 +95,10 @@ public class WaterIntakeController {
                             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
 
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            Sort sort = sortDir.equalsIgnoreCase("desc")
-                    ? Sort.by(sortBy).descending()
-                    : Sort.by(sortBy).ascending();
+            Long userId = ControllerHelperClass.getUserId(principal);
+            Sort sort = ControllerHelperClass.historySort(sortBy, sortDir, "intakeDate", "waterIntakeId");
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<WaterIntake> waterIntakes = waterIntakeService.findWaterIntakesByDate(username, date, pageable);
+            Page<WaterIntake> waterIntakes = waterIntakeService.findWaterIntakesByDate(userId, date, pageable);
             return ResponseEntity.ok(mapToDTOPage(waterIntakes));
         } catch (IllegalArgumentException e) {
             logger.error("Error finding water intakes by date." + e.getMessage());
@@ -95,11 +110,11 @@ public class WaterIntakeController {
     }
 
     @GetMapping("/findLastWaterIntake")
-    public ResponseEntity<?> findLastWaterIntakesByDate(Authentication authentication) {
+    public ResponseEntity<?> findLastWaterIntakesByDate(@AuthenticationPrincipal AuthenticatedUser principal) {
 
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            WaterIntake waterIntake = waterIntakeService.findLastWaterIntakeByUsername(username);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            WaterIntake waterIntake = waterIntakeService.findLastWaterIntakeByUserId(userId);
             return ResponseEntity.ok(mapToDTO(waterIntake));
         }
         catch (IllegalArgumentException e) {
@@ -112,11 +127,11 @@ public class WaterIntakeController {
     }
 
     @GetMapping("/findWaterIntakeById/{id}")
-    public ResponseEntity<?> findWaterIntakeById(Authentication authentication,
+    public ResponseEntity<?> findWaterIntakeById(@AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable("id") Long waterIntakeId) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            WaterIntake waterIntake = waterIntakeService.findWaterIntakeById(username, waterIntakeId);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            WaterIntake waterIntake = waterIntakeService.findWaterIntakeById(userId, waterIntakeId);
             return ResponseEntity.ok(mapToDTO(waterIntake));
         }
         catch (IllegalArgumentException e){
@@ -129,12 +144,12 @@ public class WaterIntakeController {
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<?> updateWaterIntakeById(Authentication authentication,
+    public ResponseEntity<?> updateWaterIntakeById(@AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable("id") Long waterIntakeId,
                                                    @RequestBody WaterIntakeUpdateRequest request) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            WaterIntake updatedWaterIntake = waterIntakeService.updateWaterIntakeById(username, waterIntakeId, request);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            WaterIntake updatedWaterIntake = waterIntakeService.updateWaterIntakeById(userId, waterIntakeId, request);
             return ResponseEntity.ok(mapToDTO(updatedWaterIntake));
         }
         catch (IllegalArgumentException e){
@@ -147,10 +162,10 @@ public class WaterIntakeController {
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<?> deleteWaterIntake(Authentication authentication, @PathVariable("id") Long waterIntakeId) {
+    public ResponseEntity<?> deleteWaterIntake(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable("id") Long waterIntakeId) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            waterIntakeService.deleteWaterIntakeById(username, waterIntakeId);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            waterIntakeService.deleteWaterIntakeById(userId, waterIntakeId);
             return ResponseEntity.ok("Water intake deleted successfully");
         }
         catch (IllegalArgumentException e) {
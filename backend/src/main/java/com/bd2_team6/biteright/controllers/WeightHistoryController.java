@@ -1,9 +1,11 @@
 package com.bd2_team6.biteright.controllers;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.WeightHistoryDTO;
+import com.bd2_team6.biteright.controllers.DTO.WeightSeriesDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.WeightHistoryCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.WeightHistoryUpdateRequest;
-import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
 import com.bd2_team6.biteright.entities.weight_history.WeightHistory;
 import com.bd2_team6.biteright.service.WeightHistoryService;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -27,14 +29,13 @@ import java.time.LocalDate;
 public class WeightHistoryController {
     private static final Logger logger = LoggerFactory.getLogger(WeightHistoryController.class);
     private final WeightHistoryService weightHistoryService;
-    private final UserRepository userRepository;
 
     @PostMapping("/create")
-    public ResponseEntity<?> createWeightHistory(Authentication authentication,
+    public ResponseEntity<?> createWeightHistory(@AuthenticationPrincipal AuthenticatedUser principal,
                                                @RequestBody WeightHistoryCreateRequest request) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            WeightHistory weightHistory = weightHistoryService.createWeightHistory(username, request);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            WeightHistory weightHistory = weightHistoryService.createWeightHistory(userId, request);
             return ResponseEntity.ok(mapToDTO(weightHistory));
         }
         catch (IllegalArgumentException e) {
@@ -47,18 +48,16 @@ public class WeightHistoryController {
     }
 
     @GetMapping("/findWeightHistoriesForUser")
-    public ResponseEntity<?> findWeightHistoriesForUser(Authentication authentication,
+    public ResponseEntity<?> findWeightHistoriesForUser(@AuthenticationPrincipal AuthenticatedUser principal,
                                                       @RequestParam(defaultValue = "0") int page,
                                                       @RequestParam(defaultValue = "10") int size,
                                                       @RequestParam(defaultValue = "desc") String sortDir,
                                                       @RequestParam(defaultValue = "measurementDate") String sortBy) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            Sort sort = sortDir.equalsIgnoreCase("desc")
-                    ? Sort.by(sortBy).descending()
-                    : Sort.by(sortBy).ascending();
+            Long userId = ControllerHelperClass.getUserId(principal);
+            Sort sort = ControllerHelperClass.historySort(sortBy, sortDir, "measurementDate", "weightId");
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<WeightHistory> weightHistories = weightHistoryService.findWeightHistoriesByUsername(username, pageable);
+            Page<WeightHistory> weightHistories = weightHistoryService.findWeightHistoriesByUserId(userId, pageable);
             return ResponseEntity.ok(mapToDTOPage(weightHistories));
         }
         catch (IllegalArgumentException e) {
@@ -70,8 +69,45 @@ public class WeightHistoryController {
         }
     }
 
+    // newest first, pass the returned nextCursor to read the following page; count=true adds the total
+    @GetMapping("/history")
+    public ResponseEntity<?> findWeightHistory(@AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
+        Long userId = ControllerHelperClass.getUserId(principal);
+
+        try {
+            CursorPageDTO<WeightHistory> page = weightHistoryService.findWeightHistory(userId, from, to, cursor, size, count);
+            return ResponseEntity.ok(page.map(this::mapToDTO));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error finding weight history." + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // for charts: a bounded number of points for any range, bucket is the finest period to aggregate over
+    @GetMapping("/series")
+    public ResponseEntity<?> findWeightSeries(@AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "bucket", defaultValue = "day") String bucket,
+            @RequestParam(value = "maxPoints", defaultValue = "200") int maxPoints) {
+        Long userId = ControllerHelperClass.getUserId(principal);
+
+        try {
+            WeightSeriesDTO series = weightHistoryService.findWeightSeries(userId, from, to, bucket, maxPoints);
+            return ResponseEntity.ok(series);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error finding weight series." + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/findWeightHistoriesByDate/{date}")
-    public ResponseEntity<?> findWeightHistoriesByDate(Authentication authentication,
+    public ResponseEntity<?> findWeightHistoriesByDate(@AuthenticationPrincipal AuthenticatedUser principal,
                                                      @RequestParam(defaultValue = "0") int page,
                                                      @RequestParam(defaultValue = "10") int size,
                                                      @RequestParam(defaultValue = "measurementDate") String sortBy,
@@ -79,12 +115,10 @@ public class WeightHistoryController {
                                                      @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
                                                          LocalDate date) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            Sort sort = sortDir.equalsIgnoreCase("desc")
-                    ? Sort.by(sortBy).descending()
-                    : Sort.by(sortBy).ascending();
+            Long userId = ControllerHelperClass.getUserId(principal);
+            Sort sort = ControllerHelperClass.historySort(sortBy, sortDir, "measurementDate", "weightId");
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<WeightHistory> weightHistories = weightHistoryService.findWeightHistoriesByDate(username, date, pageable);
+            Page<WeightHistory> weightHistories = weightHistoryService.findWeightHistoriesByDate(userId, date, pageable);
             return ResponseEntity.ok(mapToDTOPage(weightHistories));
         } catch (IllegalArgumentException e) {
             logger.error("Error finding weight histories by date." + e.getMessage());
@@ -96,10 +130,10 @@ public class WeightHistoryController {
     }
 
     @GetMapping("/findLastWeightHistory")
-    public ResponseEntity<?> findLastWaterIntakesByDate(Authentication authentication) {
+    public ResponseEntity<?> findLastWaterIntakesByDate(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            WeightHistory weightHistory = weightHistoryService.findLastWeightHistoryByUsername(username);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            WeightHistory weightHistory = weightHistoryService.findLastWeightHistoryByUserId(userId);
             return ResponseEntity.ok(mapToDTO(weightHistory));
         }
         catch (IllegalArgumentException e) {
@@ -112,11 +146,11 @@ public class WeightHistoryController {
     }
 
     @GetMapping("/findWeightHistoryById/{id}")
-    public ResponseEntity<?> findWeightHistoryById(Authentication authentication,
+    public ResponseEntity<?> findWeightHistoryById(@AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable("id") Long weightHistoryId) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            WeightHistory weightHistory = weightHistoryService.findWeightHistoryById(username, weightHistoryId);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            WeightHistory weightHistory = weightHistoryService.findWeightHistoryById(userId, weightHistoryId);
             return ResponseEntity.ok(mapToDTO(weightHistory));
         }
         catch (IllegalArgumentException e){
@@ -129,12 +163,12 @@ public class WeightHistoryController {
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<?> updateWeightHistoryById(Authentication authentication,
+    public ResponseEntity<?> updateWeightHistoryById(@AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable("id") Long weightHistoryId,
                                                    @RequestBody WeightHistoryUpdateRequest request) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            WeightHistory weightHistory = weightHistoryService.updateWeightHistoryById(username,
+            Long userId = ControllerHelperClass.getUserId(principal);
+            WeightHistory weightHistory = weightHistoryService.updateWeightHistoryById(userId,
                     weightHistoryId, request);
             return ResponseEntity.ok(mapToDTO(weightHistory));
         }
@@ -149,11 +183,11 @@ public class WeightHistoryController {
 
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<?> deleteWeightHistory(Authentication authentication,
+    public ResponseEntity<?> deleteWeightHistory(@AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable("id") Long weightHistoryId) {
         try {
-            String username = ControllerHelperClass.getUsernameFromAuthentication(authentication, userRepository);
-            weightHistoryService.deleteWeightHistoryById(username, weightHistoryId);
+            Long userId = ControllerHelperClass.getUserId(principal);
+            weightHistoryService.deleteWeightHistoryById(userId, weightHistoryId);
             return ResponseEntity.ok("Weight history deleted successfully");
         }
         catch (IllegalArgumentException e) {
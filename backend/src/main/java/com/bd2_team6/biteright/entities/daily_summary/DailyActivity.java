@@ -0,0 +1,14 @@
+package com.bd2_team6.biteright.entities.daily_summary;
+
+import java.time.LocalDate;
+
+/// Projection of a daily_summary row used for streaks and the activity heatmap
+public interface DailyActivity {
+    LocalDate getSummaryDate();
+
+    Integer getCalories();
+
+    Integer getWaterDrank();
+
+    Integer getCaloriesBurnt();
+}
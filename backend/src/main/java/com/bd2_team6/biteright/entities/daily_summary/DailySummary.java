@@ -3,12 +3,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import org.hibernate.annotations.Immutable;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
+/// Row of the daily_summary rollup table, kept up to date by database triggers
 @Entity
-@Immutable
 @Table(name = "daily_summary")
 @IdClass(DailySummaryId.class)
 @Getter
@@ -42,4 +41,16 @@ public class DailySummary {
     @Column(name="calories_burnt")
     private Integer caloriesBurnt;
 
+    public DailySummary(Long userId, LocalDate summaryDate, Integer calories, Integer protein, Integer fat,
+                        Integer carbs, Integer waterDrank, Integer caloriesBurnt) {
+        this.userId = userId;
+        this.summaryDate = summaryDate;
+        this.calories = calories;
+        this.protein = protein;
+        this.fat = fat;
+        this.carbs = carbs;
+        this.waterDrank = waterDrank;
+        this.caloriesBurnt = caloriesBurnt;
+    }
+
 }
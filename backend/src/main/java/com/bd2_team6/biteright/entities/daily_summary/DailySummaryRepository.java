@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.query.Procedure;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,4 +14,12 @@ public interface DailySummaryRepository extends JpaRepository<DailySummary, Dail
     Optional<DailySummary> findByUserIdAndSummaryDate(Long userId, LocalDate summaryDate);
     
     List<DailySummary> findByUserIdAndSummaryDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    List<DailySummary> findByUserIdAndSummaryDateBetweenOrderBySummaryDateAsc(Long userId, LocalDate startDate, LocalDate endDate);
+
+    List<DailyActivity> findByUserIdAndSummaryDateLessThanEqualOrderBySummaryDateAsc(Long userId, LocalDate date);
+
+    @Transactional
+    @Procedure(procedureName = "REBUILD_DAILY_SUMMARY")
+    void rebuildAll();
 }
\ No newline at end of file
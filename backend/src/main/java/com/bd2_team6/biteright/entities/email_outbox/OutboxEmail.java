@@ -0,0 +1,68 @@
+package com.bd2_team6.biteright.entities.email_outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/// Email waiting in the outbox, written in the transaction that triggers it and sent later by the dispatcher
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "email_outbox_due_idx", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEmail {
+    public static final String PENDING = "pending";
+    public static final String SENT = "sent";
+    public static final String FAILED = "failed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "email_id")
+    private Long emailId;
+
+    @Column(name = "recipient")
+    private String recipient;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "body", length = 1024)
+    private String body;
+
+    @Column(name = "code")
+    private String code;
+
+    @Column(name = "link", length = 512)
+    private String link;
+
+    @Column(name = "status")
+    private String status = PENDING;
+
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+
+    public OutboxEmail(String recipient, String subject, String body, String code, String link) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.code = code;
+        this.link = link;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bd2_team6.biteright.entities.email_outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+    // a lock timeout of -2 is rendered as SKIP LOCKED, instances sharing the database claim different rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e FROM OutboxEmail e
+            WHERE e.status = 'pending' AND e.nextAttemptAt <= :now
+            ORDER BY e.nextAttemptAt, e.emailId
+            """)
+    List<OutboxEmail> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(String status);
+
+    // the last attempt of a sent or failed email set next_attempt_at, so the due index also finds old rows
+    @Modifying
+    @Query("""
+            DELETE FROM OutboxEmail e
+            WHERE e.status IN ('sent', 'failed') AND e.nextAttemptAt < :cutoff
+            """)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
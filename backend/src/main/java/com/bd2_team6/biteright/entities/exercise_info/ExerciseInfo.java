@@ -10,7 +10,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "exercise_info")
+@Table(name = "exercise_info", uniqueConstraints = @UniqueConstraint(name = "exercise_name_un", columnNames = "name"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,12 +1,25 @@
 package com.bd2_team6.biteright.entities.exercise_info;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ExerciseInfoRepository extends JpaRepository<ExerciseInfo, Long> {
     Set<ExerciseInfo> findByNameContainingIgnoreCase(String name);
     Optional<ExerciseInfo> findByName(String name);
+
+    @Query("""
+            SELECT e FROM ExerciseInfo e
+            WHERE LOWER(e.name) LIKE :pattern ESCAPE '!'
+                AND (e.name > :afterName OR (e.name = :afterName AND e.exerciseId > :afterId))
+            ORDER BY e.name, e.exerciseId
+            """)
+    List<ExerciseInfo> search(@Param("pattern") String pattern, @Param("afterName") String afterName,
+                              @Param("afterId") Long afterId, Pageable pageable);
 }
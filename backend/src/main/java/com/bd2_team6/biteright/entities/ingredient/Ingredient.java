@@ -11,7 +11,7 @@ import java.util.Set;
 
 
 @Entity
-@Table(name = "ingredient")
+@Table(name = "ingredient", uniqueConstraints = @UniqueConstraint(name = "ingredient_name_un", columnNames = "name"))
 @Getter
 @Setter
 @NoArgsConstructor
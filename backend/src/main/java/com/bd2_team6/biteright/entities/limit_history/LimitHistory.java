@@ -10,7 +10,8 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "limit_history")
+@Table(name = "limit_history", indexes = @Index(name = "limit_history_user_date_idx",
+        columnList = "user_id, date_changed, history_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.bd2_team6.biteright.entities.meal;
 
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
 import com.bd2_team6.biteright.entities.meal_content.MealContent;
 import com.bd2_team6.biteright.entities.meal_type.MealType;
 import com.bd2_team6.biteright.entities.user.User;
@@ -13,7 +14,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "meal")
+// meal history pages are read newest first per user
+@Table(name = "meal", indexes = @Index(name = "meal_user_date_idx", columnList = "user_id, meal_date, meal_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,10 +34,23 @@ public class Meal {
     @Column(name = "description")
     private String description;
 
+    @Column(name = "calories")
+    private Float calories = 0f;
+
+    @Column(name = "protein")
+    private Float protein = 0f;
+
+    @Column(name = "fat")
+    private Float fat = 0f;
+
+    @Column(name = "carbs")
+    private Float carbs = 0f;
+
     @OneToMany(mappedBy = "meal", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<MealContent> mealContents = new HashSet<>();
 
-    @ManyToOne
+    // lazy, loading the user would also load its one-to-one relations for every meal read
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -51,6 +66,29 @@ public class Meal {
         this.description = description;
     }
 
+    /// Stores the totals of the current contents, ingredient values are given per 100 grams
+    public void recalculateNutrition() {
+        float totalCalories = 0;
+        float totalProtein = 0;
+        float totalFat = 0;
+        float totalCarbs = 0;
+
+        for (MealContent content : mealContents) {
+            Ingredient ingredient = content.getIngredient();
+            float amount = content.getIngredientAmount() / 100f;
+
+            totalCalories += amount * (ingredient.getCalories() != null ? ingredient.getCalories() : 0);
+            totalProtein += amount * (ingredient.getProtein() != null ? ingredient.getProtein() : 0);
+            totalFat += amount * (ingredient.getFat() != null ? ingredient.getFat() : 0);
+            totalCarbs += amount * (ingredient.getCarbs() != null ? ingredient.getCarbs() : 0);
+        }
+
+        this.calories = totalCalories;
+        this.protein = totalProtein;
+        this.fat = totalFat;
+        this.carbs = totalCarbs;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,24 +1,76 @@
 package com.bd2_team6.biteright.entities.meal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.bd2_team6.biteright.entities.user.User;
-
 @Repository
 public interface MealRepository extends JpaRepository<Meal, Long> {
     Optional<Meal> findByName(String name);
 
-    @Query("SELECT m FROM Meal m WHERE m.user.username = :username AND m.name = :name")
-    Optional<Meal> findByUsernameAndName(@Param("username") String username, @Param("name") String name);
+    // reads that are mapped to MealDTO fetch the meal type, contents and their ingredients in the same select
+    @EntityGraph(attributePaths = {"mealType", "mealContents", "mealContents.ingredient"})
+    @Query("SELECT m FROM Meal m WHERE m.user.id = :userId AND m.name = :name")
+    Optional<Meal> findByUserIdAndName(@Param("userId") Long userId, @Param("name") String name);
+
+    @EntityGraph(attributePaths = {"mealType", "mealContents", "mealContents.ingredient"})
+    @Query("SELECT m FROM Meal m WHERE m.user.id = :userId AND m.mealId = :mealId")
+    Optional<Meal> findByUserIdAndMealId(@Param("userId") Long userId, @Param("mealId") Long mealId);
+
+    // m.user.id is the meal's own user_id column, the queries derived from these names joined app_user for it and
+    // read the whole table instead of meal_user_date_idx
+    @EntityGraph(attributePaths = {"mealType", "mealContents", "mealContents.ingredient"})
+    @Query("SELECT m FROM Meal m WHERE m.user.id = :userId ORDER BY m.mealDate, m.mealId")
+    List<Meal> findAllByUserIdOrderByMealDateAscMealIdAsc(@Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = {"mealType", "mealContents", "mealContents.ingredient"})
+    @Query("""
+            SELECT m FROM Meal m
+            WHERE m.user.id = :userId AND m.mealDate BETWEEN :start AND :end
+            ORDER BY m.mealDate, m.mealId
+            """)
+    List<Meal> findAllByUserIdAndMealDateBetweenOrderByMealDateAscMealIdAsc(@Param("userId") Long userId,
+                                                                           @Param("start") LocalDateTime start,
+                                                                           @Param("end") LocalDateTime end);
+
+    // a collection fetch cannot be paged by the database, so a page of ids is selected first
+    @Query("""
+            SELECT m.mealId FROM Meal m
+            WHERE m.user.id = :userId
+                AND m.mealDate >= :start AND m.mealDate < :end
+                AND (:mealTypeId IS NULL OR m.mealType.typeId = :mealTypeId)
+                AND (m.mealDate < :beforeDate OR (m.mealDate = :beforeDate AND m.mealId < :beforeId))
+            ORDER BY m.mealDate DESC, m.mealId DESC
+            """)
+    List<Long> findHistoryIds(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end, @Param("mealTypeId") Long mealTypeId,
+                              @Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") Long beforeId,
+                              Pageable pageable);
 
-    @Query("SELECT m FROM Meal m WHERE m.user.username = :username AND m.mealId = :mealId")
-    Optional<Meal> findByUsernameAndMealId(@Param("username") String username, @Param("mealId") Long mealId);
+    @EntityGraph(attributePaths = {"mealType", "mealContents", "mealContents.ingredient"})
+    @Query("SELECT m FROM Meal m WHERE m.mealId IN :ids ORDER BY m.mealDate DESC, m.mealId DESC")
+    List<Meal> findWithContentsByMealIdIn(@Param("ids") Collection<Long> ids);
 
-    Set<Meal> findAllByUserAndMealDateBetween(User user, LocalDateTime start, LocalDateTime end);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Meal m SET
+                m.calories = (SELECT COALESCE(SUM(i.calories * mc.ingredientAmount / 100.0), 0)
+                              FROM MealContent mc JOIN mc.ingredient i WHERE mc.meal = m),
+                m.protein = (SELECT COALESCE(SUM(i.protein * mc.ingredientAmount / 100.0), 0)
+                             FROM MealContent mc JOIN mc.ingredient i WHERE mc.meal = m),
+                m.fat = (SELECT COALESCE(SUM(i.fat * mc.ingredientAmount / 100.0), 0)
+                         FROM MealContent mc JOIN mc.ingredient i WHERE mc.meal = m),
+                m.carbs = (SELECT COALESCE(SUM(i.carbs * mc.ingredientAmount / 100.0), 0)
+                           FROM MealContent mc JOIN mc.ingredient i WHERE mc.meal = m)
+            WHERE m.mealId IN (SELECT c.meal.mealId FROM MealContent c WHERE c.ingredient.ingredientId = :ingredientId)
+            """)
+    int recalculateNutritionOfMealsWithIngredient(@Param("ingredientId") Long ingredientId);
 }
@@ -13,15 +13,18 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 public class MealContent {
+    // ids are taken in blocks from id_generator, unlike IDENTITY this lets Hibernate batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "meal_content_id")
+    @TableGenerator(name = "meal_content_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "meal_content", allocationSize = 50)
     @Column(name = "meal_content_id")
     private Long mealContentId;
     
     @Column(name = "ingredient_amount")
     private Integer ingredientAmount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "meal_id")
     private Meal meal;
 
@@ -10,7 +10,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "meal_type")
+@Table(name = "meal_type", uniqueConstraints = @UniqueConstraint(name = "unique_meal_type_name",
+        columnNames = "name"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.bd2_team6.biteright.entities.recipe;
 
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
 import com.bd2_team6.biteright.entities.recipe_content.RecipeContent;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -10,7 +11,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "recipe")
+@Table(name = "recipe", uniqueConstraints = @UniqueConstraint(name = "recipe_name_un", columnNames = "name"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,7 +30,19 @@ public class Recipe {
     @Column(name = "image_url")
     private String imageUrl;
 
-    @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL)
+    @Column(name = "calories")
+    private Double calories = 0.0;
+
+    @Column(name = "protein")
+    private Double protein = 0.0;
+
+    @Column(name = "fat")
+    private Double fat = 0.0;
+
+    @Column(name = "carbs")
+    private Double carbs = 0.0;
+
+    @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<RecipeContent> recipeContents = new HashSet<>();
 
     public Recipe(String name, String description) {
@@ -42,4 +55,30 @@ public class Recipe {
         this.description = description;
         this.imageUrl = imageUrl;
     }
+
+    /// Stores the totals of the current contents, ingredient values are given per portion
+    public void recalculateMacros() {
+        double totalCalories = 0;
+        double totalProtein = 0;
+        double totalFat = 0;
+        double totalCarbs = 0;
+
+        for (RecipeContent content : recipeContents) {
+            Ingredient ingredient = content.getIngredient();
+            double amount = content.getIngredientAmount();
+            double portion = ingredient.getPortionSize();
+
+            if (portion > 0) {
+                totalCalories += (amount / portion) * (ingredient.getCalories() != null ? ingredient.getCalories() : 0);
+                totalProtein += (amount / portion) * (ingredient.getProtein() != null ? ingredient.getProtein() : 0);
+                totalFat += (amount / portion) * (ingredient.getFat() != null ? ingredient.getFat() : 0);
+                totalCarbs += (amount / portion) * (ingredient.getCarbs() != null ? ingredient.getCarbs() : 0);
+            }
+        }
+
+        this.calories = totalCalories;
+        this.protein = totalProtein;
+        this.fat = totalFat;
+        this.carbs = totalCarbs;
+    }
 }
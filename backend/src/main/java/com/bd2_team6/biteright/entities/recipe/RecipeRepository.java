@@ -1,13 +1,67 @@
 package com.bd2_team6.biteright.entities.recipe;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import com.bd2_team6.biteright.controllers.DTO.RecipeSummaryDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     Set<Recipe> findByNameContainingIgnoreCase(String name);
+    @EntityGraph(attributePaths = {"recipeContents", "recipeContents.ingredient"})
     Optional<Recipe> findByName(String name);
+
+    @EntityGraph(attributePaths = {"recipeContents", "recipeContents.ingredient"})
+    Optional<Recipe> findWithContentsByRecipeId(Long recipeId);
+
+    // a collection fetch cannot be paged by the database, so a page of ids is selected first
+    @Query("""
+            SELECT r.recipeId FROM Recipe r
+            WHERE LOWER(r.name) LIKE :pattern ESCAPE '!'
+            ORDER BY r.name, r.recipeId
+            """)
+    List<Long> findIdsByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"recipeContents", "recipeContents.ingredient"})
+    @Query("SELECT r FROM Recipe r WHERE r.recipeId IN :ids ORDER BY r.name, r.recipeId")
+    List<Recipe> findWithContentsByRecipeIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.bd2_team6.biteright.controllers.DTO.RecipeSummaryDTO(
+                r.recipeId, r.name, r.description, r.imageUrl, r.calories, r.protein, r.fat, r.carbs)
+            FROM Recipe r
+            WHERE LOWER(r.name) LIKE :pattern ESCAPE '!'
+                AND (r.name > :afterName OR (r.name = :afterName AND r.recipeId > :afterId))
+            ORDER BY r.name, r.recipeId
+            """)
+    List<RecipeSummaryDTO> searchSummaries(@Param("pattern") String pattern, @Param("afterName") String afterName,
+                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Recipe r SET
+                r.calories = (SELECT COALESCE(SUM(CASE WHEN i.portionSize > 0
+                                  THEN i.calories * rc.ingredientAmount * 1.0 / i.portionSize ELSE 0 END), 0)
+                              FROM RecipeContent rc JOIN rc.ingredient i WHERE rc.recipe = r),
+                r.protein = (SELECT COALESCE(SUM(CASE WHEN i.portionSize > 0
+                                 THEN i.protein * rc.ingredientAmount * 1.0 / i.portionSize ELSE 0 END), 0)
+                             FROM RecipeContent rc JOIN rc.ingredient i WHERE rc.recipe = r),
+                r.fat = (SELECT COALESCE(SUM(CASE WHEN i.portionSize > 0
+                             THEN i.fat * rc.ingredientAmount * 1.0 / i.portionSize ELSE 0 END), 0)
+                         FROM RecipeContent rc JOIN rc.ingredient i WHERE rc.recipe = r),
+                r.carbs = (SELECT COALESCE(SUM(CASE WHEN i.portionSize > 0
+                               THEN i.carbs * rc.ingredientAmount * 1.0 / i.portionSize ELSE 0 END), 0)
+                           FROM RecipeContent rc JOIN rc.ingredient i WHERE rc.recipe = r)
+            WHERE r.recipeId IN (SELECT c.recipe.recipeId FROM RecipeContent c WHERE c.ingredient.ingredientId = :ingredientId)
+            """)
+    int recalculateMacrosOfRecipesWithIngredient(@Param("ingredientId") Long ingredientId);
 }
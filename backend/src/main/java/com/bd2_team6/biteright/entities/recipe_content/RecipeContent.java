@@ -9,14 +9,18 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "recipe_content")
+// ingredient -> recipes lookups, used when an edited ingredient refreshes the stored recipe macros
+@Table(name = "recipe_content", indexes = @Index(name = "recipe_content_ingredient_idx", columnList = "ingredient_id, recipe_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @EqualsAndHashCode
 public class RecipeContent {
+    // ids are taken in blocks from id_generator, unlike IDENTITY this lets Hibernate batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "recipe_content_id")
+    @TableGenerator(name = "recipe_content_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "recipe_content", allocationSize = 50)
     @Column(name = "recipe_content_id")
     private Long recipeContentId;
 
@@ -27,7 +31,7 @@ public class RecipeContent {
     @JoinColumn(name = "ingredient_id")
     private Ingredient ingredient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recipe_id")
     private Recipe recipe;
 
@@ -23,7 +23,9 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "app_user")
+@Table(name = "app_user", uniqueConstraints = {
+        @UniqueConstraint(name = "user_username_un", columnNames = "username"),
+        @UniqueConstraint(name = "user_email_un", columnNames = "email")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,7 @@
+package com.bd2_team6.biteright.entities.user;
+
+/// Username and email of a user, loaded without the rest of the account
+public interface UserIdentity {
+    String getUsername();
+    String getEmail();
+}
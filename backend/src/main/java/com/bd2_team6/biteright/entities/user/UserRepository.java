@@ -2,6 +2,7 @@ package com.bd2_team6.biteright.entities.user;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -9,4 +10,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
+
+    /// One lookup over both unique indexes, used before registration and by the availability check
+    List<UserIdentity> findByUsernameOrEmail(String username, String email);
+
+    /// Login by email also accepts a username, both are matched in one query
+    List<User> findByEmailOrUsername(String email, String username);
 }
@@ -9,7 +9,9 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_exercise")
+// history pages and date ranges are read per user
+@Table(name = "user_exercise", indexes = @Index(name = "user_exercise_user_date_idx",
+        columnList = "user_id, activity_date, user_exercise_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,16 +1,57 @@
 package com.bd2_team6.biteright.entities.user_exercise;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface UserExerciseRepository extends JpaRepository<UserExercise, Long> {
-    Page<UserExercise> findByUserUsername(String username, Pageable pageable);
-    Page<UserExercise> findByUserUsernameAndActivityDateBetween(String username, LocalDateTime start, LocalDateTime end, Pageable pageable);
-    Optional<UserExercise> findTopByUserUsernameOrderByActivityDateDesc(String username);
+    // .user.id is the row's own user_id column, the queries derived from these names joined app_user for it and
+    // read the whole table instead of the (user_id, date) index
+    @Query("SELECT e FROM UserExercise e WHERE e.user.id = :userId")
+    Page<UserExercise> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT e FROM UserExercise e
+            WHERE e.user.id = :userId AND e.activityDate BETWEEN :start AND :end
+            """)
+    Page<UserExercise> findByUserIdAndActivityDateBetween(@Param("userId") Long userId,
+                                                          @Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query("""
+            SELECT e FROM UserExercise e
+            WHERE e.user.id = :userId
+            ORDER BY e.activityDate DESC, e.userExerciseId DESC
+            LIMIT 1
+            """)
+    Optional<UserExercise> findTopByUserIdOrderByActivityDateDesc(@Param("userId") Long userId);
+
+    // newest first from the (date, id) position of a cursor, read along the (user_id, date) index without a count
+    @EntityGraph(attributePaths = "exerciseInfo")
+    @Query("""
+            SELECT e FROM UserExercise e
+            WHERE e.user.id = :userId
+                AND e.activityDate >= :start AND e.activityDate < :end
+                AND (e.activityDate < :beforeDate OR (e.activityDate = :beforeDate AND e.userExerciseId < :beforeId))
+            ORDER BY e.activityDate DESC, e.userExerciseId DESC
+            """)
+    List<UserExercise> findHistory(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end, @Param("beforeDate") LocalDateTime beforeDate,
+            @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(e) FROM UserExercise e
+            WHERE e.user.id = :userId AND e.activityDate >= :start AND e.activityDate < :end
+            """)
+    long countHistory(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                      @Param("end") LocalDateTime end);
 }
@@ -12,7 +12,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "verification_code")
+@Table(name = "verification_code", indexes = @Index(name = "verification_code_user_idx", columnList = "user_id"))
 public class VerificationCode {
     @Id
     @Column(name = "code_id")
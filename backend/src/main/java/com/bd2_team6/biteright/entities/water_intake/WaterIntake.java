@@ -9,7 +9,9 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "water_intake")
+// history pages and date ranges are read per user
+@Table(name = "water_intake", indexes = @Index(name = "water_intake_user_date_idx",
+        columnList = "user_id, intake_date, water_intake_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,16 +2,54 @@ package com.bd2_team6.biteright.entities.water_intake;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface WaterIntakeRepository extends JpaRepository<WaterIntake, Long> {
-    Page<WaterIntake> findByUserUsername(String username, Pageable pageable);
-    Page<WaterIntake> findByUserUsernameAndIntakeDateBetween(
-            String username, LocalDateTime start, LocalDateTime end, Pageable pageable);
-    Optional<WaterIntake> findTopByUserUsernameOrderByIntakeDateDesc(String username);
+    // .user.id is the row's own user_id column, the queries derived from these names joined app_user for it and
+    // read the whole table instead of the (user_id, date) index
+    @Query("SELECT w FROM WaterIntake w WHERE w.user.id = :userId")
+    Page<WaterIntake> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT w FROM WaterIntake w
+            WHERE w.user.id = :userId AND w.intakeDate BETWEEN :start AND :end
+            """)
+    Page<WaterIntake> findByUserIdAndIntakeDateBetween(@Param("userId") Long userId,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query("""
+            SELECT w FROM WaterIntake w
+            WHERE w.user.id = :userId
+            ORDER BY w.intakeDate DESC, w.waterIntakeId DESC
+            LIMIT 1
+            """)
+    Optional<WaterIntake> findTopByUserIdOrderByIntakeDateDesc(@Param("userId") Long userId);
+
+    // newest first from the (date, id) position of a cursor, read along the (user_id, date) index without a count
+    @Query("""
+            SELECT w FROM WaterIntake w
+            WHERE w.user.id = :userId
+                AND w.intakeDate >= :start AND w.intakeDate < :end
+                AND (w.intakeDate < :beforeDate OR (w.intakeDate = :beforeDate AND w.waterIntakeId < :beforeId))
+            ORDER BY w.intakeDate DESC, w.waterIntakeId DESC
+            """)
+    List<WaterIntake> findHistory(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end, @Param("beforeDate") LocalDateTime beforeDate,
+            @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(w) FROM WaterIntake w
+            WHERE w.user.id = :userId AND w.intakeDate >= :start AND w.intakeDate < :end
+            """)
+    long countHistory(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                      @Param("end") LocalDateTime end);
 }
@@ -9,7 +9,9 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "weight_history")
+// history pages and date ranges are read per user
+@Table(name = "weight_history", indexes = @Index(name = "weight_history_user_date_idx",
+        columnList = "user_id, measurement_date, weight_id"))
 @Getter
 @Setter
 @NoArgsConstructor
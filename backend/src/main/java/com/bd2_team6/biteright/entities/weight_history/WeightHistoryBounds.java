@@ -0,0 +1,7 @@
+package com.bd2_team6.biteright.entities.weight_history;
+
+import java.time.LocalDateTime;
+
+/// Dates of the first and last measurement in a range, both null when there is none
+public record WeightHistoryBounds(LocalDateTime first, LocalDateTime last) {
+}
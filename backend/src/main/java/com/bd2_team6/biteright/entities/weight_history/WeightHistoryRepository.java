@@ -3,16 +3,63 @@ package com.bd2_team6.biteright.entities.weight_history;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface WeightHistoryRepository extends JpaRepository<WeightHistory, Long> {
-    Page<WeightHistory> findByUserUsername(String username, Pageable pageable);
-    Page<WeightHistory> findByUserUsernameAndMeasurementDateBetween(
-            String username, LocalDateTime start, LocalDateTime end, Pageable pageable);
-    Optional<WeightHistory> findTopByUserUsernameOrderByMeasurementDateDesc(String username);
+    // .user.id is the row's own user_id column, the queries derived from these names joined app_user for it and
+    // read the whole table instead of the (user_id, date) index
+    @Query("SELECT w FROM WeightHistory w WHERE w.user.id = :userId")
+    Page<WeightHistory> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT w FROM WeightHistory w
+            WHERE w.user.id = :userId AND w.measurementDate BETWEEN :start AND :end
+            """)
+    Page<WeightHistory> findByUserIdAndMeasurementDateBetween(@Param("userId") Long userId,
+                                                              @Param("start") LocalDateTime start,
+                                                              @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query("""
+            SELECT w FROM WeightHistory w
+            WHERE w.user.id = :userId
+            ORDER BY w.measurementDate DESC, w.weightId DESC
+            LIMIT 1
+            """)
+    Optional<WeightHistory> findTopByUserIdOrderByMeasurementDateDesc(@Param("userId") Long userId);
+
+    // newest first from the (date, id) position of a cursor, read along the (user_id, date) index without a count
+    @Query("""
+            SELECT w FROM WeightHistory w
+            WHERE w.user.id = :userId
+                AND w.measurementDate >= :start AND w.measurementDate < :end
+                AND (w.measurementDate < :beforeDate OR (w.measurementDate = :beforeDate AND w.weightId < :beforeId))
+            ORDER BY w.measurementDate DESC, w.weightId DESC
+            """)
+    List<WeightHistory> findHistory(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end, @Param("beforeDate") LocalDateTime beforeDate,
+            @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(w) FROM WeightHistory w
+            WHERE w.user.id = :userId AND w.measurementDate >= :start AND w.measurementDate < :end
+            """)
+    long countHistory(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                      @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT new com.bd2_team6.biteright.entities.weight_history.WeightHistoryBounds(
+                MIN(w.measurementDate), MAX(w.measurementDate))
+            FROM WeightHistory w
+            WHERE w.user.id = :userId AND w.measurementDate >= :start AND w.measurementDate < :end
+            """)
+    WeightHistoryBounds findBounds(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                                   @Param("end") LocalDateTime end);
 }
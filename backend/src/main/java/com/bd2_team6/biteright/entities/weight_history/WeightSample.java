@@ -0,0 +1,7 @@
+package com.bd2_team6.biteright.entities.weight_history;
+
+import java.time.LocalDateTime;
+
+/// One measurement without its entity, series are built from these while the rows are streamed
+public record WeightSample(LocalDateTime measurementDate, Float weight) {
+}
@@ -0,0 +1,82 @@
+package com.bd2_team6.biteright.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC statements, rows read and time spent in JDBC during one HTTP request. Statements are also counted by shape,
+ * the SQL with literals and IN lists collapsed, so the same query repeated for every row of a previous result
+ * (an N+1) stands out.
+ */
+public class RequestStatements {
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    /// Statements run on this thread are counted until {@link #end()}
+    static RequestStatements begin() {
+        RequestStatements statements = new RequestStatements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /// Null outside a tracked request, e.g. for scheduled jobs
+    static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        if (sql != null) {
+            shapes.merge(shapeOf(sql), 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /// Statement shapes run at least {@code threshold} times, with their counts
+    public List<String> repeatedStatements(int threshold) {
+        List<String> repeated = new ArrayList<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.add(count + "x " + shape);
+            }
+        });
+        return repeated;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return shape.replaceAll("\\s+", " ").trim();
+    }
+}
@@ -0,0 +1,32 @@
+package com.bd2_team6.biteright.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+/**
+ * Controllers catch service exceptions and answer with an error status, so the {@code http.server.requests}
+ * timer would only ever see {@code exception="none"}. This attaches the first exception thrown by a service
+ * during a request to the request's observation, which tags the timer with its class name.
+ */
+@Aspect
+@Component
+public class ServiceExceptionObserver {
+
+    @AfterThrowing(pointcut = "within(com.bd2_team6.biteright.service..*)"
+            + " && @within(org.springframework.stereotype.Service)", throwing = "exception")
+    public void recordException(Exception exception) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        // a service calling another one sees the same exception twice, the innermost call records it
+        ServerHttpObservationFilter.findObservationContext(request)
+                .filter(context -> context.getError() == null)
+                .ifPresent(context -> context.setError(exception));
+    }
+}
@@ -0,0 +1,82 @@
+package com.bd2_team6.biteright.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the JDBC statements, rows and JDBC time of every request, including the security filters. Requests over
+ * {@code sql-budget.max-statements} are logged as warnings, and so are statement shapes repeated at least
+ * {@code sql-budget.repeated-statement-threshold} times, which usually means lazy loading inside a loop.
+ * The counts are kept in the {@link #ATTRIBUTE} request attribute, tests use them to assert budgets.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "sql-budget.enabled", havingValue = "true")
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    public static final String ATTRIBUTE = RequestStatements.class.getName();
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int repeatedStatementThreshold;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry,
+                           @Value("${sql-budget.max-statements:30}") int maxStatements,
+                           @Value("${sql-budget.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements statements = RequestStatements.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatements.end();
+            request.setAttribute(ATTRIBUTE, statements);
+            report(request, statements);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestStatements statements) {
+        // the route template keeps the tag bounded, unlike the raw path
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("biteright.http.sql.statements")
+                .description("JDBC statements per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.getStatements());
+
+        String endpoint = request.getMethod() + " " + uri;
+        long jdbcMillis = TimeUnit.NANOSECONDS.toMillis(statements.getJdbcNanos());
+        if (statements.getStatements() > maxStatements) {
+            logger.warn(endpoint + " ran " + statements.getStatements() + " statements (budget " + maxStatements
+                    + "), read " + statements.getRows() + " rows in " + jdbcMillis + " ms of JDBC time.");
+        }
+        List<String> repeated = statements.repeatedStatements(repeatedStatementThreshold);
+        if (!repeated.isEmpty()) {
+            logger.warn(endpoint + " suspected N+1, repeated statements:\n" + String.join("\n", repeated));
+        }
+    }
+}
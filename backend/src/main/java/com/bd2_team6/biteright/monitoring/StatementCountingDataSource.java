@@ -0,0 +1,105 @@
+package com.bd2_team6.biteright.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hands out connections whose statements report to the {@link RequestStatements} of the current request:
+ * every execute call is counted and timed, and every row read from a result set is counted.
+ * Outside a tracked request the proxies only delegate.
+ */
+class StatementCountingDataSource extends DelegatingDataSource {
+
+    StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static String sqlArgument(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+    }
+
+    private record ConnectionHandler(Connection connection) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDataSource.invoke(connection, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement and prepareCall carry the SQL, plain statements get it on execute
+                return proxy(method.getReturnType(), new StatementHandler(statement, sqlArgument(args)));
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement statement, String preparedSql) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            RequestStatements current = RequestStatements.current();
+            if (current == null) {
+                return StatementCountingDataSource.invoke(statement, method, args);
+            }
+
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = StatementCountingDataSource.invoke(statement, method, args);
+                } finally {
+                    String sql = sqlArgument(args);
+                    current.recordStatement(sql != null ? sql : preparedSql, System.nanoTime() - start);
+                }
+            } else {
+                result = StatementCountingDataSource.invoke(statement, method, args);
+            }
+
+            if (result instanceof ResultSet resultSet && method.getReturnType() == ResultSet.class) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, current));
+            }
+            return result;
+        }
+    }
+
+    private record ResultSetHandler(ResultSet resultSet, RequestStatements current) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDataSource.invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                current.recordRow();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bd2_team6.biteright.service;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Current and longest streak of active days, computed in memory from a user's active dates.
+ * Days are stored as bits counted from the first active day, so a year of history takes 46 bytes.
+ * A streak is still current when today has no entries yet, it then ends yesterday.
+ */
+public class ActivityStreaks {
+    private final int currentStreak;
+    private final int longestStreak;
+
+    private ActivityStreaks(int currentStreak, int longestStreak) {
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+    }
+
+    public static ActivityStreaks of(Collection<LocalDate> activeDates, LocalDate today) {
+        if (activeDates.isEmpty()) {
+            return new ActivityStreaks(0, 0);
+        }
+
+        long firstDay = activeDates.stream().mapToLong(LocalDate::toEpochDay).min().getAsLong();
+        BitSet days = new BitSet();
+        for (LocalDate date : activeDates) {
+            if (!date.isAfter(today)) {
+                days.set((int) (date.toEpochDay() - firstDay));
+            }
+        }
+
+        int longest = 0;
+        for (int start = days.nextSetBit(0); start >= 0; ) {
+            int end = days.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = days.nextSetBit(end);
+        }
+
+        int current = 0;
+        long todayIndex = today.toEpochDay() - firstDay;
+        if (todayIndex >= 0) {
+            int streakEnd = days.get((int) todayIndex) ? (int) todayIndex : (int) todayIndex - 1;
+            if (streakEnd >= 0 && days.get(streakEnd)) {
+                current = streakEnd - days.previousClearBit(streakEnd);
+            }
+        }
+
+        return new ActivityStreaks(current, longest);
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+}
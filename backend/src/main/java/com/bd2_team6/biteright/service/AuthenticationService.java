@@ -8,21 +8,24 @@ import com.bd2_team6.biteright.entities.user_preferences.UserPreferences;
 import com.bd2_team6.biteright.entities.user_preferences.UserPreferencesRepository;
 import com.bd2_team6.biteright.entities.verification_code.VerificationCode;
 import com.bd2_team6.biteright.entities.verification_code.VerificationCodeRepository;
+import com.bd2_team6.biteright.authentication.custom_user_details.PrincipalCache;
 import com.bd2_team6.biteright.controllers.requests.RegistrationRequest;
 import com.bd2_team6.biteright.controllers.responses.AvailabilityResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.core.Authentication;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserIdentity;
 import com.bd2_team6.biteright.entities.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,15 +33,19 @@ import org.slf4j.LoggerFactory;
 @RequiredArgsConstructor
 public class AuthenticationService {
     private final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
+    // compiled once, String.matches compiled the expression again on every login and registration
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^(?=.{1,64}@)[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@[^-][A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*(\\.[A-Za-z]{2,})$");
     private final UserRepository userRepository;
     private final UserGoalRepository userGoalRepository;
     private final UserInfoRepository userInfoRepository;
     private final VerificationCodeRepository verificationCodeRepository;
     private final UserPreferencesRepository userPreferencesRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
     private final EmailSendingService emailService;
     private final DailyLimitsService dailyLimitsService;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${verification.code.expiration.minutes:60}")
     private int verificationCodeExpirationMinutes;
@@ -48,20 +55,34 @@ public class AuthenticationService {
         validateUsername(request.getUsername());
         validatePassword(request.getPassword());
 
-        Optional<User> userOptByUsername = userRepository.findByUsername(request.getUsername());
-        Optional<User> userOptByEmail = userRepository.findByEmail(request.getEmail());
-
-        if (userOptByUsername.isPresent())
-            throw new Exception("Username " + request.getUsername() + " already taken.");
-
-        if (userOptByEmail.isPresent())
+        List<UserIdentity> taken = userRepository.findByUsernameOrEmail(request.getUsername(), request.getEmail());
+        if (!taken.isEmpty()) {
+            if (taken.stream().anyMatch(identity -> identity.getUsername().equalsIgnoreCase(request.getUsername())))
+                throw new Exception("Username " + request.getUsername() + " already taken.");
             throw new Exception("Email " + request.getEmail() + " already taken.");
+        }
 
         if (hasOnboardingData(request)) {
             validateOnboardingData(request);
         }
 
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
+        // hashing takes tens of milliseconds, doing it before the transaction keeps the connection free meanwhile
+        String hashedPassword = passwordHashingService.encode(request.getPassword());
+        try {
+            // one commit for all rows of the account, the verification email is queued in the same transaction
+            transactionTemplate.executeWithoutResult(status -> createAccount(request, hashedPassword));
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent registration took the username or email after the check, the unique indexes caught it,
+            // any other violation is a real error and is not reported as a taken name
+            if (!violatesUsernameOrEmailUnique(e))
+                throw e;
+            logger.error("Username or email already taken.");
+            throw new Exception("Username " + request.getUsername() + " or email " + request.getEmail()
+                    + " already taken.");
+        }
+    }
+
+    private void createAccount(RegistrationRequest request, String hashedPassword) {
         User newUser = new User(request.getUsername(), request.getEmail(), hashedPassword, "user");
         userRepository.save(newUser);
 
@@ -214,18 +235,22 @@ public class AuthenticationService {
         boolean emailAvailable = true;
         String message = "";
 
-        if (username != null && !username.trim().isEmpty()) {
-            Optional<User> userByUsername = userRepository.findByUsername(username);
-            if (userByUsername.isPresent()) {
+        boolean checkUsername = username != null && !username.trim().isEmpty();
+        boolean checkEmail = email != null && !email.trim().isEmpty();
+        List<UserIdentity> taken = checkUsername || checkEmail
+                ? userRepository.findByUsernameOrEmail(checkUsername ? username : null, checkEmail ? email : null)
+                : List.of();
+
+        if (checkUsername) {
+            if (taken.stream().anyMatch(identity -> identity.getUsername().equalsIgnoreCase(username))) {
                 usernameAvailable = false;
                 message = "Username already taken.";
                 logger.error("Username already taken.");
             }
         }
 
-        if (email != null && !email.trim().isEmpty()) {
-            Optional<User> userByEmail = userRepository.findByEmail(email);
-            if (userByEmail.isPresent()) {
+        if (checkEmail) {
+            if (taken.stream().anyMatch(identity -> identity.getEmail().equalsIgnoreCase(email))) {
                 emailAvailable = false;
                 if (!message.isEmpty()) {
                     message += " Email already registered.";
@@ -243,13 +268,13 @@ public class AuthenticationService {
         return new AvailabilityResponse(usernameAvailable, emailAvailable, message);
     }
 
-    public String loginUser(String identifier, String password) throws Exception {
+    public User loginUser(String identifier, String password) throws Exception {
+        // the user is loaded once here and the password is checked against it, without a second lookup
+        // through the authentication manager
         Optional<User> userOpt;
-        if (isEmailIdentifier(identifier)) {
-            userOpt = userRepository.findByEmail(identifier);
-            if (userOpt.isEmpty()) {
-                userOpt = userRepository.findByUsername(identifier);
-            }
+        if (isValidEmail(identifier)) {
+            userOpt = userRepository.findByEmailOrUsername(identifier, identifier).stream()
+                    .min(Comparator.comparing(candidate -> !identifier.equalsIgnoreCase(candidate.getEmail())));
         } else {
             userOpt = userRepository.findByUsername(identifier);
         }
@@ -260,14 +285,17 @@ public class AuthenticationService {
         }
 
         User user = userOpt.get();
-        String actualEmail = user.getEmail();
-
-        Authentication auth = authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(actualEmail, password));
-        if (auth == null || !auth.isAuthenticated()) {
+        if (password == null || !passwordHashingService.matches(password, user.getPasswordHash())) {
+            logger.error("Invalid password for user with identifier " + identifier + ".");
             throw new Exception("Invalid password.");
         }
 
+        if (passwordHashingService.needsUpgrade(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHashingService.encode(password));
+            userRepository.save(user);
+            logger.info("Password hash of user with identifier " + identifier + " upgraded.");
+        }
+
         if (!user.getIsVerified()) {
             logger.info("User with identifier " + identifier + " is not verified. Resending verification email.");
 
@@ -293,19 +321,30 @@ public class AuthenticationService {
         }
 
         logger.info("User authenticated successfully.");
-        return actualEmail;
+        return user;
     }
 
     public void validateEmail(String email) throws Exception {
-        if (!isEmailIdentifier(email)) {
+        if (!isValidEmail(email)) {
             logger.error("Invalid email");
             throw new Exception("Invalid email");
         }
     }
 
-    private boolean isEmailIdentifier(String identifier) {
-        String correctRegex = "^(?=.{1,64}@)[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@[^-][A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*(\\.[A-Za-z]{2,})$";
-        return identifier != null && identifier.matches(correctRegex);
+    static boolean violatesUsernameOrEmailUnique(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                // MySQL reports the key as app_user.user_email_un, H2 as the name of the index behind it
+                String constraint = violation.getConstraintName().toLowerCase();
+                return constraint.contains("user_username_un") || constraint.contains("user_email_un");
+            }
+        }
+        return false;
+    }
+
+    /// The check behind {@link #validateEmail}, static so it can be measured without the service
+    public static boolean isValidEmail(String email) {
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
     }
 
     public String getAllUsers() {
@@ -359,9 +398,10 @@ public class AuthenticationService {
         User user = userOpt.get();
         user.setUsername(newUsername);
         userRepository.save(user);
+        principalCache.invalidate(email);
     }
 
-    public void changeEmail(String email, String newEmail) throws Exception {
+    public User changeEmail(String email, String newEmail) throws Exception {
         Optional<User> userOpt = userRepository.findByEmail(email);
         if (userOpt.isEmpty() || !userOpt.isPresent())
             throw new RuntimeException("User with email " + email + " not found.");
@@ -369,7 +409,10 @@ public class AuthenticationService {
         validateEmail(newEmail);
         user.setEmail(newEmail);
         userRepository.save(user);
+        principalCache.invalidate(email);
+        principalCache.invalidate(newEmail);
         logger.info("Email for user with email " + email + " changed to " + newEmail + ".");
+        return user;
     }
 
     public void changePassword(String email, String oldPassword, String newPassword) throws Exception {
@@ -377,16 +420,14 @@ public class AuthenticationService {
         if (userOpt.isEmpty() || !userOpt.isPresent())
             throw new RuntimeException("User with email " + email + " not found.");
 
-        Authentication auth = authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(email, oldPassword));
-
-        if (auth == null || !auth.isAuthenticated())
+        User user = userOpt.get();
+        if (oldPassword == null || !passwordHashingService.matches(oldPassword, user.getPasswordHash()))
             throw new RuntimeException("Invalid password for user with email " + email + ".");
 
-        User user = userOpt.get();
-        String newHashedPassword = passwordEncoder.encode(newPassword);
+        String newHashedPassword = passwordHashingService.encode(newPassword);
         user.setPasswordHash(newHashedPassword);
         userRepository.save(user);
+        principalCache.invalidate(email);
         logger.info("Password for user with email " + email + " changed successfully.");
     }
 
@@ -415,9 +456,10 @@ public class AuthenticationService {
         if (!userOpt.isPresent())
             throw new RuntimeException("User with email " + email + " was not found.");
         User user = userOpt.get();
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHashingService.encode(newPassword));
         user.regeneratePasswordCode();
         userRepository.save(user);
+        principalCache.invalidate(email);
         logger.info("Successfully changed user's password.");
     }
 }
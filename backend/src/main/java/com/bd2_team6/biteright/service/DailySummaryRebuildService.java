@@ -0,0 +1,47 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.entities.daily_summary.DailySummaryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Backfills and repairs the daily_summary rollup table.
+ * Triggers keep the table current, a rebuild is only needed after bulk loads or manual data fixes.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailySummaryRebuildService {
+    private static final Logger logger = LoggerFactory.getLogger(DailySummaryRebuildService.class);
+    private final DailySummaryRepository dailySummaryRepository;
+
+    @Value("${daily-summary.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    public void rebuildDailySummaries() {
+        long start = System.currentTimeMillis();
+        dailySummaryRepository.rebuildAll();
+        logger.info("Daily summaries rebuilt in " + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    @Scheduled(cron = "${daily-summary.rebuild.cron:-}")
+    public void scheduledRebuild() {
+        try {
+            rebuildDailySummaries();
+        } catch (Exception e) {
+            logger.error("Error rebuilding daily summaries.\n" + e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAfterStartup() {
+        if (rebuildOnStartup) {
+            scheduledRebuild();
+        }
+    }
+}
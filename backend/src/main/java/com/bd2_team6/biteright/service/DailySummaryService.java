@@ -1,71 +1,117 @@
 package com.bd2_team6.biteright.service;
 
+import com.bd2_team6.biteright.controllers.DTO.ActivityDTO;
+import com.bd2_team6.biteright.controllers.DTO.ActivityDayDTO;
+import com.bd2_team6.biteright.controllers.DTO.NutritionStatsDTO;
+import com.bd2_team6.biteright.entities.daily_summary.DailyActivity;
 import com.bd2_team6.biteright.entities.daily_summary.DailySummary;
 import com.bd2_team6.biteright.entities.daily_summary.DailySummaryRepository;
-import com.bd2_team6.biteright.entities.user.User;
-import com.bd2_team6.biteright.entities.user.UserRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 public class DailySummaryService {
-    private final UserRepository userRepository;
     private final DailySummaryRepository dailySummaryRepository;
 
     @Autowired
-    public DailySummaryService(UserRepository userRepository, DailySummaryRepository dailySummaryRepository) {
-        this.userRepository = userRepository;
+    public DailySummaryService(DailySummaryRepository dailySummaryRepository) {
         this.dailySummaryRepository = dailySummaryRepository;
     }
 
-    public java.util.Optional<DailySummary> findDailySummaryByUsernameAndDate(String username, LocalDate date) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        
-        return dailySummaryRepository.findByUserIdAndSummaryDate(user.getId(), date);
+    public java.util.Optional<DailySummary> findDailySummaryByUserIdAndDate(Long userId, LocalDate date) {
+        return dailySummaryRepository.findByUserIdAndSummaryDate(userId, date);
     }
 
-    public List<DailySummary> findDailySummariesByUsernameBetweenDates(String username, LocalDate startDate, LocalDate endDate) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        
-        return dailySummaryRepository.findByUserIdAndSummaryDateBetween(user.getId(), startDate, endDate);
+    public List<DailySummary> findDailySummariesByUserIdBetweenDates(Long userId, LocalDate startDate, LocalDate endDate) {
+        return dailySummaryRepository.findByUserIdAndSummaryDateBetween(userId, startDate, endDate);
     }
 
-    public int calculateStreak(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
+    public int calculateStreak(Long userId) {
         LocalDate today = LocalDate.now();
-        int streak = 0;
-        LocalDate checkDate = today;
-
-        while (true) {
-            if (dailySummaryRepository.findByUserIdAndSummaryDate(user.getId(), checkDate).isPresent()) {
-                streak++;
-                checkDate = checkDate.minusDays(1);
-            } else {
-                if (checkDate.equals(today)) {
-                    checkDate = checkDate.minusDays(1);
-                    continue;
-                }
-                break;
-            }
+        return streaksOf(findActivityUntil(userId, today), today).getCurrentStreak();
+    }
+
+    public ActivityDTO findActivity(Long userId, int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Number of days must be positive.");
         }
 
-        return streak;
+        LocalDate today = LocalDate.now();
+        List<DailyActivity> activity = findActivityUntil(userId, today);
+        ActivityStreaks streaks = streaksOf(activity, today);
+
+        LocalDate heatmapStart = today.minusDays(days - 1L);
+        List<ActivityDayDTO> heatmap = activity.stream()
+                .filter(day -> !day.getSummaryDate().isBefore(heatmapStart))
+                .map(day -> new ActivityDayDTO(day.getSummaryDate(), day.getCalories(),
+                        day.getWaterDrank(), day.getCaloriesBurnt()))
+                .toList();
+
+        return new ActivityDTO(streaks.getCurrentStreak(), streaks.getLongestStreak(), heatmap);
     }
 
-    public double calculateAverageDailyCalories(String username, LocalDate startDate, LocalDate endDate) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    // a single range query replaces the day by day lookups, the streaks are then computed in memory
+    private List<DailyActivity> findActivityUntil(Long userId, LocalDate today) {
+        return dailySummaryRepository.findByUserIdAndSummaryDateLessThanEqualOrderBySummaryDateAsc(userId, today);
+    }
 
+    private ActivityStreaks streaksOf(List<DailyActivity> activity, LocalDate today) {
+        return ActivityStreaks.of(activity.stream().map(DailyActivity::getSummaryDate).toList(), today);
+    }
+
+    public List<NutritionStatsDTO> calculateStatistics(Long userId, LocalDate startDate, LocalDate endDate, String bucket) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date.");
+        }
+
+        String unit = bucket.toLowerCase();
+        Function<LocalDate, LocalDate> periodOf = switch (unit) {
+            case "none" -> date -> startDate;
+            case "week" -> date -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month" -> date -> date.withDayOfMonth(1);
+            default -> throw new IllegalArgumentException("Unknown bucket: " + bucket + ". Use none, week or month.");
+        };
+
+        // the range is loaded once and split into consecutive periods, rows come ordered by date
+        List<DailySummary> summaries = dailySummaryRepository
+                .findByUserIdAndSummaryDateBetweenOrderBySummaryDateAsc(userId, startDate, endDate);
+        if (summaries.isEmpty()) {
+            return List.of(NutritionStatistics.of(startDate, endDate, summaries));
+        }
+
+        List<NutritionStatsDTO> statistics = new ArrayList<>();
+        int from = 0;
+        while (from < summaries.size()) {
+            LocalDate period = periodOf.apply(summaries.get(from).getSummaryDate());
+            int to = from + 1;
+            while (to < summaries.size() && periodOf.apply(summaries.get(to).getSummaryDate()).equals(period)) {
+                to++;
+            }
+
+            LocalDate periodStart = period.isBefore(startDate) ? startDate : period;
+            LocalDate periodEnd = switch (unit) {
+                case "week" -> period.plusDays(6);
+                case "month" -> period.with(TemporalAdjusters.lastDayOfMonth());
+                default -> endDate;
+            };
+            statistics.add(NutritionStatistics.of(periodStart, periodEnd.isAfter(endDate) ? endDate : periodEnd,
+                    summaries.subList(from, to)));
+            from = to;
+        }
+        return statistics;
+    }
+
+    public double calculateAverageDailyCalories(Long userId, LocalDate startDate, LocalDate endDate) {
         List<DailySummary> summaries = dailySummaryRepository.findByUserIdAndSummaryDateBetween(
-                user.getId(), startDate, endDate);
+                userId, startDate, endDate);
 
         if (summaries.isEmpty()) {
             return 0.0;
@@ -78,12 +124,9 @@ public class DailySummaryService {
         return totalCalories / summaries.size();
     }
 
-    public double calculateAverageDailyProtein(String username, LocalDate startDate, LocalDate endDate) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
+    public double calculateAverageDailyProtein(Long userId, LocalDate startDate, LocalDate endDate) {
         List<DailySummary> summaries = dailySummaryRepository.findByUserIdAndSummaryDateBetween(
-                user.getId(), startDate, endDate);
+                userId, startDate, endDate);
 
         if (summaries.isEmpty()) {
             return 0.0;
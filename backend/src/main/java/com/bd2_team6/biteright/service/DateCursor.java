@@ -0,0 +1,82 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position after the last row of a history page ordered newest first by (date, id), sent to clients as an
+ * opaque cursor. The next page continues with {@code date < :date OR (date = :date AND id < :id)}, so its cost
+ * does not grow with the number of pages already read.
+ */
+final class DateCursor {
+    static final int MAX_PAGE_SIZE = 100;
+    // open range bounds, both fit MySQL's datetime range
+    static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    final LocalDateTime date;
+    final Long id;
+
+    private DateCursor(LocalDateTime date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    static LocalDateTime rangeStart(LocalDate from) {
+        return from != null ? from.atStartOfDay() : EARLIEST;
+    }
+
+    /// Exclusive, so the whole {@code to} day is part of the range
+    static LocalDateTime rangeEnd(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : LATEST;
+    }
+
+    static void checkRange(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("The start date must not be after the end date.");
+        }
+    }
+
+    /// A missing cursor starts at the end of the range, the exclusive upper bound filters out rows at {@code end}
+    static DateCursor decode(String cursor, LocalDateTime end) {
+        if (cursor == null || cursor.isBlank()) {
+            return new DateCursor(end, Long.MAX_VALUE);
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('@');
+            return new DateCursor(LocalDateTime.parse(position.substring(separator + 1)),
+                    Long.parseLong(position.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    static void checkPageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    static String encode(LocalDateTime date, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + "@" + date).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /// Pages are fetched with one extra row, its presence tells whether there is a next page
+    static <T> CursorPageDTO<T> page(List<T> rows, int size, Function<T, LocalDateTime> date, Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        return new CursorPageDTO<>(List.copyOf(items), encode(date.apply(last), id.apply(last)));
+    }
+}
@@ -0,0 +1,261 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.entities.email_outbox.OutboxEmail;
+import com.bd2_team6.biteright.entities.email_outbox.OutboxEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email_outbox table. Each round claims a batch of due emails with {@code SKIP LOCKED}, so several
+ * instances can share the table, and splits it across a fixed pool of workers that send their share over
+ * a single SMTP connection. Failed emails are retried with exponential backoff until {@code max-attempts}.
+ * Sent and failed emails carry verification and reset codes, they are deleted after {@code retention-days}.
+ */
+@Service
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailSendingService emailSendingService;
+    private final JavaMailSender javaMailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration retention;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dropped;
+    private final Counter purged;
+    private final Timer sendTimer;
+
+    public EmailOutboxDispatcher(OutboxEmailRepository outboxEmailRepository, EmailSendingService emailSendingService,
+                                 JavaMailSender javaMailSender, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${email-outbox.workers:4}") int workerCount,
+                                 @Value("${email-outbox.batch-size:50}") int batchSize,
+                                 @Value("${email-outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${email-outbox.retry-backoff-seconds:30}") long retryBackoffSeconds,
+                                 @Value("${email-outbox.retention-days:7}") long retentionDays,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.emailSendingService = emailSendingService;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofSeconds(retryBackoffSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+
+        // a batch is split into at most workerCount chunks, so the queue never rejects a chunk; workers spend
+        // their time waiting on SMTP, so they are virtual threads when the application runs on virtual threads
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("email-outbox-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("email-outbox-");
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(workerCount), threadFactory);
+
+        Gauge.builder("biteright.email.outbox.pending", pending, AtomicLong::get)
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+        this.sent = Counter.builder("biteright.email.outbox.sent").register(meterRegistry);
+        this.retried = Counter.builder("biteright.email.outbox.failures").tag("outcome", "retry").register(meterRegistry);
+        this.dropped = Counter.builder("biteright.email.outbox.failures").tag("outcome", "dropped").register(meterRegistry);
+        this.purged = Counter.builder("biteright.email.outbox.purged")
+                .description("Sent and failed emails deleted after the retention period")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("biteright.email.outbox.send")
+                .description("Time to send one worker's share of a batch over one SMTP connection")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email-outbox.poll-interval-ms:2000}")
+    public void scheduledDispatch() {
+        try {
+            // full batches mean more emails are probably due
+            while (dispatch() == batchSize) {
+                logger.debug("Email outbox batch full, dispatching the next one.");
+            }
+        } catch (Exception e) {
+            logger.error("Error dispatching emails.\n" + e.getMessage());
+        }
+    }
+
+    /// Claims, sends and records one batch of due emails, returns the number of claimed emails
+    public int dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> batch = transactionTemplate.execute(status -> claim(now));
+        if (batch == null || batch.isEmpty()) {
+            refreshPending();
+            return 0;
+        }
+
+        Map<Long, Exception> outcome = send(batch);
+        transactionTemplate.executeWithoutResult(status -> record(outcome));
+        refreshPending();
+        return batch.size();
+    }
+
+    @Scheduled(cron = "${email-outbox.purge-cron:0 0 * * * *}")
+    public void scheduledPurge() {
+        try {
+            purge();
+        } catch (Exception e) {
+            logger.error("Error purging the email outbox.\n" + e.getMessage());
+        }
+    }
+
+    /// Deletes sent and failed emails whose last attempt is older than the retention, returns their number
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> outboxEmailRepository.deleteFinishedBefore(cutoff));
+        int count = deleted != null ? deleted : 0;
+        purged.increment(count);
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private List<OutboxEmail> claim(LocalDateTime now) {
+        List<OutboxEmail> due = outboxEmailRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+        for (OutboxEmail email : due) {
+            email.setAttempts(email.getAttempts() + 1);
+            // if this instance dies while sending, the email becomes due again once the lease is over
+            email.setNextAttemptAt(now.plus(CLAIM_LEASE));
+        }
+        return due;
+    }
+
+    /// Outcome per email id, null for sent emails, emails without an entry keep their lease
+    private Map<Long, Exception> send(List<OutboxEmail> batch) {
+        int chunkSize = (batch.size() + workerCount - 1) / workerCount;
+        List<Future<Map<Long, Exception>>> chunks = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += chunkSize) {
+            List<OutboxEmail> chunk = batch.subList(from, Math.min(batch.size(), from + chunkSize));
+            chunks.add(workers.submit(() -> sendChunk(chunk)));
+        }
+
+        Map<Long, Exception> outcome = new HashMap<>();
+        for (Future<Map<Long, Exception>> chunk : chunks) {
+            try {
+                outcome.putAll(chunk.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                logger.error("Error sending emails.\n" + e.getMessage());
+            }
+        }
+        return outcome;
+    }
+
+    private Map<Long, Exception> sendChunk(List<OutboxEmail> chunk) {
+        Map<Long, Exception> outcome = new HashMap<>();
+        Map<MimeMessage, Long> emailIds = new IdentityHashMap<>();
+        for (OutboxEmail email : chunk) {
+            try {
+                emailIds.put(emailSendingService.createMessage(email), email.getEmailId());
+            } catch (Exception e) {
+                outcome.put(email.getEmailId(), e);
+            }
+        }
+        if (emailIds.isEmpty()) {
+            return outcome;
+        }
+
+        long start = System.nanoTime();
+        try {
+            javaMailSender.send(emailIds.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, error) -> outcome.put(emailIds.get(message), error));
+            if (e.getFailedMessages().isEmpty()) {
+                emailIds.values().forEach(emailId -> outcome.put(emailId, e));
+            }
+        } catch (Exception e) {
+            emailIds.values().forEach(emailId -> outcome.put(emailId, e));
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        emailIds.values().forEach(emailId -> outcome.putIfAbsent(emailId, null));
+        return outcome;
+    }
+
+    private void record(Map<Long, Exception> outcome) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEmail email : outboxEmailRepository.findAllById(outcome.keySet())) {
+            Exception error = outcome.get(email.getEmailId());
+            if (error == null) {
+                email.setStatus(OutboxEmail.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sent.increment();
+            } else if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(OutboxEmail.FAILED);
+                email.setLastError(describe(error));
+                dropped.increment();
+                logger.error("Giving up on email " + email.getEmailId() + " after " + email.getAttempts()
+                        + " attempts.\n" + error.getMessage());
+            } else {
+                email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                email.setLastError(describe(error));
+                retried.increment();
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private void refreshPending() {
+        pending.set(outboxEmailRepository.countByStatus(OutboxEmail.PENDING));
+    }
+
+    private static String describe(Exception error) {
+        String message = String.valueOf(error.getMessage());
+        return message.length() > 512 ? message.substring(0, 512) : message;
+    }
+}
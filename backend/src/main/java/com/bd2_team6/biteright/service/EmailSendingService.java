@@ -1,36 +1,52 @@
 package com.bd2_team6.biteright.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.bd2_team6.biteright.entities.email_outbox.OutboxEmail;
+import com.bd2_team6.biteright.entities.email_outbox.OutboxEmailRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.Map;
 
+/**
+ * Emails are not sent from the request thread: they are written to the email_outbox table, joining the
+ * caller's transaction, and {@link EmailOutboxDispatcher} sends them in the background.
+ */
 @Service
-@RequiredArgsConstructor
 public class EmailSendingService {
-    @Autowired
     private final JavaMailSender javaMailSender;
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailTemplate template;
+    private final String emailSender;
 
-    @Autowired
-    private final ResourceLoader resourceLoader;
+    public EmailSendingService(JavaMailSender javaMailSender, OutboxEmailRepository outboxEmailRepository,
+                               ResourceLoader resourceLoader, @Value("${spring.mail.username}") String emailSender) {
+        this.javaMailSender = javaMailSender;
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.emailSender = emailSender;
 
-    @Value("${spring.mail.username}")
-    private String emailSender;
+        Resource resource = resourceLoader.getResource("classpath:templates/email-template.html");
+        try (InputStream input = resource.getInputStream()) {
+            this.template = new EmailTemplate(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Error loading email template: " + e.getMessage(), e);
+        }
+    }
 
     public void sendVerificationEmail(String username, String email, String verificationCode) {
         String subject = "BiteRight - Email Verification";
         String path = "http://localhost:80/verifyuser/" + email + "/" + verificationCode; 
         String body = "Hello, " + username + "!\nThank you for registering in BiteRight!\nPlease click the link below to verify your email address.";
 
-        sendEmail(email, verificationCode, subject, path, body);
+        outboxEmailRepository.save(new OutboxEmail(email, subject, body, verificationCode, path));
     }
 
     public void sendForgotPasswordEmail(String username, String email, String forgottenPasswordCode){
@@ -39,33 +55,23 @@ public class EmailSendingService {
         String body = "Hello, " + username + 
                     "!\nIf you requested to reset your password, please click the link below to complete the process.\n"+
                     "If it wasn't you then ignore this email.";
-        sendEmail(email, forgottenPasswordCode, subject, path, body);
+        outboxEmailRepository.save(new OutboxEmail(email, subject, body, forgottenPasswordCode, path));
     }
 
-    private void sendEmail (String email, String verificationCode, String subject, String path, String body) {
-        try {
-            Resource resource = resourceLoader.getResource("classpath:templates/email-template.html");
-            String htmlTemplate = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-
-            String formattedBody = htmlTemplate
-                    .replace("{{SUBJECT}}", subject)
-                    .replace("{{BODY}}", body)
-                    .replace("{{CODE}}", verificationCode)
-                    .replace("{{LINK}}", path);
+    MimeMessage createMessage(OutboxEmail email) throws MessagingException {
+        String formattedBody = template.render(Map.of(
+                "SUBJECT", email.getSubject(),
+                "BODY", email.getBody(),
+                "CODE", email.getCode(),
+                "LINK", email.getLink()));
 
-            MimeMessage message = javaMailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setTo(email);
-            helper.setFrom(emailSender); 
-            helper.setSubject(subject);
-            helper.setText(formattedBody, true); 
-            javaMailSender.send(message);
-
-        } catch (IOException e) {
-            throw new RuntimeException("Error loading email template: " + e.getMessage());
-        } catch (Exception e) {
-            throw new RuntimeException("Error sending email: " + e.getMessage());
-        }
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setTo(email.getRecipient());
+        helper.setFrom(emailSender);
+        helper.setSubject(email.getSubject());
+        helper.setText(formattedBody, true);
+        return message;
     }
 
     public String generateVeryficationCode() {
@@ -73,4 +79,4 @@ public class EmailSendingService {
         int code = random.nextInt(100_000_000); 
         return String.format("%08d", code);   
     }
-}
\ No newline at end of file
+}
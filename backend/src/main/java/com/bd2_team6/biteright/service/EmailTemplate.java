@@ -0,0 +1,46 @@
+package com.bd2_team6.biteright.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTML template split once into literal text and {@code {{NAME}}} placeholders, so rendering an email
+ * is a single pass over the parts instead of reading the file and running a replace per placeholder.
+ */
+final class EmailTemplate {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([A-Z_]+)}}");
+
+    private final List<String> literals = new ArrayList<>();
+    private final List<String> placeholders = new ArrayList<>();
+    private final int length;
+
+    EmailTemplate(String html) {
+        Matcher matcher = PLACEHOLDER.matcher(html);
+        int position = 0;
+        while (matcher.find()) {
+            literals.add(html.substring(position, matcher.start()));
+            placeholders.add(matcher.group(1));
+            position = matcher.end();
+        }
+        literals.add(html.substring(position));
+        this.length = html.length();
+    }
+
+    /// Values are HTML-escaped, placeholders without a value are left empty
+    String render(Map<String, String> values) {
+        StringBuilder html = new StringBuilder(length + 256);
+        for (int i = 0; i < placeholders.size(); i++) {
+            html.append(literals.get(i));
+            String value = values.get(placeholders.get(i));
+            if (value != null) {
+                html.append(HtmlUtils.htmlEscape(value));
+            }
+        }
+        return html.append(literals.get(literals.size() - 1)).toString();
+    }
+}
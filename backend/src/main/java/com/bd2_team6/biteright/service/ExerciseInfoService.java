@@ -1,14 +1,15 @@
 package com.bd2_team6.biteright.service;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.ExerciseInfoDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.ExerciseInfoCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.ExerciseInfoUpdateRequest;
 import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfo;
 import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfoRepository;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -20,11 +21,19 @@ public class ExerciseInfoService {
         this.exerciseInfoRepository = exerciseInfoRepository;
     }
 
-    public Set<ExerciseInfoDTO> findExerciseInfoByName(String name) {
-        Set<ExerciseInfo> info = exerciseInfoRepository.findByNameContainingIgnoreCase(name);
-        return info.stream() 
+    public List<ExerciseInfoDTO> findExerciseInfoByName(String name) {
+        return searchExerciseInfo(name, null, NameCursor.MAX_PAGE_SIZE).getItems();
+    }
+
+    /// Exercises whose name contains the query ordered by name
+    public CursorPageDTO<ExerciseInfoDTO> searchExerciseInfo(String name, String cursor, int size) {
+        NameCursor.checkPageSize(size);
+        NameCursor after = NameCursor.decode(cursor);
+        List<ExerciseInfoDTO> rows = exerciseInfoRepository.search(NameCursor.containsPattern(name),
+                        after.name, after.id, PageRequest.of(0, size + 1)).stream()
                 .map(ExerciseInfoDTO::new)
-                .collect(Collectors.toSet());
+                .toList();
+        return NameCursor.page(rows, size, ExerciseInfoDTO::getName, ExerciseInfoDTO::getId);
     }
 
     public ExerciseInfoDTO createExerciseInfo(ExerciseInfoCreateRequest request) {
@@ -0,0 +1,135 @@
+package com.bd2_team6.biteright.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of history totals per user and date range. Keyset pages are read without a count, a client
+ * that wants to show one asks for it and gets it from here while paging through the same range.
+ * Writes through the services drop the user's counts, rows added by database triggers show up once an entry
+ * expires. Users are evicted in least-recently-used order once {@code maxSize} is reached.
+ * A count is only stored if the user's range map from before the count is still in place, so a write that lands
+ * while the database counts discards that user's result without affecting anyone else's.
+ */
+@Component
+public class HistoryCountCache {
+    static final int RANGES_PER_USER = 8;
+
+    enum History { WATER_INTAKE, WEIGHT_HISTORY, USER_EXERCISE }
+
+    private record Owner(History history, Long userId) {}
+    private record Range(LocalDateTime start, LocalDateTime end) {}
+    private record CachedCount(long count, long expiresAt) {}
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<Owner, Map<Range, CachedCount>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public HistoryCountCache(MeterRegistry meterRegistry,
+                             @Value("${history.count-cache.max-size:10000}") int maxSize,
+                             @Value("${history.count-cache.ttl-seconds:60}") long ttlSeconds) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("History count cache size must be positive.");
+
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Owner, Map<Range, CachedCount>> eldest) {
+                boolean evict = size() > HistoryCountCache.this.maxSize;
+                if (evict)
+                    evictions.increment();
+                return evict;
+            }
+        };
+
+        this.hits = Counter.builder("biteright.history.count.cache")
+                .tag("result", "hit")
+                .description("History totals served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("biteright.history.count.cache")
+                .tag("result", "miss")
+                .description("History totals that had to be counted by the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("biteright.history.count.cache.evictions")
+                .description("Users whose history totals were evicted because the cache was full")
+                .register(meterRegistry);
+        Gauge.builder("biteright.history.count.cache.size", this, HistoryCountCache::size)
+                .description("Number of users with cached history totals")
+                .register(meterRegistry);
+    }
+
+    long count(History history, Long userId, LocalDateTime start, LocalDateTime end, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Owner owner = new Owner(history, userId);
+        Range range = new Range(start, end);
+        Map<Range, CachedCount> counts;
+
+        lock.lock();
+        try {
+            counts = entries.computeIfAbsent(owner, o -> newRangeMap());
+            CachedCount cached = counts.get(range);
+            if (cached != null && cached.expiresAt() > now) {
+                hits.increment();
+                return cached.count();
+            }
+            if (cached != null)
+                counts.remove(range);
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        long count = counter.getAsLong();
+        lock.lock();
+        try {
+            // an invalidation or eviction of this user that raced with the count removed its map, the next request
+            // will count again
+            if (entries.get(owner) == counts)
+                counts.put(range, new CachedCount(count, now + ttlMillis));
+        } finally {
+            lock.unlock();
+        }
+        return count;
+    }
+
+    void invalidate(History history, Long userId) {
+        lock.lock();
+        try {
+            entries.remove(new Owner(history, userId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Map<Range, CachedCount> newRangeMap() {
+        return new LinkedHashMap<>(RANGES_PER_USER, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Range, CachedCount> eldest) {
+                return size() > RANGES_PER_USER;
+            }
+        };
+    }
+}
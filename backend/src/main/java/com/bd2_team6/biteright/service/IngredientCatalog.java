@@ -0,0 +1,508 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+import com.bd2_team6.biteright.controllers.DTO.IngredientDTO;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory copy of the ingredient table that answers the ingredient picker's name searches.
+ * Names are indexed by their trigrams: a query intersects the posting lists of its own trigrams and only
+ * verifies the remaining candidates, so no {@code LIKE '%x%'} scan reaches the database.
+ * Substring matches rank exact names first, then prefixes, word starts and other substrings.
+ * When they do not fill the limit, names sharing most of the query's trigrams are appended as fuzzy matches.
+ * Search pages are cursored by the last match's place in that ranking, not by an offset.
+ *
+ * Entries live in slots numbered in insertion order, so posting lists stay sorted by appending.
+ * Updates and deletes only retire the old slot, the index is compacted once retired slots outnumber live ones.
+ * Writes that land while a reload reads the table are logged and replayed onto the fresh index before it is
+ * swapped in, so the older snapshot cannot undo them.
+ */
+@Component
+public class IngredientCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(IngredientCatalog.class);
+    public static final int MAX_RESULTS = 100;
+    private static final int GRAM = 3;
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_START = 2;
+    private static final int SUBSTRING = 3;
+    private static final int FUZZY = 4;
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::tier)
+            .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+            .thenComparingInt(match -> match.entry().name.length())
+            .thenComparing(match -> match.entry().name)
+            .thenComparingLong(match -> match.entry().id);
+
+    private final IngredientRepository ingredientRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private Index index = new Index(0);
+    // changes made since the running reload started reading, null when no reload runs; guarded by the write lock
+    private List<Consumer<Index>> pendingWrites;
+    private volatile boolean loaded;
+
+    public IngredientCatalog(IngredientRepository ingredientRepository) {
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAfterStartup() {
+        reload();
+    }
+
+    // only needed when several instances share the database, each instance updates its own catalog on writes
+    @Scheduled(cron = "${ingredient-catalog.refresh.cron:-}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            // started before the read, so a write the snapshot misses is logged; replaying one it saw is harmless
+            setPendingWrites(new ArrayList<>());
+            replaceAll(ingredientRepository.findAll().stream().map(IngredientDTO::new).toList());
+            logger.info("Ingredient catalog loaded in " + (System.currentTimeMillis() - start) + " ms.");
+        } catch (Exception e) {
+            logger.error("Error loading ingredient catalog.\n" + e.getMessage());
+        } finally {
+            setPendingWrites(null);
+            reloadLock.unlock();
+        }
+    }
+
+    public void replaceAll(Collection<IngredientDTO> ingredients) {
+        Index fresh = new Index(ingredients.size());
+        for (IngredientDTO ingredient : ingredients) {
+            fresh.add(new Entry(ingredient));
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                pendingWrites.forEach(change -> change.accept(fresh));
+                pendingWrites.clear();
+            }
+            index = fresh.retired > fresh.slotById.size() ? fresh.compacted() : fresh;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /// Adds or replaces an ingredient once the surrounding transaction, if any, has committed
+    public void put(IngredientDTO ingredient) {
+        Entry entry = new Entry(ingredient);
+        afterCommit(() -> write(current -> {
+            current.retire(entry.id);
+            current.add(entry);
+        }));
+    }
+
+    /// Removes an ingredient once the surrounding transaction, if any, has committed
+    public void remove(Long ingredientId) {
+        afterCommit(() -> write(current -> current.retire(ingredientId)));
+    }
+
+    /**
+     * Ranked ingredients whose name contains the query, followed by fuzzy matches when there are fewer than
+     * {@code limit} of them. Case and accents are ignored. Until the catalog is loaded the database answers instead.
+     */
+    public List<IngredientDTO> search(String query, int limit) {
+        return rank(query, Math.min(limit, MAX_RESULTS), null).stream()
+                .map(match -> copyOf(match.entry().ingredient))
+                .toList();
+    }
+
+    /**
+     * One page of the {@link #search} ranking. The cursor holds the last match's tier, similarity, name and id
+     * and the next page continues after it, so every match can be reached and writes between requests
+     * do not make pages repeat or skip the matches that stayed.
+     */
+    public CursorPageDTO<IngredientDTO> searchPage(String query, String cursor, int size) {
+        List<Match> ranked = rank(query, size + 1, decodeCursor(cursor));
+        List<Match> items = ranked.subList(0, Math.min(size, ranked.size()));
+        String nextCursor = ranked.size() > size ? encodeCursor(items.get(size - 1)) : null;
+        return new CursorPageDTO<>(items.stream().map(match -> copyOf(match.entry().ingredient)).toList(), nextCursor);
+    }
+
+    private List<Match> rank(String query, int max, Match after) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || max <= 0) {
+            return List.of();
+        }
+
+        Top best = new Top(max, after);
+        if (!loaded) {
+            // ranked like the index would, so a cursor stays valid once the catalog is loaded
+            ingredientRepository.findByNameContainingIgnoreCase(query).forEach(ingredient -> {
+                Entry entry = new Entry(new IngredientDTO(ingredient));
+                int tier = tierOf(entry.name, needle);
+                best.offer(new Match(entry, tier < 0 ? SUBSTRING : tier, 1.0));
+            });
+            return best.ranked();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM) {
+                index.scan(needle, best);
+            } else {
+                long[] grams = gramsOf(needle);
+                index.lookup(needle, grams, best);
+                if (!best.isFull()) {
+                    index.fuzzy(needle, grams, best);
+                }
+            }
+            return best.ranked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String encodeCursor(Match match) {
+        String position = match.tier() + ":" + match.similarity() + ":" + match.entry().id + ":" + match.entry().name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Match decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(":", 4);
+            if (position.length < 4) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new Match(new Entry(Long.parseLong(position[2]), position[3]),
+                    Integer.parseInt(position[0]), Double.parseDouble(position[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    private void write(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingWrites != null) {
+                pendingWrites.add(change);
+            }
+            if (index.retired > index.slotById.size()) {
+                index = index.compacted();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setPendingWrites(List<Consumer<Index>> writes) {
+        lock.writeLock().lock();
+        try {
+            pendingWrites = writes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // callers get their own copy, the cached snapshot must not be modified
+    private static IngredientDTO copyOf(IngredientDTO ingredient) {
+        return new IngredientDTO(ingredient.getId(), ingredient.getName(), ingredient.getBrand(),
+                ingredient.getPortionSize(), ingredient.getCalories(), ingredient.getProtein(),
+                ingredient.getFat(), ingredient.getCarbs());
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutAccents = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    private static long[] gramsOf(String name) {
+        if (name.length() < GRAM) {
+            return new long[0];
+        }
+        return IntStream.rangeClosed(0, name.length() - GRAM)
+                .mapToLong(i -> ((long) name.charAt(i) << 32) | ((long) name.charAt(i + 1) << 16) | name.charAt(i + 2))
+                .distinct()
+                .toArray();
+    }
+
+    private static int tierOf(String name, String needle) {
+        int position = name.indexOf(needle);
+        if (position < 0) {
+            return -1;
+        }
+        if (position == 0) {
+            return name.length() == needle.length() ? EXACT : PREFIX;
+        }
+        for (; position >= 0; position = name.indexOf(needle, position + 1)) {
+            if (!Character.isLetterOrDigit(name.charAt(position - 1))) {
+                return WORD_START;
+            }
+        }
+        return SUBSTRING;
+    }
+
+    /// The best matches ranked after an optional cursor position
+    private static final class Top {
+        private final PriorityQueue<Match> best;
+        private final int max;
+        private final Match after;
+
+        private Top(int max, Match after) {
+            this.best = new PriorityQueue<>(max + 1, RANKING.reversed());
+            this.max = max;
+            this.after = after;
+        }
+
+        // the heap keeps the worst of the best matches on top, most candidates are rejected by one comparison
+        private void offer(Match match) {
+            if (after != null && RANKING.compare(match, after) <= 0) {
+                return;
+            }
+            if (best.size() < max) {
+                best.add(match);
+            } else if (RANKING.compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        private boolean isFull() {
+            return best.size() >= max;
+        }
+
+        private List<Match> ranked() {
+            List<Match> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            return ranked;
+        }
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final String name;
+        private final long[] grams;
+        private final IngredientDTO ingredient;
+
+        private Entry(IngredientDTO ingredient) {
+            this.id = ingredient.getId();
+            this.name = normalize(ingredient.getName());
+            this.grams = gramsOf(name);
+            this.ingredient = copyOf(ingredient);
+        }
+
+        // a cursor position, only compared against and never returned
+        private Entry(long id, String name) {
+            this.id = id;
+            this.name = name;
+            this.grams = new long[0];
+            this.ingredient = null;
+        }
+    }
+
+    private record Match(Entry entry, int tier, double similarity) {
+    }
+
+    /// Growable, ascending list of slots sharing one trigram
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int length;
+
+        private void add(int slot) {
+            if (length == slots.length) {
+                slots = Arrays.copyOf(slots, length * 2);
+            }
+            slots[length++] = slot;
+        }
+    }
+
+    private static final class Index {
+        private Entry[] slots;
+        private int slotCount;
+        private int retired;
+        private final Map<Long, Integer> slotById;
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        private Index(int capacity) {
+            this.slots = new Entry[Math.max(capacity, 16)];
+            this.slotById = new HashMap<>(Math.max(capacity, 16) * 4 / 3);
+        }
+
+        private void add(Entry entry) {
+            if (slotCount == slots.length) {
+                slots = Arrays.copyOf(slots, slotCount * 2);
+            }
+            int slot = slotCount++;
+            slots[slot] = entry;
+            slotById.put(entry.id, slot);
+            for (long gram : entry.grams) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(slot);
+            }
+        }
+
+        private void retire(Long id) {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                slots[slot] = null;
+                retired++;
+            }
+        }
+
+        private Index compacted() {
+            Index fresh = new Index(slotById.size());
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (slots[slot] != null) {
+                    fresh.add(slots[slot]);
+                }
+            }
+            return fresh;
+        }
+
+        // queries shorter than a trigram check every name, which is still a plain in-memory loop
+        private void scan(String needle, Top best) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                verify(slot, needle, best);
+            }
+        }
+
+        private void lookup(String needle, long[] grams, Top best) {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+            int[] candidates = Arrays.copyOf(lists[0].slots, lists[0].length);
+            int count = candidates.length;
+            for (int i = 1; i < lists.length && count > 0; i++) {
+                count = intersect(candidates, count, lists[i]);
+            }
+
+            // shared trigrams do not guarantee the order, the substring itself is verified
+            for (int i = 0; i < count; i++) {
+                verify(candidates[i], needle, best);
+            }
+        }
+
+        private void fuzzy(String needle, long[] grams, Top best) {
+            // counts fit in a byte, a query has far fewer than 128 distinct trigrams worth matching
+            byte[] shared = new byte[slotCount];
+            Postings touched = new Postings();
+            for (int g = 0; g < grams.length && g < Byte.MAX_VALUE; g++) {
+                Postings list = postings.get(grams[g]);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.length; i++) {
+                    int slot = list.slots[i];
+                    if (shared[slot]++ == 0) {
+                        touched.add(slot);
+                    }
+                }
+            }
+
+            for (int i = 0; i < touched.length; i++) {
+                int slot = touched.slots[i];
+                Entry entry = slots[slot];
+                if (entry == null) {
+                    continue;
+                }
+                double similarity = 2.0 * shared[slot] / (grams.length + entry.grams.length);
+                // substring matches are already ranked above every fuzzy match
+                if (similarity >= MIN_SIMILARITY && tierOf(entry.name, needle) < 0) {
+                    best.offer(new Match(entry, FUZZY, similarity));
+                }
+            }
+        }
+
+        private void verify(int slot, String needle, Top best) {
+            Entry entry = slots[slot];
+            if (entry == null) {
+                return;
+            }
+            int tier = tierOf(entry.name, needle);
+            if (tier >= 0) {
+                best.offer(new Match(entry, tier, 1.0));
+            }
+        }
+
+        // keeps the candidates also present in the list, both are sorted ascending
+        private static int intersect(int[] candidates, int count, Postings list) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count && j < list.length; i++) {
+                while (j < list.length && list.slots[j] < candidates[i]) {
+                    j++;
+                }
+                if (j < list.length && list.slots[j] == candidates[i]) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/// Resolves all ingredients referenced by a meal or recipe request with a single query
+final class IngredientLookup {
+    private IngredientLookup() {
+    }
+
+    static Map<Long, Ingredient> findAll(IngredientRepository ingredientRepository, Collection<Long> ingredientIds) {
+        Set<Long> wanted = new HashSet<>(ingredientIds);
+        if (wanted.contains(null)) {
+            throw new IllegalArgumentException("Ingredient id is required");
+        }
+
+        Map<Long, Ingredient> found = ingredientRepository.findAllById(wanted).stream()
+                .collect(Collectors.toMap(Ingredient::getIngredientId, Function.identity()));
+        if (found.size() < wanted.size()) {
+            List<Long> missing = wanted.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .sorted()
+                    .toList();
+            throw new IllegalArgumentException("Ingredients not found: " + missing);
+        }
+        return found;
+    }
+}
@@ -1,29 +1,45 @@
 package com.bd2_team6.biteright.service;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.IngredientDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.IngredientCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.IngredientUpdateRequest;
 import com.bd2_team6.biteright.entities.ingredient.Ingredient;
 import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+import com.bd2_team6.biteright.entities.meal.MealRepository;
+import com.bd2_team6.biteright.entities.recipe.RecipeRepository;
 
 @Service
 public class IngredientService {
     private final IngredientRepository ingredientRepository;
+    private final MealRepository mealRepository;
+    private final RecipeRepository recipeRepository;
+    private final IngredientCatalog ingredientCatalog;
 
-    public IngredientService(IngredientRepository ingredientRepository) {
+    public IngredientService(IngredientRepository ingredientRepository, MealRepository mealRepository,
+                             RecipeRepository recipeRepository, IngredientCatalog ingredientCatalog) {
         this.ingredientRepository = ingredientRepository;
+        this.mealRepository = mealRepository;
+        this.recipeRepository = recipeRepository;
+        this.ingredientCatalog = ingredientCatalog;
     }
 
-    public Set<IngredientDTO> findIngredientsByName(String name) {
-        Set<Ingredient> ingredients = ingredientRepository.findByNameContainingIgnoreCase(name);
-        return ingredients.stream() 
-                .map(IngredientDTO::new)
-                .collect(Collectors.toSet());
+    public List<IngredientDTO> findIngredientsByName(String name, int limit) {
+        if (limit <= 0 || limit > IngredientCatalog.MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + IngredientCatalog.MAX_RESULTS + ".");
+        }
+        return ingredientCatalog.search(name, limit);
+    }
+
+    /// Pages through the catalog's ranked matches, the cursor continues after the last match of the previous page
+    public CursorPageDTO<IngredientDTO> searchIngredients(String name, String cursor, int size) {
+        NameCursor.checkPageSize(size);
+        return ingredientCatalog.searchPage(name, cursor, size);
     }
 
     public Ingredient createIngredient(IngredientCreateRequest request) {
@@ -36,9 +52,12 @@ public class IngredientService {
         newIngredient.setFat(request.getFat());
         newIngredient.setCarbs(request.getCarbs());
 
-        return ingredientRepository.save(newIngredient);
+        Ingredient savedIngredient = ingredientRepository.save(newIngredient);
+        ingredientCatalog.put(new IngredientDTO(savedIngredient));
+        return savedIngredient;
     }
     
+    @Transactional
     public Ingredient updateIngredient(Long id, IngredientUpdateRequest request) {
         Ingredient newIngredient = ingredientRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
@@ -49,13 +68,20 @@ public class IngredientService {
         newIngredient.setProtein(request.getProtein());
         newIngredient.setFat(request.getFat());
         newIngredient.setCarbs(request.getCarbs());
+        Ingredient savedIngredient = ingredientRepository.save(newIngredient);
+
+        // meals and recipes store their totals, every row using the ingredient is recomputed in one statement
+        mealRepository.recalculateNutritionOfMealsWithIngredient(id);
+        recipeRepository.recalculateMacrosOfRecipesWithIngredient(id);
 
-        return ingredientRepository.save(newIngredient);
+        ingredientCatalog.put(new IngredientDTO(savedIngredient));
+        return savedIngredient;
     }
 
     public void deleteIngredient(Long id) {
         Ingredient ingredient = ingredientRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
         ingredientRepository.delete(ingredient);
+        ingredientCatalog.remove(id);
     }
 }
@@ -12,6 +12,7 @@ import com.bd2_team6.biteright.entities.meal_content.MealContentRepository;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -42,6 +43,7 @@ public class MealContentService {
                 .collect(Collectors.toSet());
     }
 
+    @Transactional
     public MealContentDTO addContentToMeal(MealContentCreateRequest request) {
         Meal meal = mealRepository.findById(request.getMealId())
                 .orElseThrow(() -> new IllegalArgumentException("Meal not found"));
@@ -50,9 +52,14 @@ public class MealContentService {
                 .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
 
         MealContent content = new MealContent(ingredient, meal, request.getIngredientAmount());
-        return new MealContentDTO(mealContentRepository.save(content));
+        meal.getMealContents().add(content);
+        MealContent savedContent = mealContentRepository.save(content);
+
+        meal.recalculateNutrition();
+        return new MealContentDTO(savedContent);
     }
 
+    @Transactional
     public MealContentDTO updateContent(Long id, MealContentUpdateRequest request) {
         MealContent content = mealContentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Meal content not found"));
@@ -62,13 +69,21 @@ public class MealContentService {
 
         content.setIngredient(ingredient);
         content.setIngredientAmount(request.getIngredientAmount());
-        return new MealContentDTO(mealContentRepository.save(content));
+        MealContent savedContent = mealContentRepository.save(content);
+
+        content.getMeal().recalculateNutrition();
+        return new MealContentDTO(savedContent);
     }
 
+    @Transactional
     public void deleteMealContent(Long id) {
         MealContent content = mealContentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Meal content not found"));
 
+        Meal meal = content.getMeal();
+        meal.getMealContents().remove(content);
         mealContentRepository.delete(content);
+
+        meal.recalculateNutrition();
     }
 }
@@ -1,5 +1,6 @@
 package com.bd2_team6.biteright.service;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.MealContentDTO;
 import com.bd2_team6.biteright.controllers.DTO.MealDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.MealCreateRequest;
@@ -16,11 +17,13 @@ import com.bd2_team6.biteright.entities.user.UserRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class MealService {
@@ -38,44 +41,63 @@ public class MealService {
         this.ingredientRepository = ingredientRepository;
     }
 
-    public Set<MealDTO> findUserMealsByUsername(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        
-        return user.getMeals().stream()
+    public List<MealDTO> findUserMealsByUserId(Long userId) {
+        return mealRepository.findAllByUserIdOrderByMealDateAscMealIdAsc(userId).stream()
                 .map(MealDTO::new)
-                .collect(Collectors.toSet());
+                .toList();
     }
 
-    public Set<MealDTO> findMealsByDate(String username, LocalDate date) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        
+    public List<MealDTO> findMealsByDate(Long userId, LocalDate date) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay().minusNanos(1);
 
-        Set<Meal> meals = mealRepository.findAllByUserAndMealDateBetween(user, startOfDay, endOfDay);
+        List<Meal> meals = mealRepository.findAllByUserIdAndMealDateBetweenOrderByMealDateAscMealIdAsc(userId,
+                startOfDay, endOfDay);
 
         return meals.stream()
             .map(MealDTO::new)
-            .collect(Collectors.toSet());
+            .toList();
     }
 
-    public MealDTO findMealByName(String username, String mealName) {
-        Meal meal = mealRepository.findByUsernameAndName(username, mealName)
+    /**
+     * One page of the user's meals, newest first. The range is inclusive and open when a bound is missing,
+     * the meal type filter is optional. Only the page is loaded, never the user's whole meal collection.
+     */
+    public CursorPageDTO<MealDTO> findMealHistory(Long userId, LocalDate from, LocalDate to, Long mealTypeId,
+                                                  String cursor, int size) {
+        DateCursor.checkPageSize(size);
+        LocalDateTime start = DateCursor.rangeStart(from);
+        LocalDateTime end = DateCursor.rangeEnd(to);
+        DateCursor.checkRange(start, end);
+
+        DateCursor before = DateCursor.decode(cursor, end);
+        List<Long> ids = mealRepository.findHistoryIds(userId, start, end, mealTypeId, before.date, before.id,
+                PageRequest.of(0, size + 1));
+        if (ids.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        List<MealDTO> rows = mealRepository.findWithContentsByMealIdIn(ids).stream()
+                .map(MealDTO::new)
+                .toList();
+        return DateCursor.page(rows, size, MealDTO::getMealDate, MealDTO::getId);
+    }
+
+    public MealDTO findMealByName(Long userId, String mealName) {
+        Meal meal = mealRepository.findByUserIdAndName(userId, mealName)
                 .orElseThrow(() -> new IllegalArgumentException("Meal not found"));
         return new MealDTO(meal);
     }
 
-    public MealDTO findMealById(String username, Long mealId) {
-        Meal meal = mealRepository.findByUsernameAndMealId(username, mealId)
+    public MealDTO findMealById(Long userId, Long mealId) {
+        Meal meal = mealRepository.findByUserIdAndMealId(userId, mealId)
                 .orElseThrow(() -> new IllegalArgumentException("Meal not found"));
         return new MealDTO(meal);
     }
 
-    public Meal createMeal(String username, MealCreateRequest request) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    @Transactional
+    public Meal createMeal(Long userId, MealCreateRequest request) {
+        User user = userRepository.getReferenceById(userId);
 
         MealType mealType = mealTypeRepository.findById(request.getMealTypeId())
                 .orElseThrow(() -> new IllegalArgumentException("Meal type not found"));
@@ -92,9 +114,11 @@ public class MealService {
         newMeal.setName(request.getName());
         newMeal.setDescription(request.getDescription());
 
+        Map<Long, Ingredient> ingredients = IngredientLookup.findAll(ingredientRepository,
+                request.getContents().stream().map(MealContentDTO::getIngredientId).toList());
+
         for (MealContentDTO contentDTO : request.getContents()) {
-            Ingredient ingredient = ingredientRepository.findById(contentDTO.getIngredientId())
-                    .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
+            Ingredient ingredient = ingredients.get(contentDTO.getIngredientId());
 
             MealContent content = new MealContent();
 
@@ -105,15 +129,16 @@ public class MealService {
             newMeal.getMealContents().add(content);
         }
 
-        user.getMeals().add(newMeal);
+        newMeal.recalculateNutrition();
         return mealRepository.save(newMeal);
     }
 
-    public Meal updateMeal(String username, MealUpdateRequest request, Long mealId) {
+    @Transactional
+    public Meal updateMeal(Long userId, MealUpdateRequest request, Long mealId) {
         MealType mealType = mealTypeRepository.findById(request.getMealTypeId())
                 .orElseThrow(() -> new IllegalArgumentException("Meal type not found"));
 
-        Meal newMeal = mealRepository.findByUsernameAndMealId(username, mealId)
+        Meal newMeal = mealRepository.findByUserIdAndMealId(userId, mealId)
                 .orElseThrow(() -> new IllegalArgumentException("Meal not found"));
 
         newMeal.setMealType(mealType);
@@ -122,9 +147,11 @@ public class MealService {
 
         newMeal.getMealContents().clear();
 
+        Map<Long, Ingredient> ingredients = IngredientLookup.findAll(ingredientRepository,
+                request.getContents().stream().map(MealContentDTO::getIngredientId).toList());
+
         for (MealContentDTO contentDTO : request.getContents()) {
-            Ingredient ingredient = ingredientRepository.findById(contentDTO.getIngredientId())
-                    .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
+            Ingredient ingredient = ingredients.get(contentDTO.getIngredientId());
 
             MealContent content = new MealContent();
 
@@ -135,11 +162,12 @@ public class MealService {
             newMeal.getMealContents().add(content);
         }
 
+        newMeal.recalculateNutrition();
         return mealRepository.save(newMeal);
     }
 
-    public void deleteMeal(String username, Long mealId) {
-        Meal meal = mealRepository.findByUsernameAndMealId(username, mealId)
+    public void deleteMeal(Long userId, Long mealId) {
+        Meal meal = mealRepository.findByUserIdAndMealId(userId, mealId)
                 .orElseThrow(() -> new IllegalArgumentException("Meal not found"));
         mealRepository.delete(meal);
     }
@@ -0,0 +1,68 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Position after the last row of a search page ordered by (name, id), sent to clients as an opaque cursor.
+ * The next page continues with {@code name > :name OR (name = :name AND id > :id)}, which stays correct
+ * when rows are inserted or deleted between requests, unlike an offset.
+ */
+final class NameCursor {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 50;
+    private static final NameCursor START = new NameCursor("", 0L);
+
+    final String name;
+    final Long id;
+
+    private NameCursor(String name, Long id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    static NameCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(':');
+            return new NameCursor(position.substring(separator + 1), Long.parseLong(position.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    static String encode(String name, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void checkPageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    /// Pages are fetched with one extra row, its presence tells whether there is a next page
+    static <T> CursorPageDTO<T> page(List<T> rows, int size, Function<T, String> name, Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        return new CursorPageDTO<>(List.copyOf(items), encode(name.apply(last), id.apply(last)));
+    }
+
+    /// Escapes LIKE wildcards so user input is matched literally, queries use ESCAPE '!'
+    static String containsPattern(String text) {
+        String escaped = text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + escaped.toLowerCase(Locale.ROOT) + "%";
+    }
+}
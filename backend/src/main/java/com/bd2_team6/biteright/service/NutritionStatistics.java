@@ -0,0 +1,71 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.controllers.DTO.MetricStatsDTO;
+import com.bd2_team6.biteright.controllers.DTO.NutritionStatsDTO;
+import com.bd2_team6.biteright.entities.daily_summary.DailySummary;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Statistics of the six daily_summary columns over one period, only days with entries are counted.
+ * Mean and standard deviation are accumulated in a single pass over the rows (Welford),
+ * each column is then sorted once for min, max and the percentiles.
+ */
+class NutritionStatistics {
+    private static final List<Function<DailySummary, Integer>> COLUMNS = List.of(
+            DailySummary::getCalories, DailySummary::getProtein, DailySummary::getFat,
+            DailySummary::getCarbs, DailySummary::getWaterDrank, DailySummary::getCaloriesBurnt);
+
+    private NutritionStatistics() {
+    }
+
+    static NutritionStatsDTO of(LocalDate periodStart, LocalDate periodEnd, List<DailySummary> summaries) {
+        int days = summaries.size();
+        int columns = COLUMNS.size();
+        int[][] values = new int[columns][days];
+        double[] mean = new double[columns];
+        double[] squares = new double[columns];
+
+        for (int row = 0; row < days; row++) {
+            DailySummary summary = summaries.get(row);
+            for (int column = 0; column < columns; column++) {
+                Integer value = COLUMNS.get(column).apply(summary);
+                int current = value != null ? value : 0;
+                values[column][row] = current;
+
+                double delta = current - mean[column];
+                mean[column] += delta / (row + 1);
+                squares[column] += delta * (current - mean[column]);
+            }
+        }
+
+        MetricStatsDTO[] metrics = new MetricStatsDTO[columns];
+        for (int column = 0; column < columns; column++) {
+            metrics[column] = metric(values[column], mean[column], squares[column]);
+        }
+
+        return new NutritionStatsDTO(periodStart, periodEnd, days,
+                metrics[0], metrics[1], metrics[2], metrics[3], metrics[4], metrics[5]);
+    }
+
+    private static MetricStatsDTO metric(int[] values, double mean, double squares) {
+        if (values.length == 0) {
+            return new MetricStatsDTO(0.0, 0, 0, 0.0, 0.0, 0.0);
+        }
+
+        Arrays.sort(values);
+        return new MetricStatsDTO(mean, values[0], values[values.length - 1],
+                Math.sqrt(squares / values.length), percentile(values, 0.5), percentile(values, 0.9));
+    }
+
+    // linear interpolation between the two closest ranks
+    private static double percentile(int[] sorted, double fraction) {
+        double rank = fraction * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+}
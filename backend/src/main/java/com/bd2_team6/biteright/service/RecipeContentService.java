@@ -12,6 +12,7 @@ import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -42,6 +43,7 @@ public class RecipeContentService {
                 .collect(Collectors.toSet());
     }
 
+    @Transactional
     public RecipeContentDTO addContentToRecipe(RecipeContentCreateRequest request) {
         Recipe recipe = recipeRepository.findById(request.getRecipeId())
                 .orElseThrow(() -> new IllegalArgumentException("Recipe not found"));
@@ -50,9 +52,14 @@ public class RecipeContentService {
                 .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
 
         RecipeContent content = new RecipeContent(recipe, ingredient, request.getIngredientAmount());
-        return new RecipeContentDTO(recipeContentRepository.save(content));
+        recipe.getRecipeContents().add(content);
+        RecipeContent savedContent = recipeContentRepository.save(content);
+
+        recipe.recalculateMacros();
+        return new RecipeContentDTO(savedContent);
     }
 
+    @Transactional
     public RecipeContentDTO updateContent(Long id, RecipeContentUpdateRequest request) {
         RecipeContent content = recipeContentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Recipe content not found"));
@@ -62,13 +69,22 @@ public class RecipeContentService {
 
         content.setIngredient(ingredient);
         content.setIngredientAmount(request.getIngredientAmount());
-        return new RecipeContentDTO(recipeContentRepository.save(content));
+        RecipeContent savedContent = recipeContentRepository.save(content);
+
+        content.getRecipe().recalculateMacros();
+        return new RecipeContentDTO(savedContent);
     }
 
+    @Transactional
     public void deleteRecipeContent(Long id) {
         RecipeContent content = recipeContentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Recipe content not found"));
+
+        Recipe recipe = content.getRecipe();
+        recipe.getRecipeContents().remove(content);
         recipeContentRepository.delete(content);
+
+        recipe.recalculateMacros();
     }
 }
 
@@ -1,8 +1,10 @@
 package com.bd2_team6.biteright.service;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.DTO.RecipeContentDTO;
 import com.bd2_team6.biteright.controllers.DTO.RecipeDTO;
 import com.bd2_team6.biteright.controllers.DTO.RecipeMacrosDTO;
+import com.bd2_team6.biteright.controllers.DTO.RecipeSummaryDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.RecipeCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.RecipeUpdateRequest;
 import com.bd2_team6.biteright.entities.ingredient.Ingredient;
@@ -13,10 +15,12 @@ import com.bd2_team6.biteright.entities.recipe_content.RecipeContent;
 
 import lombok.RequiredArgsConstructor;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Map;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,35 +29,31 @@ public class RecipeService {
     private final IngredientRepository ingredientRepository;
 
     public RecipeMacrosDTO calculateMacros(Long recipeId) {
+        // the totals are stored on the recipe whenever its contents or ingredients change
         Recipe recipe = recipeRepository.findById(recipeId)
                 .orElseThrow(() -> new IllegalArgumentException("Recipe not found"));
 
-        double totalCalories = 0;
-        double totalProtein = 0;
-        double totalFat = 0;
-        double totalCarbs = 0;
-
-        for (RecipeContent content : recipe.getRecipeContents()) {
-            Ingredient ingredient = content.getIngredient();
-            double amount = content.getIngredientAmount();
-            double portion = ingredient.getPortionSize();
-
-            if (portion > 0) {
-                totalCalories += (amount / portion) * (ingredient.getCalories() != null ? ingredient.getCalories() : 0);
-                totalProtein += (amount / portion) * (ingredient.getProtein() != null ? ingredient.getProtein() : 0);
-                totalFat += (amount / portion) * (ingredient.getFat() != null ? ingredient.getFat() : 0);
-                totalCarbs += (amount / portion) * (ingredient.getCarbs() != null ? ingredient.getCarbs() : 0);
-            }
-        }
-
-        return new RecipeMacrosDTO(totalCalories, totalProtein, totalFat, totalCarbs);
+        return new RecipeMacrosDTO(recipe.getCalories(), recipe.getProtein(), recipe.getFat(), recipe.getCarbs());
     }
 
-    public Set<RecipeDTO> findRecipes(String name) {
-        Set<Recipe> recipes = recipeRepository.findByNameContainingIgnoreCase(name);
-        return recipes.stream()
+    public List<RecipeDTO> findRecipes(String name) {
+        List<Long> ids = recipeRepository.findIdsByNameLike(NameCursor.containsPattern(name),
+                PageRequest.of(0, NameCursor.MAX_PAGE_SIZE));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return recipeRepository.findWithContentsByRecipeIdIn(ids).stream()
                     .map(RecipeDTO::new)
-                    .collect(Collectors.toSet());
+                    .toList();
+    }
+
+    /// Recipes whose name contains the query ordered by name, without their contents
+    public CursorPageDTO<RecipeSummaryDTO> searchRecipes(String name, String cursor, int size) {
+        NameCursor.checkPageSize(size);
+        NameCursor after = NameCursor.decode(cursor);
+        List<RecipeSummaryDTO> rows = recipeRepository.searchSummaries(NameCursor.containsPattern(name),
+                after.name, after.id, PageRequest.of(0, size + 1));
+        return NameCursor.page(rows, size, RecipeSummaryDTO::getName, RecipeSummaryDTO::getRecipeId);
     }
 
 
@@ -64,20 +64,23 @@ public class RecipeService {
     }
 
     public RecipeDTO findRecipeById(Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
+        Recipe recipe = recipeRepository.findWithContentsByRecipeId(recipeId)
                         .orElseThrow(() -> new IllegalArgumentException("Recipe not found"));
         return new RecipeDTO(recipe);
     }
 
+    @Transactional
     public Recipe createRecipe(RecipeCreateRequest request) {
         Recipe recipe = new Recipe();
         recipe.setName(request.getName());
         recipe.setDescription(request.getDescription());
         recipe.setImageUrl(request.getImageUrl());
 
+        Map<Long, Ingredient> ingredients = IngredientLookup.findAll(ingredientRepository,
+                request.getContents().stream().map(RecipeContentDTO::getIngredientId).toList());
+
         for (RecipeContentDTO dto : request.getContents()) {
-            Ingredient ingredient = ingredientRepository.findById(dto.getIngredientId())
-                    .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
+            Ingredient ingredient = ingredients.get(dto.getIngredientId());
 
             RecipeContent content = new RecipeContent();
             content.setIngredient(ingredient);
@@ -87,11 +90,13 @@ public class RecipeService {
             recipe.getRecipeContents().add(content);
         }
 
+        recipe.recalculateMacros();
         return recipeRepository.save(recipe);
     }
 
+    @Transactional
     public Recipe updateRecipe(RecipeUpdateRequest request, Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
+        Recipe recipe = recipeRepository.findWithContentsByRecipeId(recipeId)
                 .orElseThrow(() -> new IllegalArgumentException("Recipe not found"));
 
         recipe.setName(request.getName());
@@ -100,9 +105,11 @@ public class RecipeService {
 
         recipe.getRecipeContents().clear();
 
+        Map<Long, Ingredient> ingredients = IngredientLookup.findAll(ingredientRepository,
+                request.getContents().stream().map(RecipeContentDTO::getIngredientId).toList());
+
         for (RecipeContentDTO dto : request.getContents()) {
-            Ingredient ingredient = ingredientRepository.findById(dto.getIngredientId())
-                    .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
+            Ingredient ingredient = ingredients.get(dto.getIngredientId());
 
             RecipeContent content = new RecipeContent();
             content.setIngredient(ingredient);
@@ -112,6 +119,7 @@ public class RecipeService {
             recipe.getRecipeContents().add(content);
         }
 
+        recipe.recalculateMacros();
         return recipeRepository.save(recipe);
     }
 
@@ -0,0 +1,57 @@
+package com.bd2_team6.biteright.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/// Calendar periods a series is aggregated over, from the finest; weeks start on Monday
+enum SeriesBucket {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS),
+    YEAR(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    SeriesBucket(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    static SeriesBucket parse(String name) {
+        for (SeriesBucket bucket : values()) {
+            if (bucket.name().equalsIgnoreCase(name)) {
+                return bucket;
+            }
+        }
+        throw new IllegalArgumentException("Unknown bucket: " + name + ", use day, week, month or year.");
+    }
+
+    /// The finest bucket from {@code finest} on that covers first to last in at most maxPoints buckets
+    static SeriesBucket fitting(SeriesBucket finest, LocalDate first, LocalDate last, int maxPoints) {
+        for (SeriesBucket bucket : values()) {
+            if (bucket.compareTo(finest) >= 0 && bucket.count(first, last) <= maxPoints) {
+                return bucket;
+            }
+        }
+        throw new IllegalArgumentException("The measurements span more than " + maxPoints + " years.");
+    }
+
+    LocalDate start(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    long count(LocalDate first, LocalDate last) {
+        return unit.between(start(first), start(last)) + 1;
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
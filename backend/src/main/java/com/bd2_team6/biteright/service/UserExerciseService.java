@@ -1,5 +1,6 @@
 package com.bd2_team6.biteright.service;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.UserExerciseCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.UserExerciseUpdateRequest;
 import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfo;
@@ -8,6 +9,7 @@ import com.bd2_team6.biteright.entities.user.User;
 import com.bd2_team6.biteright.entities.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +20,7 @@ import jakarta.transaction.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,18 +30,16 @@ public class UserExerciseService {
     private final UserRepository userRepository;
     private final ExerciseInfoRepository exerciseInfoRepository;
     private final UserExerciseRepository userExerciseRepository;
+    private final HistoryCountCache historyCountCache;
     private static final Logger logger = LoggerFactory.getLogger(UserExerciseService.class);
 
     @Autowired
     private EntityManager entityManager;
 
     @Transactional
-    public UserExercise createUserExercise(String username, UserExerciseCreateRequest request) {
-        logger.info("Creating exercise for user: {}, exerciseInfoId: {}", username, request.getExerciseInfoId());
-        User user = userRepository.findByUsername(username).orElseThrow(() -> {
-            logger.error("User not found: {}", username);
-            return new IllegalArgumentException("User not found");
-        });
+    public UserExercise createUserExercise(Long userId, UserExerciseCreateRequest request) {
+        logger.info("Creating exercise for user: {}, exerciseInfoId: {}", userId, request.getExerciseInfoId());
+        User user = userRepository.getReferenceById(userId);
         ExerciseInfo exerciseInfo = exerciseInfoRepository.findById(request.getExerciseInfoId()).orElseThrow(() -> {
             logger.error("Exercise info not found: {}", request.getExerciseInfoId());
             return new IllegalArgumentException("Exercise info not found");
@@ -48,45 +49,52 @@ public class UserExerciseService {
 
         userExerciseRepository.flush();
         entityManager.refresh(savedUserExercise);
+        historyCountCache.invalidate(HistoryCountCache.History.USER_EXERCISE, userId);
 
-        logger.info("Successfully created exercise: {} for user: {}", savedUserExercise.getUserExerciseId(), username);
+        logger.info("Successfully created exercise: {} for user: {}", savedUserExercise.getUserExerciseId(), userId);
         return savedUserExercise;
     }
 
-    public Page<UserExercise> findUserExercisesByUsername(String username, Pageable pageable) {
-        if (!userRepository.existsByUsername(username)) {
-            logger.error("User not found for search: {}", username);
-            throw new IllegalArgumentException("User not found");
-        }
-        return userExerciseRepository.findByUserUsername(username, pageable);
+    public Page<UserExercise> findUserExercisesByUserId(Long userId, Pageable pageable) {
+        return userExerciseRepository.findByUserId(userId, pageable);
     }
 
-    public Page<UserExercise> findUserExercisesByDate(String username, LocalDate date, Pageable pageable) {
-        if (!userRepository.existsByUsername(username)) {
-            logger.error("User not found for date search: {}", username);
-            throw new IllegalArgumentException("User not found");
+    // newest first, the total is counted only when asked for and then cached for the range
+    public CursorPageDTO<UserExercise> findUserExerciseHistory(Long userId, LocalDate from, LocalDate to, String cursor,
+            int size, boolean withTotal) {
+        DateCursor.checkPageSize(size);
+        LocalDateTime start = DateCursor.rangeStart(from);
+        LocalDateTime end = DateCursor.rangeEnd(to);
+        DateCursor.checkRange(start, end);
+
+        DateCursor before = DateCursor.decode(cursor, end);
+        List<UserExercise> rows = userExerciseRepository.findHistory(userId, start, end, before.date, before.id,
+                PageRequest.of(0, size + 1));
+        CursorPageDTO<UserExercise> page = DateCursor.page(rows, size, UserExercise::getActivityDate, UserExercise::getUserExerciseId);
+        if (withTotal) {
+            page.setTotal(historyCountCache.count(HistoryCountCache.History.USER_EXERCISE, userId, start, end,
+                    () -> userExerciseRepository.countHistory(userId, start, end)));
         }
+        return page;
+    }
 
+    public Page<UserExercise> findUserExercisesByDate(Long userId, LocalDate date, Pageable pageable) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay().minusNanos(1);
 
-        return userExerciseRepository.findByUserUsernameAndActivityDateBetween(username, startOfDay, endOfDay, pageable);
+        return userExerciseRepository.findByUserIdAndActivityDateBetween(userId, startOfDay, endOfDay, pageable);
     }
 
-    public UserExercise findLastExerciseByUsername(String username) {
-        return userExerciseRepository.findTopByUserUsernameOrderByActivityDateDesc(username)
+    public UserExercise findLastExerciseByUserId(Long userId) {
+        return userExerciseRepository.findTopByUserIdOrderByActivityDateDesc(userId)
                 .orElseThrow(() -> {
-                    logger.warn("No exercise history for user: {}", username);
-                    return new IllegalArgumentException("No user's exercise records found for user: " + username);
+                    logger.warn("No exercise history for user: {}", userId);
+                    return new IllegalArgumentException("No user's exercise records found for user: " + userId);
                 });
     }
 
 
-    public UserExercise findExerciseById(String username, Long userExerciseId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
+    public UserExercise findExerciseById(Long userId, Long userExerciseId) {
         UserExercise userExercise = userExerciseRepository.findById(userExerciseId)
                 .orElseThrow(() -> new IllegalArgumentException("User's exercise with provided id not found"));
 
@@ -98,16 +106,9 @@ public class UserExerciseService {
         }
     }
 
-    public UserExercise updateUserExerciseById(String username, Long userExerciseId,
+    public UserExercise updateUserExerciseById(Long userId, Long userExerciseId,
                                                     UserExerciseUpdateRequest request) {
-        logger.info("Updating exercise: {} for user: {}", userExerciseId, username);
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    logger.error("User not found for update: {}", username);
-                    return new IllegalArgumentException("User not found");
-                });
-
-        Long userId = user.getId();
+        logger.info("Updating exercise: {} for user: {}", userExerciseId, userId);
         UserExercise userExercise = userExerciseRepository.findById(userExerciseId)
                 .orElseThrow(() -> {
                     logger.error("Exercise not found: {}", userExerciseId);
@@ -123,34 +124,34 @@ public class UserExerciseService {
             userExercise.setActivityDate(request.getActivityDate());
             userExercise.setDuration(request.getDuration());
             UserExercise updated = userExerciseRepository.save(userExercise);
+            historyCountCache.invalidate(HistoryCountCache.History.USER_EXERCISE, userId);
             logger.info("Successfully updated exercise: {}", userExerciseId);
             return updated;
         }
         else {
-            logger.error("User: {} attempted to update unauthorized exercise: {}", username, userExerciseId);
+            logger.error("User: {} attempted to update unauthorized exercise: {}", userId, userExerciseId);
             throw new IllegalArgumentException("User's exercise with provided id does not belong to user");
         }
     }
 
-    public void deleteUserExerciseById(String username, Long userExerciseId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
+    public void deleteUserExerciseById(Long userId, Long userExerciseId) {
         UserExercise userExercise = userExerciseRepository.findById(userExerciseId)
                 .orElseThrow(() -> new IllegalArgumentException("User's exercise with provided id not found"));
 
         if (userExercise.getUser().getId().equals(userId)) {
             userExerciseRepository.delete(userExercise);
+            historyCountCache.invalidate(HistoryCountCache.History.USER_EXERCISE, userId);
         }
         else {
             throw new IllegalArgumentException("User's exercise with provided id does not belong to user");
         }
     }
 
-    public UserExerciseService(UserRepository userRepository, ExerciseInfoRepository exerciseInfoRepository, UserExerciseRepository userExerciseRepository) {
+    public UserExerciseService(UserRepository userRepository, ExerciseInfoRepository exerciseInfoRepository, UserExerciseRepository userExerciseRepository,
+                               HistoryCountCache historyCountCache) {
         this.userRepository = userRepository;
         this.exerciseInfoRepository = exerciseInfoRepository;
         this.userExerciseRepository = userExerciseRepository;
+        this.historyCountCache = historyCountCache;
     }
 }
@@ -1,5 +1,6 @@
 package com.bd2_team6.biteright.service;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.WaterIntakeCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.WaterIntakeUpdateRequest;
 import com.bd2_team6.biteright.entities.user.User;
@@ -7,54 +8,66 @@ import com.bd2_team6.biteright.entities.user.UserRepository;
 import com.bd2_team6.biteright.entities.water_intake.WaterIntake;
 import com.bd2_team6.biteright.entities.water_intake.WaterIntakeRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class WaterIntakeService {
 
     private final UserRepository userRepository;
     private final WaterIntakeRepository waterIntakeRepository;
+    private final HistoryCountCache historyCountCache;
 
-    public WaterIntake createWaterIntake(String username, WaterIntakeCreateRequest request) {
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new IllegalArgumentException("User not found"));
+    public WaterIntake createWaterIntake(Long userId, WaterIntakeCreateRequest request) {
+        User user = userRepository.getReferenceById(userId);
         WaterIntake waterIntake = new WaterIntake(request.getIntakeDate(), user, request.getWaterAmount());
 
         waterIntakeRepository.save(waterIntake);
+        historyCountCache.invalidate(HistoryCountCache.History.WATER_INTAKE, userId);
         return waterIntake;
     }
 
-    public Page<WaterIntake> findWaterIntakesByUsername(String username, Pageable pageable) {
-        if (!userRepository.existsByUsername(username)) {
-            throw new IllegalArgumentException("User not found");
-        }
-        return waterIntakeRepository.findByUserUsername(username, pageable);
+    public Page<WaterIntake> findWaterIntakesByUserId(Long userId, Pageable pageable) {
+        return waterIntakeRepository.findByUserId(userId, pageable);
     }
 
-    public Page<WaterIntake> findWaterIntakesByDate(String username, LocalDate date, Pageable pageable) {
-        if (!userRepository.existsByUsername(username)) {
-            throw new IllegalArgumentException("User not found");
+    // newest first, the total is counted only when asked for and then cached for the range
+    public CursorPageDTO<WaterIntake> findWaterIntakeHistory(Long userId, LocalDate from, LocalDate to, String cursor,
+            int size, boolean withTotal) {
+        DateCursor.checkPageSize(size);
+        LocalDateTime start = DateCursor.rangeStart(from);
+        LocalDateTime end = DateCursor.rangeEnd(to);
+        DateCursor.checkRange(start, end);
+
+        DateCursor before = DateCursor.decode(cursor, end);
+        List<WaterIntake> rows = waterIntakeRepository.findHistory(userId, start, end, before.date, before.id,
+                PageRequest.of(0, size + 1));
+        CursorPageDTO<WaterIntake> page = DateCursor.page(rows, size, WaterIntake::getIntakeDate, WaterIntake::getWaterIntakeId);
+        if (withTotal) {
+            page.setTotal(historyCountCache.count(HistoryCountCache.History.WATER_INTAKE, userId, start, end,
+                    () -> waterIntakeRepository.countHistory(userId, start, end)));
         }
+        return page;
+    }
 
+    public Page<WaterIntake> findWaterIntakesByDate(Long userId, LocalDate date, Pageable pageable) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay().minusNanos(1);
 
-        return waterIntakeRepository.findByUserUsernameAndIntakeDateBetween(username, startOfDay, endOfDay, pageable);
+        return waterIntakeRepository.findByUserIdAndIntakeDateBetween(userId, startOfDay, endOfDay, pageable);
     }
 
-    public WaterIntake findLastWaterIntakeByUsername(String username) {
-        return waterIntakeRepository.findTopByUserUsernameOrderByIntakeDateDesc(username)
-                .orElseThrow(() -> new IllegalArgumentException("No water intake records found for user: " + username));
+    public WaterIntake findLastWaterIntakeByUserId(Long userId) {
+        return waterIntakeRepository.findTopByUserIdOrderByIntakeDateDesc(userId)
+                .orElseThrow(() -> new IllegalArgumentException("No water intake records found for user: " + userId));
     }
 
 
-    public WaterIntake findWaterIntakeById(String username, Long waterIntakeId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
+    public WaterIntake findWaterIntakeById(Long userId, Long waterIntakeId) {
         WaterIntake waterIntake = waterIntakeRepository.findById(waterIntakeId)
                 .orElseThrow(() -> new IllegalArgumentException("Water intake with provided id not found"));
 
@@ -66,12 +79,8 @@ public class WaterIntakeService {
         }
     }
 
-    public WaterIntake updateWaterIntakeById(String username, Long waterIntakeId,
+    public WaterIntake updateWaterIntakeById(Long userId, Long waterIntakeId,
                                              WaterIntakeUpdateRequest request) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
         WaterIntake waterIntake = waterIntakeRepository.findById(waterIntakeId)
                 .orElseThrow(() -> new IllegalArgumentException("Water intake with provided id not found"));
 
@@ -85,24 +94,23 @@ public class WaterIntakeService {
         }
     }
 
-    public void deleteWaterIntakeById(String username, Long waterIntakeId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
+    public void deleteWaterIntakeById(Long userId, Long waterIntakeId) {
         WaterIntake waterIntake = waterIntakeRepository.findById(waterIntakeId)
                 .orElseThrow(() -> new IllegalArgumentException("Water intake with provided id not found"));
 
         if (waterIntake.getUser().getId().equals(userId)) {
             waterIntakeRepository.delete(waterIntake);
+            historyCountCache.invalidate(HistoryCountCache.History.WATER_INTAKE, userId);
         }
         else {
             throw new IllegalArgumentException("Water intake with provided id does not belong to user");
         }
     }
 
-    public WaterIntakeService(UserRepository userRepository, WaterIntakeRepository waterIntakeRepository) {
+    public WaterIntakeService(UserRepository userRepository, WaterIntakeRepository waterIntakeRepository,
+                              HistoryCountCache historyCountCache) {
         this.userRepository = userRepository;
         this.waterIntakeRepository = waterIntakeRepository;
+        this.historyCountCache = historyCountCache;
     }
 }
@@ -1,19 +1,31 @@
 package com.bd2_team6.biteright.service;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+import com.bd2_team6.biteright.controllers.DTO.WeightSeriesDTO;
 import com.bd2_team6.biteright.controllers.requests.create_requests.WeightHistoryCreateRequest;
 import com.bd2_team6.biteright.controllers.requests.update_requests.WeightHistoryUpdateRequest;
 import com.bd2_team6.biteright.entities.user.User;
 import com.bd2_team6.biteright.entities.user_info.UserInfoRepository;
 import com.bd2_team6.biteright.entities.user.UserRepository;
 import com.bd2_team6.biteright.entities.weight_history.WeightHistory;
+import com.bd2_team6.biteright.entities.weight_history.WeightHistoryBounds;
 import com.bd2_team6.biteright.entities.weight_history.WeightHistoryRepository;
+import com.bd2_team6.biteright.entities.weight_history.WeightSample;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 
 @Service
@@ -23,45 +35,104 @@ public class WeightHistoryService {
     private final UserRepository userRepository;
     private final UserInfoRepository userInfoRepository;
     private final WeightHistoryRepository weightHistoryRepository;
-
-    public WeightHistory createWeightHistory(String username, WeightHistoryCreateRequest request) {
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new IllegalArgumentException("User not found"));
+    private final HistoryCountCache historyCountCache;
+    private final EntityManager entityManager;
+
+    static final int MAX_SERIES_POINTS = 1000;
+    // oldest first along the (user_id, measurement_date) index, without loading the entities
+    private static final String SERIES_QUERY = """
+            SELECT new com.bd2_team6.biteright.entities.weight_history.WeightSample(w.measurementDate, w.weight)
+            FROM WeightHistory w
+            WHERE w.user.id = :userId AND w.measurementDate >= :start AND w.measurementDate < :end
+            ORDER BY w.measurementDate, w.weightId
+            """;
+
+    public WeightHistory createWeightHistory(Long userId, WeightHistoryCreateRequest request) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
         WeightHistory weightHistory = new WeightHistory(user, request.getMeasurementDate(), request.getWeight());
         user.getUserInfo().setWeight(request.getWeight());
 
         userInfoRepository.save(user.getUserInfo());
         weightHistoryRepository.save(weightHistory);
+        historyCountCache.invalidate(HistoryCountCache.History.WEIGHT_HISTORY, userId);
         return weightHistory;
     }
 
-    public Page<WeightHistory> findWeightHistoriesByUsername(String username, Pageable pageable) {
-        if (!userRepository.existsByUsername(username)) {
-            throw new IllegalArgumentException("User not found");
+    public Page<WeightHistory> findWeightHistoriesByUserId(Long userId, Pageable pageable) {
+        return weightHistoryRepository.findByUserId(userId, pageable);
+    }
+
+    // newest first, the total is counted only when asked for and then cached for the range
+    public CursorPageDTO<WeightHistory> findWeightHistory(Long userId, LocalDate from, LocalDate to, String cursor,
+            int size, boolean withTotal) {
+        DateCursor.checkPageSize(size);
+        LocalDateTime start = DateCursor.rangeStart(from);
+        LocalDateTime end = DateCursor.rangeEnd(to);
+        DateCursor.checkRange(start, end);
+
+        DateCursor before = DateCursor.decode(cursor, end);
+        List<WeightHistory> rows = weightHistoryRepository.findHistory(userId, start, end, before.date, before.id,
+                PageRequest.of(0, size + 1));
+        CursorPageDTO<WeightHistory> page = DateCursor.page(rows, size, WeightHistory::getMeasurementDate, WeightHistory::getWeightId);
+        if (withTotal) {
+            page.setTotal(historyCountCache.count(HistoryCountCache.History.WEIGHT_HISTORY, userId, start, end,
+                    () -> weightHistoryRepository.countHistory(userId, start, end)));
         }
-        return weightHistoryRepository.findByUserUsername(username, pageable);
+        return page;
     }
 
-    public Page<WeightHistory> findWeightHistoriesByDate(String username, LocalDate date, Pageable pageable) {
-        if (!userRepository.existsByUsername(username)) {
-            throw new IllegalArgumentException("User not found");
+    /**
+     * Mean, min and max weight per bucket, in one pass over the measurements of the range. The bucket is widened
+     * from the requested one until the measured range fits in maxPoints.
+     */
+    @Transactional(readOnly = true)
+    public WeightSeriesDTO findWeightSeries(Long userId, LocalDate from, LocalDate to, String bucket, int maxPoints) {
+        if (maxPoints <= 0 || maxPoints > MAX_SERIES_POINTS) {
+            throw new IllegalArgumentException("maxPoints must be between 1 and " + MAX_SERIES_POINTS + ".");
         }
+        SeriesBucket finest = SeriesBucket.parse(bucket);
+        LocalDateTime start = DateCursor.rangeStart(from);
+        LocalDateTime end = DateCursor.rangeEnd(to);
+        DateCursor.checkRange(start, end);
+
+        WeightHistoryBounds bounds = weightHistoryRepository.findBounds(userId, start, end);
+        if (bounds.first() == null) {
+            return new WeightSeriesDTO(finest.label(), List.of());
+        }
+        SeriesBucket chosen = SeriesBucket.fitting(finest, bounds.first().toLocalDate(), bounds.last().toLocalDate(),
+                maxPoints);
+
+        WeightSeriesBuilder series = new WeightSeriesBuilder(chosen);
+        try (Stream<WeightSample> samples = entityManager.createQuery(SERIES_QUERY, WeightSample.class)
+                .setParameter("userId", userId)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamingFetchSize())
+                .getResultStream()) {
+            samples.forEach(sample -> series.add(sample.measurementDate(), sample.weight()));
+        }
+        return new WeightSeriesDTO(chosen.label(), series.build());
+    }
 
+    // Connector/J only streams rows with this fetch size and buffers the whole result otherwise, H2 rejects it
+    private int streamingFetchSize() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect ? Integer.MIN_VALUE : 1000;
+    }
+
+    public Page<WeightHistory> findWeightHistoriesByDate(Long userId, LocalDate date, Pageable pageable) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay().minusNanos(1);
 
-        return weightHistoryRepository.findByUserUsernameAndMeasurementDateBetween(username, startOfDay, endOfDay, pageable);
+        return weightHistoryRepository.findByUserIdAndMeasurementDateBetween(userId, startOfDay, endOfDay, pageable);
     }
 
-    public WeightHistory findLastWeightHistoryByUsername(String username) {
-        return weightHistoryRepository.findTopByUserUsernameOrderByMeasurementDateDesc(username)
-                .orElseThrow(() -> new IllegalArgumentException("No weight history records found for user: " + username));
+    public WeightHistory findLastWeightHistoryByUserId(Long userId) {
+        return weightHistoryRepository.findTopByUserIdOrderByMeasurementDateDesc(userId)
+                .orElseThrow(() -> new IllegalArgumentException("No weight history records found for user: " + userId));
     }
 
-    public WeightHistory findWeightHistoryById(String username, Long weightHistoryId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
+    public WeightHistory findWeightHistoryById(Long userId, Long weightHistoryId) {
         WeightHistory weightHistory = weightHistoryRepository.findById(weightHistoryId)
                 .orElseThrow(() -> new IllegalArgumentException("Weight history with provided id not found"));
 
@@ -73,12 +144,8 @@ public class WeightHistoryService {
         }
     }
 
-    public WeightHistory updateWeightHistoryById(String username, Long weightHistoryId,
+    public WeightHistory updateWeightHistoryById(Long userId, Long weightHistoryId,
             WeightHistoryUpdateRequest request) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
         WeightHistory weightHistory = weightHistoryRepository.findById(weightHistoryId)
                 .orElseThrow(() -> new IllegalArgumentException("Weight history with provided id not found"));
 
@@ -86,6 +153,7 @@ public class WeightHistoryService {
             weightHistory.setMeasurementDate(request.getMeasurementDate());
             weightHistory.setWeight(request.getWeight());
             weightHistoryRepository.save(weightHistory);
+            historyCountCache.invalidate(HistoryCountCache.History.WEIGHT_HISTORY, userId);
             return weightHistory;
         }
         else {
@@ -93,16 +161,13 @@ public class WeightHistoryService {
         }
     }
 
-    public void deleteWeightHistoryById(String username, Long weightHistoryId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long userId = user.getId();
+    public void deleteWeightHistoryById(Long userId, Long weightHistoryId) {
         WeightHistory weightHistory = weightHistoryRepository.findById(weightHistoryId)
                 .orElseThrow(() -> new IllegalArgumentException("Weight history with provided id not found"));
 
         if (weightHistory.getUser().getId().equals(userId)) {
             weightHistoryRepository.delete(weightHistory);
+            historyCountCache.invalidate(HistoryCountCache.History.WEIGHT_HISTORY, userId);
         }
         else {
             throw new IllegalArgumentException("Weight history with provided id does not belong to user");
@@ -0,0 +1,57 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.controllers.DTO.WeightSeriesPointDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds measurements, added oldest first, into the mean, min and max of each bucket. Only the bucket being filled
+ * is open, so memory grows with the number of points rather than with the number of measurements.
+ */
+final class WeightSeriesBuilder {
+    private final SeriesBucket bucket;
+    private final List<WeightSeriesPointDTO> points = new ArrayList<>();
+
+    private LocalDate open;
+    private double sum;
+    private float min;
+    private float max;
+    private int count;
+
+    WeightSeriesBuilder(SeriesBucket bucket) {
+        this.bucket = bucket;
+    }
+
+    void add(LocalDateTime measurementDate, Float weight) {
+        if (weight == null) {
+            return;
+        }
+        LocalDate start = bucket.start(measurementDate.toLocalDate());
+        if (!start.equals(open)) {
+            close();
+            open = start;
+            min = weight;
+            max = weight;
+        }
+        sum += weight;
+        min = Math.min(min, weight);
+        max = Math.max(max, weight);
+        count++;
+    }
+
+    List<WeightSeriesPointDTO> build() {
+        close();
+        return points;
+    }
+
+    private void close() {
+        if (count > 0) {
+            points.add(new WeightSeriesPointDTO(open, (float) (sum / count), min, max, count));
+        }
+        sum = 0;
+        count = 0;
+    }
+}
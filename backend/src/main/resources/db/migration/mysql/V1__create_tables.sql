@@ -1,10 +1,7 @@
 -- --> mysql database summary:
--- created tables               18
--- created indexes               2
--- created views                 3
-drop database mysql_database;
-create database if not exists mysql_database;
-use mysql_database;
+-- created tables               21
+-- created indexes               5
+-- created views                 2
 -- ------------------------------------->        tables, primary keys, indexes & unique constraints    <---------------------------------------
 create table address (
         address_id                  integer unsigned not null auto_increment primary key,
@@ -26,6 +23,7 @@ create table app_user (
 );
 
 alter table app_user add constraint user_username_un unique ( username );
+alter table app_user add constraint user_email_un unique ( email );
 
 create table daily_limits (
         daily_limit_id              integer unsigned not null auto_increment primary key,
@@ -42,6 +40,42 @@ create unique index daily_limits__idx on
                 user_id
         asc );
 
+-- daily rollup of meals, water intakes and exercises, maintained by triggers (V2__create_triggers_and_procedures.sql)
+create table daily_summary (
+        user_id                     integer unsigned not null,
+        summary_date                date not null,
+        calories                    integer not null default 0,
+        protein                     integer not null default 0,
+        fat                         integer not null default 0,
+        carbs                       integer not null default 0,
+        water_drank                 integer not null default 0,
+        calories_burnt              integer not null default 0,
+        entry_count                 integer not null default 0,
+        primary key ( user_id, summary_date )
+);
+
+-- emails waiting to be sent by the backend, written in the same transaction as the change that triggers them
+create table email_outbox (
+        email_id                    bigint unsigned not null auto_increment primary key,
+        recipient                   varchar(255) not null,
+        subject                     varchar(255) not null,
+        body                        varchar(1024) not null,
+        code                        varchar(255),
+        link                        varchar(512),
+        status                      varchar(16) not null,
+        attempts                    integer not null default 0,
+        next_attempt_at             datetime not null,
+        created_at                  datetime not null,
+        sent_at                     datetime,
+        last_error                  varchar(512)
+);
+
+create index email_outbox_due_idx on
+        email_outbox (
+                status asc,
+                next_attempt_at asc
+        );
+
 create table exercise_info (
         exercise_id                 integer unsigned not null auto_increment primary key,
         metabolic_equivalent        decimal(4, 1) not null,
@@ -50,6 +84,12 @@ create table exercise_info (
 alter table exercise_info add constraint exercise_name_un unique ( name );
 alter table exercise_info add constraint not_negative_met CHECK(metabolic_equivalent >=0);
 
+-- blocks of meal_content and recipe_content ids handed out to the backend, which lets it batch their inserts
+create table id_generator (
+        sequence_name               varchar(64) not null primary key,
+        next_val                    bigint not null
+);
+
 create table ingredient (
         ingredient_id               integer unsigned not null auto_increment primary key,
         name                        varchar(64) not null, -- UNIQUE
@@ -81,7 +121,11 @@ create table meal (
         meal_type_id                integer unsigned not null,
         meal_date                   datetime not null,
         name                        varchar(64) not null,
-        description                 varchar(256)
+        description                 varchar(256),
+        calories                    decimal(10, 2) not null default 0,
+        protein                     decimal(10, 2) not null default 0,
+        fat                         decimal(10, 2) not null default 0,
+        carbs                       decimal(10, 2) not null default 0
 );
 
 create table meal_content (
@@ -102,7 +146,11 @@ create table recipe (
         recipe_id                   integer unsigned not null auto_increment primary key,
         name                        varchar(64) not null, -- UNIQUE
         description                 varchar(255),
-        image_url                   varchar(511)
+        image_url                   varchar(511),
+        calories                    decimal(10, 2) not null default 0,
+        protein                     decimal(10, 2) not null default 0,
+        fat                         decimal(10, 2) not null default 0,
+        carbs                       decimal(10, 2) not null default 0
 );
 
 alter table recipe add constraint recipe_name_un unique ( name );
@@ -114,6 +162,21 @@ create table recipe_content (
         ingredient_amount           integer unsigned not null
 );
 
+-- meal history pages, newest first per user
+create index meal_user_date_idx on
+        meal (
+                user_id asc,
+                meal_date asc,
+                meal_id asc
+        );
+
+-- reverse lookup from an edited ingredient to the recipes whose stored macros it changes
+create index recipe_content_ingredient_idx on
+        recipe_content (
+                ingredient_id asc,
+                recipe_id asc
+        );
+
 create table user_exercise (
         user_exercise_id            integer unsigned not null auto_increment primary key,
         user_id                     integer unsigned not null,
@@ -197,6 +260,10 @@ alter table daily_limits
         add constraint daily_limits_user_fk foreign key ( user_id )
                 references app_user ( user_id );
 
+alter table daily_summary
+        add constraint daily_summary_user_fk foreign key ( user_id )
+                references app_user ( user_id );
+
 alter table meal_content
         add constraint meal_content_ingredient_fk foreign key ( ingredient_id )
                 references ingredient ( ingredient_id );
@@ -255,89 +322,26 @@ alter table verification_code
 
 
 -- ---------------------------------------->        views     <------------------------------------------
+-- meal totals are stored on the meal row, so the view no longer joins the meal contents
 create or replace view meal_info  as
 select meal.meal_id                                                                     as meal_id,
         meal.user_id                                                                    as user_id,
     meal.name                                                                           as meal_name,
-    ROUND(IFNULL(sum(ingredient.calories * meal_content.ingredient_amount / 100), 0))   as calories,
-    ROUND(IFNULL(sum(ingredient.protein * meal_content.ingredient_amount / 100), 0))    as protein,
-    ROUND(IFNULL(sum(ingredient.fat * meal_content.ingredient_amount / 100), 0))        as fat,
-    ROUND(IFNULL(sum(ingredient.carbs * meal_content.ingredient_amount / 100), 0))      as carbs
+    ROUND(meal.calories)                                                                as calories,
+    ROUND(meal.protein)                                                                 as protein,
+    ROUND(meal.fat)                                                                     as fat,
+    ROUND(meal.carbs)                                                                   as carbs
 from meal
-    left join meal_content on meal.meal_id = meal_content.meal_id
-    left join ingredient on ingredient.ingredient_id = meal_content.ingredient_id
-group by meal.meal_id,
-    meal.user_id,
-    meal.name
 ;
 
-CREATE OR REPLACE VIEW daily_summary AS
-WITH --
-water_info AS 
-        (SELECT 
-                user_id,
-                intake_date AS summary_date,
-                SUM(water_amount) AS water_drank
-        FROM water_intake
-        GROUP BY user_id, intake_date),
-exercise_info AS 
-        (SELECT 
-                user_id,
-                activity_date AS summary_date,
-                SUM(calories_burnt) AS calories_burnt
-        FROM user_exercise
-        GROUP BY user_id, activity_date)
-
-SELECT 
-        u.user_id as user_id,
-        COALESCE(m.meal_date, w.summary_date, e.summary_date)   AS summary_date,
-        ROUND(IFNULL(SUM(mi.calories), 0))                    AS calories,
-        ROUND(IFNULL(SUM(mi.protein), 0))                     AS protein,
-        ROUND(IFNULL(SUM(mi.fat), 0))                         AS fat,
-        ROUND(IFNULL(SUM(mi.carbs), 0))                       AS carbs,
-        ROUND(IFNULL(SUM(w.water_drank), 0))                  AS water_drank,
-        ROUND(IFNULL(SUM(e.calories_burnt), 0))               AS calories_burnt
-FROM app_user u
-        LEFT JOIN meal m ON u.user_id = m.user_id
-        LEFT JOIN meal_info mi ON m.meal_id = mi.meal_id
-        LEFT JOIN water_info w ON u.user_id = w.user_id AND m.meal_date = w.summary_date 
-        LEFT JOIN exercise_info e ON u.user_id = e.user_id AND m.meal_date = e.summary_date
-GROUP BY u.user_id, summary_date
-UNION
-        SELECT 
-                w.user_id,
-                w.summary_date,
-                0, 0, 0, 0, -- empty cal, carbs, protein, fat values
-                w.water_drank, 0
-        FROM water_info w
-        WHERE NOT EXISTS (
-        SELECT 1 FROM meal m 
-        WHERE m.user_id = w.user_id AND m.meal_date = w.summary_date)
-UNION
-        SELECT 
-                e.user_id,
-                e.summary_date,
-                0, 0, 0, 0,
-                0,
-                e.calories_burnt
-        FROM exercise_info e
-        WHERE NOT EXISTS (
-        SELECT 1 FROM meal m 
-        WHERE m.user_id = e.user_id AND m.meal_date = e.summary_date);
-
-
+-- recipe macros are stored on the recipe row, using the same per portion formula as the backend
 create or replace view recipe_info ( recipe_id, recipe_name, calories, protein, fat, carbs ) as
 select
         recipe.recipe_id   as recipe_id,
         recipe.name  as recipe_name,
-	ROUND(IFNULL(sum(ingredient.calories * recipe_content.ingredient_amount / 100), 0))    as calories,
-	ROUND(IFNULL(sum(ingredient.protein * recipe_content.ingredient_amount / 100), 0))     as protein,
-	ROUND(IFNULL(sum(ingredient.fat * recipe_content.ingredient_amount / 100), 0))         as fat,
-	ROUND(IFNULL(sum(ingredient.carbs * recipe_content.ingredient_amount / 100), 0))       as carbs
+	recipe.calories    as calories,
+	recipe.protein     as protein,
+	recipe.fat         as fat,
+	recipe.carbs       as carbs
 from
-        recipe
-        left join recipe_content on recipe.recipe_id = recipe_content.recipe_id
-        left join ingredient on ingredient.ingredient_id = recipe_content.ingredient_id
-group by
-    recipe.recipe_id,
-    recipe.name;
\ No newline at end of file
+        recipe;
\ No newline at end of file
@@ -0,0 +1,242 @@
+DELIMITER $$
+CREATE TRIGGER INSERT_HISTORICAL_LIMITS
+BEFORE INSERT ON daily_limits
+FOR EACH ROW
+BEGIN
+    INSERT INTO limit_history 
+        (date_changed, user_id, calorie_limit, protein_limit, fat_limit, carb_limit, water_goal) 
+    VALUES 
+        (NOW(), NEW.user_id, NEW.calorie_limit, NEW.protein_limit, NEW.fat_limit, NEW.carb_limit, NEW.water_goal);
+END $$
+
+CREATE TRIGGER UPDATE_HISTORICAL_LIMITS
+    BEFORE UPDATE ON daily_limits
+    FOR EACH ROW
+    BEGIN
+        INSERT INTO limit_history 
+            (date_changed, user_id, calorie_limit, protein_limit, fat_limit, carb_limit, water_goal) 
+        VALUES 
+            (NOW(), OLD.user_id, OLD.calorie_limit, OLD.protein_limit, OLD.fat_limit, OLD.carb_limit, OLD.water_goal );
+    END $$
+
+CREATE TRIGGER UPDATE_USER_WEIGHT_HISTORY
+BEFORE UPDATE ON user_info
+FOR EACH ROW
+BEGIN
+    IF OLD.weight != NEW.weight THEN
+        INSERT INTO weight_history ( user_id,  measurement_date,  weight ) 
+        VALUES ( NEW.user_id,  NOW(),  NEW.weight);
+    END IF;
+END $$
+
+CREATE TRIGGER CALC_NEW_USER_BMI
+BEFORE INSERT ON user_info
+FOR EACH ROW 
+BEGIN
+    SET NEW.bmi = NEW.weight / (POWER(NEW.height / 100, 2));
+END $$
+
+CREATE TRIGGER UPDATE_USER_BMI
+BEFORE UPDATE ON user_info
+FOR EACH ROW 
+BEGIN
+    SET NEW.bmi = NEW.weight / (POWER(NEW.height / 100, 2));
+END $$
+
+CREATE TRIGGER CALC_CALORIES_BURNT
+BEFORE INSERT ON user_exercise
+FOR EACH ROW 
+BEGIN
+    DECLARE user_weight DECIMAL(5,2);
+    DECLARE exercise_met DECIMAL(5,2);
+
+    SELECT weight INTO user_weight FROM user_info WHERE user_id = NEW.user_id;
+    SELECT metabolic_equivalent INTO exercise_met FROM exercise_info WHERE exercise_id = NEW.exercise_id;
+
+	SET NEW.calories_burnt = ROUND(exercise_met * user_weight * NEW.duration / 60);
+END $$
+
+CREATE TRIGGER CALC_CALORIES_BURNT_UPDATE
+BEFORE UPDATE ON user_exercise
+FOR EACH ROW 
+BEGIN
+    DECLARE user_weight DECIMAL(5,2);
+    DECLARE exercise_met DECIMAL(5,2);
+
+    SELECT weight INTO user_weight
+    FROM user_info
+    WHERE user_id = NEW.user_id;
+
+    SELECT metabolic_equivalent INTO exercise_met
+    FROM exercise_info
+    WHERE exercise_id = NEW.exercise_id;
+
+    SET NEW.calories_burnt = ROUND(exercise_met * user_weight * NEW.duration / 60);
+END $$
+
+-- ----------->   DAILY SUMMARY ROLLUP   <--------------------------------
+-- every meal, water intake and exercise is one entry of the (user, day) row it belongs to,
+-- the row is removed once its last entry is gone
+CREATE PROCEDURE ADD_TO_DAILY_SUMMARY(
+    IN p_user_id INTEGER UNSIGNED, IN p_summary_date DATE,
+    IN p_calories INTEGER, IN p_protein INTEGER, IN p_fat INTEGER, IN p_carbs INTEGER,
+    IN p_water_drank INTEGER, IN p_calories_burnt INTEGER, IN p_entries INTEGER)
+BEGIN
+    INSERT INTO daily_summary
+        (user_id, summary_date, calories, protein, fat, carbs, water_drank, calories_burnt, entry_count)
+    VALUES
+        (p_user_id, p_summary_date, p_calories, p_protein, p_fat, p_carbs, p_water_drank, p_calories_burnt, p_entries)
+    ON DUPLICATE KEY UPDATE
+        calories = calories + p_calories,
+        protein = protein + p_protein,
+        fat = fat + p_fat,
+        carbs = carbs + p_carbs,
+        water_drank = water_drank + p_water_drank,
+        calories_burnt = calories_burnt + p_calories_burnt,
+        entry_count = entry_count + p_entries;
+
+    DELETE FROM daily_summary
+    WHERE user_id = p_user_id AND summary_date = p_summary_date AND entry_count = 0;
+END $$
+
+-- meal totals are written by the application, this recomputes them for rows inserted directly in SQL
+CREATE PROCEDURE REBUILD_MEAL_TOTALS()
+BEGIN
+    UPDATE meal m
+        LEFT JOIN (
+            SELECT mc.meal_id AS meal_id,
+                   SUM(i.calories * mc.ingredient_amount / 100) AS calories,
+                   SUM(i.protein * mc.ingredient_amount / 100) AS protein,
+                   SUM(i.fat * mc.ingredient_amount / 100) AS fat,
+                   SUM(i.carbs * mc.ingredient_amount / 100) AS carbs
+            FROM meal_content mc JOIN ingredient i ON i.ingredient_id = mc.ingredient_id
+            GROUP BY mc.meal_id
+        ) totals ON totals.meal_id = m.meal_id
+    SET m.calories = IFNULL(totals.calories, 0),
+        m.protein = IFNULL(totals.protein, 0),
+        m.fat = IFNULL(totals.fat, 0),
+        m.carbs = IFNULL(totals.carbs, 0);
+END $$
+
+-- recipe macros are written by the application, this recomputes them for rows inserted directly in SQL
+CREATE PROCEDURE REBUILD_RECIPE_MACROS()
+BEGIN
+    UPDATE recipe r
+        LEFT JOIN (
+            SELECT rc.recipe_id AS recipe_id,
+                   SUM(IF(i.portion_size > 0, i.calories * rc.ingredient_amount / i.portion_size, 0)) AS calories,
+                   SUM(IF(i.portion_size > 0, i.protein * rc.ingredient_amount / i.portion_size, 0)) AS protein,
+                   SUM(IF(i.portion_size > 0, i.fat * rc.ingredient_amount / i.portion_size, 0)) AS fat,
+                   SUM(IF(i.portion_size > 0, i.carbs * rc.ingredient_amount / i.portion_size, 0)) AS carbs
+            FROM recipe_content rc JOIN ingredient i ON i.ingredient_id = rc.ingredient_id
+            GROUP BY rc.recipe_id
+        ) totals ON totals.recipe_id = r.recipe_id
+    SET r.calories = IFNULL(totals.calories, 0),
+        r.protein = IFNULL(totals.protein, 0),
+        r.fat = IFNULL(totals.fat, 0),
+        r.carbs = IFNULL(totals.carbs, 0);
+END $$
+
+-- full recomputation, used to backfill the table and by the scheduled rebuild job
+CREATE PROCEDURE REBUILD_DAILY_SUMMARY()
+BEGIN
+    CALL REBUILD_MEAL_TOTALS();
+
+    DELETE FROM daily_summary;
+
+    INSERT INTO daily_summary
+        (user_id, summary_date, calories, protein, fat, carbs, water_drank, calories_burnt, entry_count)
+    SELECT entries.user_id, entries.summary_date,
+           SUM(entries.calories), SUM(entries.protein), SUM(entries.fat), SUM(entries.carbs),
+           SUM(entries.water_drank), SUM(entries.calories_burnt), COUNT(*)
+    FROM (
+        SELECT user_id, DATE(meal_date) AS summary_date,
+               ROUND(calories) AS calories, ROUND(protein) AS protein, ROUND(fat) AS fat, ROUND(carbs) AS carbs,
+               0 AS water_drank, 0 AS calories_burnt
+        FROM meal
+        UNION ALL
+        SELECT user_id, DATE(intake_date), 0, 0, 0, 0, water_amount, 0 FROM water_intake
+        UNION ALL
+        SELECT user_id, DATE(activity_date), 0, 0, 0, 0, 0, calories_burnt FROM user_exercise
+    ) entries
+    GROUP BY entries.user_id, entries.summary_date;
+END $$
+
+-- meal totals are rounded per meal (like meal_info), every change of the stored totals moves the day
+CREATE TRIGGER DAILY_SUMMARY_MEAL_INSERT
+AFTER INSERT ON meal
+FOR EACH ROW
+BEGIN
+    CALL ADD_TO_DAILY_SUMMARY(NEW.user_id, DATE(NEW.meal_date),
+        ROUND(NEW.calories), ROUND(NEW.protein), ROUND(NEW.fat), ROUND(NEW.carbs), 0, 0, 1);
+END $$
+
+CREATE TRIGGER DAILY_SUMMARY_MEAL_UPDATE
+AFTER UPDATE ON meal
+FOR EACH ROW
+BEGIN
+    IF OLD.user_id = NEW.user_id AND DATE(OLD.meal_date) = DATE(NEW.meal_date) THEN
+        CALL ADD_TO_DAILY_SUMMARY(NEW.user_id, DATE(NEW.meal_date),
+            ROUND(NEW.calories) - ROUND(OLD.calories), ROUND(NEW.protein) - ROUND(OLD.protein),
+            ROUND(NEW.fat) - ROUND(OLD.fat), ROUND(NEW.carbs) - ROUND(OLD.carbs), 0, 0, 0);
+    ELSE
+        CALL ADD_TO_DAILY_SUMMARY(OLD.user_id, DATE(OLD.meal_date),
+            -ROUND(OLD.calories), -ROUND(OLD.protein), -ROUND(OLD.fat), -ROUND(OLD.carbs), 0, 0, -1);
+        CALL ADD_TO_DAILY_SUMMARY(NEW.user_id, DATE(NEW.meal_date),
+            ROUND(NEW.calories), ROUND(NEW.protein), ROUND(NEW.fat), ROUND(NEW.carbs), 0, 0, 1);
+    END IF;
+END $$
+
+CREATE TRIGGER DAILY_SUMMARY_MEAL_DELETE
+AFTER DELETE ON meal
+FOR EACH ROW
+BEGIN
+    CALL ADD_TO_DAILY_SUMMARY(OLD.user_id, DATE(OLD.meal_date),
+        -ROUND(OLD.calories), -ROUND(OLD.protein), -ROUND(OLD.fat), -ROUND(OLD.carbs), 0, 0, -1);
+END $$
+
+CREATE TRIGGER DAILY_SUMMARY_WATER_INSERT
+AFTER INSERT ON water_intake
+FOR EACH ROW
+BEGIN
+    CALL ADD_TO_DAILY_SUMMARY(NEW.user_id, DATE(NEW.intake_date), 0, 0, 0, 0, NEW.water_amount, 0, 1);
+END $$
+
+CREATE TRIGGER DAILY_SUMMARY_WATER_UPDATE
+AFTER UPDATE ON water_intake
+FOR EACH ROW
+BEGIN
+    CALL ADD_TO_DAILY_SUMMARY(OLD.user_id, DATE(OLD.intake_date), 0, 0, 0, 0, -OLD.water_amount, 0, -1);
+    CALL ADD_TO_DAILY_SUMMARY(NEW.user_id, DATE(NEW.intake_date), 0, 0, 0, 0, NEW.water_amount, 0, 1);
+END $$
+
+CREATE TRIGGER DAILY_SUMMARY_WATER_DELETE
+AFTER DELETE ON water_intake
+FOR EACH ROW
+BEGIN
+    CALL ADD_TO_DAILY_SUMMARY(OLD.user_id, DATE(OLD.intake_date), 0, 0, 0, 0, -OLD.water_amount, 0, -1);
+END $$
+
+CREATE TRIGGER DAILY_SUMMARY_EXERCISE_INSERT
+AFTER INSERT ON user_exercise
+FOR EACH ROW
+BEGIN
+    CALL ADD_TO_DAILY_SUMMARY(NEW.user_id, DATE(NEW.activity_date), 0, 0, 0, 0, 0, NEW.calories_burnt, 1);
+END $$
+
+CREATE TRIGGER DAILY_SUMMARY_EXERCISE_UPDATE
+AFTER UPDATE ON user_exercise
+FOR EACH ROW
+BEGIN
+    CALL ADD_TO_DAILY_SUMMARY(OLD.user_id, DATE(OLD.activity_date), 0, 0, 0, 0, 0, -OLD.calories_burnt, -1);
+    CALL ADD_TO_DAILY_SUMMARY(NEW.user_id, DATE(NEW.activity_date), 0, 0, 0, 0, 0, NEW.calories_burnt, 1);
+END $$
+
+CREATE TRIGGER DAILY_SUMMARY_EXERCISE_DELETE
+AFTER DELETE ON user_exercise
+FOR EACH ROW
+BEGIN
+    CALL ADD_TO_DAILY_SUMMARY(OLD.user_id, DATE(OLD.activity_date), 0, 0, 0, 0, 0, -OLD.calories_burnt, -1);
+END $$
+
+DELIMITER ;
@@ -0,0 +1,39 @@
+-- --> mysql database summary:
+-- created indexes               5
+-- ------------------------------------->        indexes     <---------------------------------------
+-- history pages and date ranges are read per user, newest first; each index replaces the user_id index that
+-- InnoDB created for the foreign key
+
+create index water_intake_user_date_idx on
+        water_intake (
+                user_id asc,
+                intake_date asc,
+                water_intake_id asc
+        );
+
+create index user_exercise_user_date_idx on
+        user_exercise (
+                user_id asc,
+                activity_date asc,
+                user_exercise_id asc
+        );
+
+create index weight_history_user_date_idx on
+        weight_history (
+                user_id asc,
+                measurement_date asc,
+                weight_id asc
+        );
+
+-- limit_history has no foreign key, its rows are written by triggers
+create index limit_history_user_date_idx on
+        limit_history (
+                user_id asc,
+                date_changed asc,
+                history_id asc
+        );
+
+create index verification_code_user_idx on
+        verification_code (
+                user_id asc
+        );
@@ -0,0 +1,495 @@
+-- Flyway runs this callback after every migrate when the sample-data profile adds its location. It is not a
+-- versioned migration, so the profile can be switched on or off at any time; the rows are only inserted into a
+-- schema without users, ingredients and meal types.
+DROP PROCEDURE IF EXISTS INSERT_SAMPLE_DATA;
+
+DELIMITER $$
+CREATE PROCEDURE INSERT_SAMPLE_DATA()
+BEGIN
+IF NOT EXISTS (SELECT 1 FROM app_user) AND NOT EXISTS (SELECT 1 FROM ingredient)
+        AND NOT EXISTS (SELECT 1 FROM meal_type) THEN
+    -- ----------->   MEAL TYPES   <--------------------------------
+    INSERT INTO meal_type (name) VALUES ('BREAKFAST'), ( 'LUNCH'),  ('DINNER'), ('SUPPER'), ('SNACKS');
+
+    -- ----------->   EXMAPLE INGREDIENTS   <--------------------------------
+    INSERT INTO ingredient (name, brand, portion_size, calories, protein, fat, carbs) VALUES
+        ('Cows'' milk', 'Generic Dairy', 100, 68, 3, 4, 5),
+        ('Milk skim', 'Generic Dairy', 100, 37, 4, 0, 5),
+        ('Buttermilk', 'Generic Dairy', 100, 52, 4, 2, 5),
+        ('Evaporated, undiluted', 'Generic Dairy', 100, 137, 6, 8, 10),
+        ('Fortified milk', 'Fortified Brand', 100, 97, 6272, 2959, 8386),
+        ('Powdered milk', 'Generic Dairy', 100, 500, 26, 27, 38),
+        ('skim, instant', 'Generic Dairy', 100, 341, 35, 0, 49),
+        ('skim, non-instant', 'Generic Dairy', 100, 341, 35, 0, 49),
+        ('Goats'' milk', 'Goat Brand', 100, 68, 3, 4, 5),
+        ('Ice cream', 'Generic Dairy', 100, 160, 3, 10, 15),
+        ('Cream or half-and-half', 'Generic Dairy', 100, 142, 3, 13, 4),
+        ('Cheese', 'Generic Cheese', 100, 107, 13, 5, 3),
+        ('Cheddar', 'Cheddar Brand', 100, 412, 24, 35, 0),
+        ('Cheddar, grated cup', 'Cheddar Brand', 100, 404, 25, 34, 2),
+        ('Cream cheese', 'Creamy Brand', 100, 375, 7, 39, 4),
+        ('Processed cheese', 'Processed Brand', 100, 375, 25, 32, 0),
+        ('Roquefort type', 'Roquefort Brand', 100, 375, 21, 32, 0),
+        ('Swiss', 'Swiss Brand', 100, 375, 25, 29, 0),
+        ('Hydrogenated cooking fat', 'Cooking Fat Brand', 100, 665, 0, 100, 0),
+        ('Lard', 'Lard Brand', 100, 902, 0, 100, 0),
+        ('Margarine', 'Margarine Brand', 100, 720, 0, 81, 0),
+        ('Mayonnaise', 'Mayonnaise Brand', 100, 733, 0, 80, 0),
+        ('Corn oil', 'Oil Brand', 100, 893, 0, 100, 0),
+        ('Olive oil', 'Oil Brand', 100, 893, 0, 100, 0),
+        ('Safflower seed oil', 'Oil Brand', 100, 893, 0, 100, 0),
+        ('French dressing', 'Dressing Brand', 100, 400, 0, 40, 13),
+        ('Thousand Island sauce', 'Dressing Brand', 100, 500, 0, 53, 7),
+        ('Bacon', 'Bacon Brand', 100, 594, 25, 50, 6),
+        ('Chicken livers, fried', 'Generic Meat', 100, 140, 22, 14, 10990),
+        ('Ham pan-broiled', 'Smithfield', 100, 341, 19, 26, 0),
+        ('Ham, as', 'Hormel', 100, 298, 23, 23, 0),
+        ('Ham, canned, spiced', 'Spam', 100, 289, 14, 25, 2),
+        ('Pork sausage', 'Johnsonville', 100, 475, 18, 44, 0),
+        ('Fish sticks fried', 'Gorton''s', 100, 179, 17, 9, 7),
+        ('Oyster stew', 'Campbell''s', 100, 147, 22, 7, 0),
+        ('Sardines', 'King Oscar', 100, 212, 26, 11, 0),
+        ('Tuna', 'John West', 100, 200, 29, 8, 0),
+        ('Sauerkraut', 'Hengstenberg', 100, 21, 1, 0, 5),
+        ('Mushrooms canned', 'Green Giant', 100, 10, 2, 0, 3),
+        ('Peppers canned', 'Del Monte', 100, 26, 0, 0, 5),
+        ('Potato chips', 'Lay''s', 100, 550, 5, 35, 50),
+        ('Apple juice canned', 'Mott''s', 100, 50, 0, 0, 14),
+        ('Fruit cocktail, canned', 'Dole', 100, 76, 0, 0, 20),
+        ('Grape juice', 'Welch''s', 100, 64, 0, 0, 17),
+        ('Lemonade concentrate frozen', 'Minute Maid', 100, 195, 0, 0, 51),
+        ('Limeade concentrate frozen', 'Minute Maid', 100, 186, 0, 0, 50),
+        ('Olives large', 'Lindsay', 100, 111, 2, 15, 5),
+        ('Olives ripe', 'Lindsay', 100, 162, 2, 20, 2),
+        ('Orange juice', 'Tropicana', 100, 45, 1, 0, 10),
+        ('Frozen orange juice', 'Minute Maid', 100, 157, 1, 0, 37),
+        ('Cornflakes', 'Kellogg''s', 100, 143, 0, 0, 36),
+        ('Crackers', 'Ritz', 100, 35, 1, 0, 9),
+        ('Macaroni and cheese', 'Kraft', 100, 261, 9, 4, 52),
+        ('Muffins', 'Hostess', 100, 239, 9, 4, 52),
+        ('Pizza 14" diam.', 'DiGiorno', 100, 440, 8, 0, 100),
+        ('Popcorn salted', 'Orville Redenbacher''s', 100, 50, 3, 0, 11),
+        ('Puffed rice', 'Quaker', 100, 305, 8, 3, 63),
+        ('Puffed wheat presweetened', 'Kellogg''s', 100, 393, 7, 7, 71),
+        ('Shredded wheat biscuit', 'Post', 100, 216, 8, 11, 20),
+        ('Bean soups', 'Campbell''s', 100, 64, 2, 1, 11),
+        ('Beef soup', 'Campbell''s', 100, 231, 6, 8, 26),
+        ('Chicken soup', 'Campbell''s', 100, 240, 11, 8, 31),
+        ('Clam chowder', 'Progresso', 100, 543, 11, 25, 71),
+        ('Cream soups', 'Campbell''s', 100, 393, 0, 0, 86),
+        ('Tomato soup', 'Campbell''s', 100, 360, 7, 1, 74),
+        ('Vegetable soup', 'Campbell''s', 100, 362, 7, 0, 76),
+        ('Chocolate fudge', 'Hershey''s', 100, 383, 7, 0, 87),
+        ('Cupcake', 'Hostess', 100, 264, 12, 12, 56),
+        ('Fruit cake', 'Collin Street Bakery', 100, 822, 6, 24, 46),
+        ('Gingerbread', 'Little Debbie', 100, 303, 8, 5, 53),
+        ('Sponge cake', 'Sara Lee', 100, 114, 5, 4, 14),
+        ('Candy', 'Haribo', 100, 84, 2, 2, 14),
+        ('Chocolate creams', 'Lindt', 100, 87, 2, 2, 16),
+        ('Fudge', 'See''s Candies', 100, 357, 11, 4, 82),
+        ('Hard candies', 'Werther''s Original', 100, 320, 11, 12, 40),
+        ('Marshmallows', 'Jet-Puffed', 100, 360, 25, 10, 50),
+        ('Milk chocolate', 'Milka', 100, 400, 31, 11, 55),
+        ('Chocolate syrup', 'Hershey''s', 100, 343, 13, 3, 83),
+        ('Doughnuts', 'Krispy Kreme', 100, 138, 6, 1, 18),
+        ('Honey', 'Sue Bee', 100, 40, 2, 2, 4),
+        ('Jellies', 'Smucker''s', 100, 30, 2, 1, 4),
+        ('Cane Syrup', 'Steen''s', 100, 33, 2, 1, 5),
+        ('Cherry Pie', 'Sara Lee', 100, 78, 3, 5, 7),
+        ('Lemon meringue', 'Marie Callender''s', 100, 59, 3, 1, 10),
+        ('Pumpkin Pie', 'Libby''s', 100, 32, 2, 1, 6),
+        ('Puddings Sugar', 'Jell-O', 100, 150, 1, 4, 29),
+        ('Tapioca cream pudding', 'Kozy Shack', 100, 350, 4, 12, 58),
+        ('Almonds, roasted', 'Blue Diamond', 100, 320, 6, 6, 62),
+        ('Brazil nuts', 'Planters', 100, 350, 7, 13, 57),
+        ('Cashews', 'Planters', 100, 327, 4, 13, 51),
+        ('Coconut sweetened', 'Baker''s', 100, 327, 7, 9, 56),
+        ('Peanut butter', 'Jif', 100, 288, 8, 5, 55),
+        ('Peanut butter, natural', 'Smucker''s', 100, 416, 0, 12, 76),
+        ('Peanuts', 'Planters', 100, 433, 0, 13, 80),
+        ('Pecans', 'Diamond', 100, 411, 0, 13, 89),
+        ('Sesame seeds', 'McCormick', 100, 321, 0, 0, 100),
+        ('Sunflower seeds', 'David', 100, 327, 3, 0, 77),
+        ('Walnuts', 'Diamond', 100, 518, 4, 11, 79),
+        ('Beer', 'Heineken', 100, 200, 0, 0, 55),
+        ('Gin', 'Bombay Sapphire', 100, 409, 6, 21, 52),
+        ('Wines', 'Barefoot', 100, 65, 2, 0, 15),
+        ('Cola zero drinks', 'Coca-Cola Zero', 100, 83, 0, 0, 0),
+        ('Ginger ale', 'Canada Dry', 100, 78, 0, 0, 32),
+        ('Root beer', 'A&W', 100, 275, 0, 0, 70),
+        ('Coffee', NULL, 100, 250, 0, 0, 65),
+        ('Tea', 'Lipton', 100, 225, 0, 0, 55);
+
+    INSERT INTO ingredient (name, portion_size, calories, protein, fat, carbs) VALUES
+        ('cornstarch', 100, 111, 4, 4, 16),
+        ('Custard', 100, 115, 5, 6, 11),
+        ('Ice milk', 100, 145, 5, 5, 17),
+        ('or whipping', 100, 361, 2, 37, 3),
+        ('uncreamed', 100, 87, 17, 0, 3),
+        ('Eggs raw', 100, 150, 12, 12, 0),
+        ('Eggs Scrambled or fried', 100, 172, 10, 13, 1),
+        ('Yolks', 100, 353, 18, 29, 0),
+        ('Butter', 100, 101, 102, 103, 105),
+        ('Salt pork', 100, 783, 5, 92, 0),
+        ('Beef', 100, 288, 27, 19, 0),
+        ('Hamburger', 100, 288, 25, 20, 0),
+        ('Ground lean', 100, 218, 28, 12, 0),
+        ('Roast beef', 100, 459, 19, 42, 0),
+        ('Steak', 100, 388, 24, 32, 0),
+        ('Steak, lean, as round', 100, 259, 28, 14, 0),
+        ('Corned beef', 100, 218, 26, 12, 0),
+        ('Corned beef hash canned', 100, 141, 14, 9, 7),
+        ('Corned beef hash Dried', 100, 205, 34, 7, 0),
+        ('Pot-pie', 100, 211, 8, 12, 14),
+        ('Corned beef hash Stew', 100, 79, 6, 4, 6),
+        ('chicken', 100, 218, 27, 11, 0),
+        ('Fried, breast or leg and thigh chicken', 100, 288, 29, 18, 0),
+        ('Roasted chicken', 100, 290, 25, 20, 0),
+        ('Duck, domestic', 100, 370, 16, 28, 0),
+        ('Lamb, chop, broiled', 100, 417, 21, 30, 0),
+        ('Leg roasted', 100, 365, 23, 16, 0),
+        ('Shoulder, braised', 100, 335, 21, 27, 0),
+        ('Pork, chop, 1 thick', 100, 260, 16, 21, 0),
+        ('Pork roast', 100, 365, 25, 28, 0),
+        ('Turkey', 100, 265, 27, 15, 0),
+        ('Veal', 100, 218, 27, 11, 0),
+        ('Roast', 100, 359, 15, 16, 0),
+        ('Clams', 100, 102, 14, 1, 2),
+        ('Cod', 100, 170, 28, 5, 0),
+        ('Crab meat', 100, 106, 16, 2, 1),
+        ('Flounder', 100, 200, 30, 8, 0),
+        ('Haddock', 100, 159, 19, 6, 7),
+        ('Halibut', 100, 182, 26, 8, 0),
+        ('Herring', 100, 211, 22, 13, 0),
+        ('Lobster', 100, 92, 18, 1, 0),
+        ('Mackerel', 100, 182, 21, 11, 0),
+        ('Oysters', 100, 100, 101, 102, 103),
+        ('Salmon', 100, 141, 20, 6, 0),
+        ('Scallops', 100, 104, 18, 8, 10),
+        ('Shad', 100, 200, 24, 12, 0),
+        ('Shrimp', 100, 129, 27, 1, 0),
+        ('Swordfish', 100, 180, 27, 6, 0),
+        ('Artichoke', 100, 16285, 2, 0, 10),
+        ('Asparagus', 100, 19, 1, 0, 3),
+        ('Beans', 100, 20, 1, 0, 5),
+        ('Lima', 100, 88, 5, 0, 15),
+        ('Red kidney', 100, 88, 6, 0, 16),
+        ('Bean sprouts', 100, 34, 2, 0, 6),
+        ('Beet greens', 100, 27, 2, 0, 6),
+        ('Broccoli', 100, 30, 3, 0, 5),
+        ('Brussels sprouts', 100, 46, 5, 0, 9),
+        ('Steamed cabbage', 100, 24, 1, 0, 5),
+        ('Carrots', 100, 30, 1, 0, 7),
+        ('Raw, grated carrots', 100, 41, 1, 0, 9),
+        ('Strips, from raw carrots', 100, 40, 0, 0, 10),
+        ('Cauliflower', 100, 25, 3, 0, 5),
+        ('Celery', 100, 20, 1, 0, 4),
+        ('Stalk raw celery', 100, 13, 3, 0, 3),
+        ('Chard steamed', 100, 20, 1, 0, 5),
+        ('Collards', 100, 34, 3, 0, 5),
+        ('Corn', 100, 92, 3, 1, 21),
+        ('Corn cooked or canned', 100, 85, 3, 0, 21),
+        ('Cucumbers', 100, 12, 0, 0, 2),
+        ('Dandelion greens', 100, 44, 3, 1, 9),
+        ('Eggplant', 100, 17, 1, 0, 5),
+        ('Endive', 100, 18, 2, 0, 4),
+        ('Kale', 100, 41, 4, 1, 7),
+        ('Kohlrabi', 100, 29, 1, 0, 6),
+        ('Lambs quarters, steamed', 100, 32, 3, 0, 5),
+        ('Lentils', 100, 106, 8, 0, 19),
+        ('Lettuce', 100, 14, 1, 0, 2),
+        ('Iceberg lettuce', 100, 13, 0, 0, 3),
+        ('Mustard greens', 100, 21, 2, 0, 4),
+        ('Okra', 100, 32, 1, 0, 7),
+        ('Onions', 100, 38, 1, 0, 9),
+        ('Raw, green onions', 100, 44, 0, 0, 10),
+        ('Parsley', 100, 4, 0, 0, 0),
+        ('Parsnips', 100, 61, 1, 1, 14),
+        ('Peas', 100, 66, 3, 0, 13),
+        ('Fresh, steamed peas', 100, 70, 5, 0, 12),
+        ('Split cooked peas', 100, 115, 8, 0, 21),
+        ('Heated peas', 100, 53, 3, 0, 10),
+        ('Peppers Raw, green, sweet', 100, 25, 1, 0, 6),
+        ('Peppers with beef and crumbs', 100, 170, 13, 6, 16),
+        ('Potatoes, baked', 100, 100, 2, 0, 22),
+        ('French-fried potatoes', 100, 258, 2, 12, 33),
+        ('Potatoes Mashed with milk and butter', 100, 115, 2, 6, 14),
+        ('Potatoes, pan-fried', 100, 268, 4, 14, 33),
+        ('Scalloped with cheese potatoes', 100, 145, 6, 8, 14),
+        ('Steamed potatoes before peeling', 100, 80, 2, 0, 19),
+        ('Radishes', 100, 20, 0, 0, 4),
+        ('Rutabagas', 100, 32, 0, 0, 8),
+        ('Soybeans', 100, 130, 11, 6, 10),
+        ('Spinach', 100, 26, 3, 0, 3),
+        ('Squash', 100, 17, 0, 0, 4),
+        ('Winter squash, mashed', 100, 48, 2, 0, 12),
+        ('Sweet potatoes', 100, 141, 2, 1, 33),
+        ('Candied sweet potatoes', 100, 134, 1, 3, 46),
+        ('Tomatoes', 100, 21, 1, 0, 4),
+        ('Raw tomatoes, 2 by 2.5', 100, 20, 1, 0, 4),
+        ('Tomato juice', 100, 21, 1, 0, 4),
+        ('Tomato catsup', 100, 88, 0, 0, 24),
+        ('Turnip greens', 100, 31, 3, 1, 6),
+        ('Turnips, steamed', 100, 26, 1, 0, 6),
+        ('Watercress stems, raw', 100, 18, 2, 0, 2),
+        ('Apple vinegar', 100, 14, 0, 0, 3),
+        ('Apples, raw', 100, 54, 0, 0, 14),
+        ('Stewed or canned apples', 100, 42, 0, 0, 11),
+        ('Apricots', 100, 88, 1, 0, 23),
+        ('Dried apricots, uncooked', 100, 293, 5, 0, 67),
+        ('Fresh apricots', 100, 48, 1, 0, 12),
+        ('Apricot nectar or juice', 100, 56, 0, 0, 14),
+        ('Avocado', 100, 171, 2, 17, 6),
+        ('Banana', 100, 57, 1, 0, 15),
+        ('Blackberries', 100, 59, 1, 1, 13),
+        ('Blueberries', 100, 98, 0, 0, 26),
+        ('Cantaloupe', 100, 11, 0, 0, 2),
+        ('Cherries', 100, 39, 1, 0, 10),
+        ('Fresh, raw cherries', 100, 57, 1, 0, 13),
+        ('Cranberry sauce sweetened', 100, 191, 0, 0, 51),
+        ('Dates', 100, 284, 2, 0, 75),
+        ('Figs', 100, 286, 5, 0, 71),
+        ('Fresh, raw figs', 100, 79, 2, 0, 19),
+        ('Figs canned with syrup', 100, 113, 1, 0, 28),
+        ('Grapefruit sections', 100, 68, 0, 0, 18),
+        ('Grapefruit, fresh', 100, 18, 0, 0, 5),
+        ('Grapefruit juice', 100, 40, 0, 0, 10),
+        ('Grapes', 100, 46, 1, 0, 10),
+        ('European grapes', 100, 63, 1, 0, 16),
+        ('Lemon juice', 100, 24, 0, 0, 8),
+        ('Oranges', 100, 33, 1, 0, 9),
+        ('Papaya', 100, 38, 1, 0, 9),
+        ('Peaches', 100, 78, 0, 0, 20),
+        ('Pear', 100, 31, 1, 0, 9),
+        ('Persimmons', 100, 76, 0, 0, 20),
+        ('Pineapple', 100, 55, 1, 1, 14),
+        ('Pineapple juice', 100, 60, 1, 0, 16),
+        ('Plums', 100, 78, 0, 0, 21),
+        ('Prune juice', 100, 79, 0, 0, 21),
+        ('Raisins', 100, 54, 1, 0, 14),
+        ('Raspberries', 100, 48, 0, 0, 13),
+        ('Rhubarb sweetened', 100, 72, 0, 0, 20),
+        ('Strawberries', 100, 50, 0, 0, 12),
+        ('Tangerines', 100, 111, 1, 0, 30),
+        ('Watermelon', 100, 71, 0, 0, 19),
+        ('Biscuits', 100, 261, 2, 0, 93),
+        ('Whole-wheat bread', 100, 100, 0, 0, 25),
+        ('Corn bread ground meal', 100, 57, 0, 0, 14),
+        ('Corn grits cooked', 100, 107, 0, 0, 26),
+        ('Corn meal', 100, 36, 0, 0, 8),
+        ('Flour', 100, 13, 0, 0, 3),
+        ('Wheat (all purpose)', 100, 342, 8, 11, 47),
+        ('Wheat (whole)', 100, 468, 12, 0, 128),
+        ('Noodles', 100, 0, 9, 3, 50),
+        ('Oatmeal', 100, 0, 11, 3, 48),
+        ('Pancakes', 100, 239, 9, 4, 48),
+        ('Wheat pancakes', 100, 200, 6, 8, 30),
+        ('Rice', 100, 409, 9, 9, 73),
+        ('Converted rice', 100, 44, 1, 0, 9),
+        ('White rice', 100, 418, 35, 20, 30),
+        ('Rice flakes', 100, 364, 11, 1, 76),
+        ('Whole-wheat pasta', 100, 325, 11, 2, 66),
+        ('Spanish rice', 100, 111, 4, 1, 23),
+        ('Waffles', 100, 281, 8, 10, 40),
+        ('Wheat, cooked', 100, 125, 4, 1, 23),
+        ('Bouillon', 100, 231, 6, 8, 26),
+        ('Noodle soup', 100, 375, 4, 0, 93),
+        ('Cakes', 100, 362, 7, 0, 79),
+        ('Plain cake, no icing', 100, 255, 10, 3, 50),
+        ('Brown, firm-packed, dark sugar', 100, 187, 6, 6, 28),
+        ('Syrup', 100, 275, 8, 0, 58);
+
+    -- ----------->   EXMAPLE USER DATA   <--------------------------------
+
+    -- All example users have password: 'haslo'
+    INSERT INTO app_user (username, email, password_hash, type, is_verified, forgotten_password_code) VALUES
+        ('anowakforever', 'annanowak@gmail.com', '$2a$10$gBuZYzI9c3GtU8exqV6O4ugkQehletVzjs.kjJhun3W4qu17dEU.C', 'exampleuser', true, '000000'),
+        ('jan_kowalski', 'jan.kowalski@email.com', '$2a$10$gBuZYzI9c3GtU8exqV6O4ugkQehletVzjs.kjJhun3W4qu17dEU.C', 'exampleuser', true, 'F8G1H3I5J'),
+        ('ewa_nowak', 'ewa.nowak@email.com', '$2a$10$gBuZYzI9c3GtU8exqV6O4ugkQehletVzjs.kjJhun3W4qu17dEU.C', 'exampleuser', true, 'Q4R7S9T1U'),
+        ('piotr_wisniewski', 'piotr.wisniewski@email.com', '$2a$10$gBuZYzI9c3GtU8exqV6O4ugkQehletVzjs.kjJhun3W4qu17dEU.C', 'exampleuser', true, 'B2C4D6E8F'),
+        ('maria_dabrowska', 'maria.dabrowska@email.com', '$2a$10$gBuZYzI9c3GtU8exqV6O4ugkQehletVzjs.kjJhun3W4qu17dEU.C', 'exampleuser', true, 'L9M0N2P4Q'),
+        ('tomasz_lewandowski', 'tomasz.lewandowski@email.com', '$2a$10$gBuZYzI9c3GtU8exqV6O4ugkQehletVzjs.kjJhun3W4qu17dEU.C', 'exampleuser', true, 'W4X7Y9Z1A');
+
+    INSERT INTO user_goal (goal_type, goal_weight, deadline) VALUES
+        ("Get skinny", 55.5, '2026-04-01'), ('weight_loss', 75.0, '2026-01-01'), ('muscle_gain', 65.0, '2025-10-15'),
+        ('maintenance', 80.0, '2025-09-30'), ('weight_loss', 58.0, '2025-11-20'), ('muscle_gain', 85.0, '2026-01-15');
+
+    INSERT INTO user_info (user_id, user_goal_id, name, surname, age, weight, height, lifestyle) VALUES
+        (1, 1, "Anna", "Nowak", 18,  58.40, 165, "Active" ),  (2, 2, 'Jan', 'Kowalski', 28, 82.5, 178, 'Active'), (3, 3, 'Ewa', 'Nowak', 24, 58.0, 165, 'Moderate'),
+        (4, 4, 'Piotr', 'Wiśniewski', 35, 88.0, 185, 'Sedentary'), (5, 5, 'Maria', 'Dąbrowska', 29, 62.5, 170, 'Very Active'), (6, 6, 'Tomasz', 'Lewandowski', 31, 78.0, 180, 'Active');
+
+    INSERT INTO user_preferences (user_id, language, darkmode, font, notifications) VALUES
+        (1, 'eng', false, 'Arial', true), (2, 'eng', true, 'Arial', true), (3, 'eng', false, 'Helvetica', false),
+        (4, 'eng', true, 'Times New Roman', true), (5, 'eng', false, 'Calibri', true), (6, 'eng', true, 'Verdana', false);
+
+    INSERT INTO verification_code (user_id, code, expiration_date) VALUES
+        (1, "123456", '2025-01-01 00:00:00'),    (2, 'M8N0P2Q4R', '2026-02-05 23:49:00'),  (3, 'S6T8U0V2W', '2026-02-05 23:49:00'),
+        (4, 'X4Y6Z8A0B', '2026-02-05 23:49:00'), (5, 'C2D4E6F8G', '2026-02-05 23:49:00'), (6, 'H0I2J4K6L', '2026-02-05 23:49:00');
+
+    -- ----------->   EXMAPLE MEAL DATA   <--------------------------------
+
+    INSERT INTO meal (user_id, meal_type_id, meal_date, name, description) VALUES 
+        (1, 1, '2026-02-02 00:00:00', 'Oatmeal Breakfast', 'Oatmeal with milk and banana'),
+        (1, 2, '2026-02-02 01:00:00', 'Chicken Salad', 'Chicken breast, lettuce, tomato, olive oil'),
+        (1, 3, '2026-02-02 02:00:00', 'Vegetable Rice', 'Rice with broccoli and carrots'),
+        (1, 4, '2026-02-02 03:00:00', 'Grilled Salmon Supper', 'Salmon fillet with asparagus and quinoa'),
+        (1, 5, '2026-02-01 04:00:00', 'Protein Snack Pack', 'Almonds, Greek yogurt, and blueberries'),
+        (1, 2, '2026-02-01 05:00:00', 'Turkey Club Lunch', 'Whole wheat sandwich with turkey bacon and avocado'),
+        (1, 1, '2026-02-01 08:00:00', 'Protein Breakfast', 'High protein morning meal with eggs and cheese'),
+    	(1, 2, '2026-02-04 13:00:00', 'Mediterranean Lunch', 'Light lunch with olive oil and ham'),
+    	(1, 3, '2026-02-03 19:00:00', 'Hearty Dinner', 'Satisfying evening meal with bacon and vegetables'),
+    	(1, 1, '2026-02-04 07:30:00', 'Dairy Morning', 'Calcium rich breakfast with milk and cheese'),
+    	(1, 2, '2026-02-04 12:30:00', 'Fish Lunch', 'Healthy seafood lunch with tuna and vegetables'),
+    	(1, 3, '2026-02-05 18:30:00', 'Comfort Dinner', 'Traditional dinner with sausage and sides'),
+    	(1, 1, '2026-02-06 08:30:00', 'Quick Breakfast', 'Fast morning meal with processed foods'),
+    	(1, 2, '2026-02-05 14:00:00', 'Snack Lunch', 'Light lunch with chips and juice'),
+    	(1, 3, '2026-02-03 20:00:00', 'Simple Dinner', 'Easy dinner with canned foods'),
+    	(1, 1, '2026-02-01 07:00:00', 'Healthy Start', 'Nutritious breakfast with skim milk and fruit'),
+    	(1, 2, '2026-02-02 12:00:00', 'Gourmet Lunch', 'Refined lunch with specialty cheeses'),
+    	(1, 3, '2026-02-02 18:00:00', 'Seafood Dinner', 'Ocean-fresh dinner with sardines and sides'),
+    	(1, 1, '2026-01-30 09:00:00', 'Energy Breakfast', 'High-energy morning meal with cream and oils'),
+    	(1, 2, '2026-01-30 13:30:00', 'Meat Lunch', 'Protein-packed lunch with various meats'),
+    	(1, 3, '2026-01-30 19:30:00', 'Vegetable Dinner', 'Plant-based dinner with mushrooms and peppers'),
+    	(1, 5, '2026-01-30 08:00:00', 'Chocolate Musse', 'quick snack'),
+        (1, 1, '2026-01-29 08:00:00', 'Morning Energy Bowl', 'Nutritious breakfast with cereals and milk'),
+        (1, 2, '2026-01-29 13:00:00', 'Hearty Lunch Combo', 'Satisfying midday meal with soup and bread'),
+        (1, 3, '2026-01-28 19:00:00', 'Classic Dinner Plate', 'Traditional evening meal with meat and vegetables'),
+        (1, 4, '2026-01-29 21:30:00', 'Light Evening Bite', 'Simple supper with cheese and crackers'),
+        (1, 5, '2026-01-28 15:30:00', 'Sweet Afternoon Treat', 'Delicious snack with nuts and chocolate');
+
+    INSERT INTO meal_content (ingredient_id, meal_id, ingredient_amount) VALUES
+        (192, 1, 50),   (1, 1, 150),    (168, 1, 100), (120, 2, 100), (150, 2, 50),  (162, 2, 50),  (48, 2, 10), (190, 3, 100),  (137, 3, 50),  
+        (140, 3, 50),   (131, 4, 150),  (137, 4, 100), (190, 4, 80), (220, 5, 50), (2, 5, 200), (177, 5, 100), (122, 6, 100), (15, 6, 80), (212, 6, 50),
+        (12, 1, 150),   (13, 1, 100),   (1, 1, 200), (24, 2, 50), (30, 2, 120), (38, 2, 80), (28, 3, 100), (39, 3, 150), (40, 3, 100), (2, 4, 250),
+    	(14, 4, 80),    (10, 4, 100),   (37, 5, 150), (43, 5, 200), (42, 5, 150), (33, 6, 120), (46, 6, 100), (44, 6, 200), (16, 7, 100), (41, 7, 150),
+    	(45, 7, 100),   (35, 8, 120),   (34, 8, 100), (27, 8, 80), (7, 9, 200), (43, 9, 180), (17, 10, 100), (18, 10, 80), (36, 11, 150), (31, 11, 100),
+    	(11, 12, 150),  (23, 12, 50),   (32, 12, 120), (19, 13, 80), (20, 13, 60), (29, 14, 150), (32, 14, 100), (39, 15, 200), (40, 15, 150),
+        (50, 23, 100),  (1, 23, 250),   (48, 23, 150), (10, 23, 100), (58, 24, 200), (51, 24, 80), (28, 24, 120), (39, 24, 100), (30, 25, 150), (38, 25, 120), 
+        (40, 25, 100),  (24, 25, 50),   (12, 26, 100), (51, 26, 60), (42, 26, 150), (70, 27, 80), (85, 27, 60), (72, 27, 100), (79, 27, 50), (77, 22, 76);
+
+    -- meal totals are kept by the application, rows inserted here need them computed once
+    CALL REBUILD_MEAL_TOTALS();
+
+    -- the backend takes meal_content ids in blocks of 50, its first block must start after the rows inserted here
+    INSERT INTO id_generator (sequence_name, next_val)
+        SELECT 'meal_content', COALESCE(MAX(meal_content_id), 0) + 51 FROM meal_content;
+
+    INSERT INTO daily_limits (user_id, calorie_limit, protein_limit, fat_limit, carb_limit, water_goal) VALUES
+        (1, 1500, 105, 70, 263, 2500), (2, 2800, 140, 93, 350, 3200), (3, 1900, 95, 63, 238, 2300),
+        (4, 2200, 110, 73, 275, 2800), (5, 2300, 115, 77, 288, 2600), (6, 2600, 130, 87, 325, 3000);
+
+    -- ----------->   EXMAPLE RECIPE DATA   <--------------------------------
+
+    INSERT INTO recipe (name, description, image_url) VALUES 
+        ('Classic Pancakes', 'Fluffy American-style pancakes with maple syrup', "https://imgs.search.brave.com/jKO2xNWICax61UymkqnFvXUxXhptseoyQdpV-zpJ6dE/rs:fit:500:0:1:0/g:ce/aHR0cHM6Ly93d3cu/bXV5ZGVsaXNoLmNv/bS93cC1jb250ZW50/L3VwbG9hZHMvMjAy/My8xMC9lbnNhbGFk/YS1jZXNhci1yZWNp/cGUuanBn"),
+        ('Chicken Stir-Fry', 'Asian-style chicken with vegetables', "https://imgs.search.brave.com/zG_Y7DgwBlvi6ySEt2RrsjOXjCotuwmtazHDbUnTWJo/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9jb29r/aW5nd2l0aGthcmxp/LmNvbS93cC1jb250/ZW50L3VwbG9hZHMv/MjAyMy8wMS9jaGlj/a2VuLXN0aXItZnJ5/LWZ0LTMwMHgzMDAu/anBn"),
+        ('Greek Salad', 'Fresh Mediterranean salad with feta', "https://imgs.search.brave.com/2R1-OtrgNGALGHVnHeEsSKRGfwGdGQ8PQ6PQ3BEt8Fc/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly93d3cu/am9jb29rcy5jb20v/d3AtY29udGVudC91/cGxvYWRzLzIwMTMv/MTAvY2xhc3NpYy1n/cmVlay1zYWxhZC0x/LTIuanBn"),
+        ('Beef Chili', 'Spicy chili con carne with beans', "https://imgs.search.brave.com/7uTq8rUtgQ5A55IG_qC83Wc699OMuAnseFe4Ysl022s/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9yZXMu/Y2xvdWRpbmFyeS5j/b20vaGtzcWtkbGFo/L2ltYWdlL3VwbG9h/ZC9hcl8xOjEsY19m/aWxsLGRwcl8yLjAs/Zl9hdXRvLGZsX2xv/c3N5LnByb2dyZXNz/aXZlLnN0cmlwX3By/b2ZpbGUsZ19mYWNl/czphdXRvLHFfYXV0/bzpsb3csd18yMDAv/MjU1MjBfc2ZzLWJl/c3QtZ3JvdW5kLWJl/ZWYtY2hpbGktNA"),
+        ('Fruit Smoothie', 'Refreshing mixed fruit drink', "https://imgs.search.brave.com/w48lO9YxXQ_wPjeFe8-lyg981URsGIo2L6fPiwjrsLE/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9jb29r/aW5nbWF0dGVycy5v/cmcvd3AtY29udGVu/dC91cGxvYWRzLzIw/MjEvMTEvQ29va2lu/Zy1NYXR0ZXJzLVJl/Y2lwZS1GcnVpdFNt/b290aGllLnBuZw"),
+        ('Bacon & Eggs Breakfast', 'Classic American breakfast with crispy bacon', "https://imgs.search.brave.com/wH51ohGkCuruODul2B3DGE-P3VFMvPvv1QjYXu2BWEw/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9ibG9n/Z2VyLmdvb2dsZXVz/ZXJjb250ZW50LmNv/bS9pbWcvYi9SMjl2/WjJ4bC9BVnZYc0Vo/ZmNFMURFNVNFSzRm/UGgwTk11VzUxZV9Y/Q1NlNmtLc2dWN00t/NFVhbl9QSnNQU1lh/NkpIcWJoMk5GdnZs/RXBpZDUtbjZyVFVw/YXZrZmJ1TkQ2RUI5/MUlubXVCUm1UMFM4/dlpZdXpHTHBBZVU5/QzkzRjdBQWxtVGlk/T2VnOWRVT1huZU5r/MzA0M0RuYTkzL3M2/NDAtcncvUGVyZmVj/dC1CYWNvbi1hbmQt/RWdnc19JTUdfMDgy/MC5KUEc" ),
+        ('Tuna Salad Sandwich', 'Protein-rich lunch with canned tuna', "https://imgs.search.brave.com/H6wl_qOmVabTUPeH4Dzzn_K3rciKczlyDuR924Y7rnE/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly93d3cu/Zm9vZGllY3J1c2gu/Y29tL3dwLWNvbnRl/bnQvdXBsb2Fkcy8y/MDI0LzAxL1R1bmEt/U2FsYWQtZm9vZGll/Y3J1c2guY29tLTEx/LTcyOHgxMDkyLmpw/Zw"),
+        ('Creamy Mushroom Soup', 'Rich and hearty soup with mushrooms', "https://imgs.search.brave.com/R7Ywgb1WDo2ZEjbOGATpqdFa9-YowCzo4bnevByLg0M/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly93d3cu/d2lsbGNvb2tmb3Jz/bWlsZXMuY29tL3dw/LWNvbnRlbnQvdXBs/b2Fkcy8yMDI0LzAx/L011c2hyb29tLVNv/dXAtaW4tcG90LWhv/cml6b250YWwuanBn"),
+        ('Chocolate Chip Cookies', 'Sweet homemade cookies with chocolate', "https://imgs.search.brave.com/guScSNjwibkAwi6Xq8klRm6bHhY3IgA89f50xl9bhtw/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9wcmV2/aWV3LnJlZGQuaXQv/aG93LXRvLWktZ2V0/LXRleHR1cmVkLWNo/b2NvbGF0ZS1jaGlw/LWNvb2tpZXMtbGlr/ZS10aGUtb25lcy12/MC1zZ3MzaG1tajk0/ZmExLmpwZz93aWR0/aD02NDAmY3JvcD1z/bWFydCZhdXRvPXdl/YnAmcz0zZGMyZmVl/MTg5OTI2NjY1NTI4/MWJiODc3N2MwYTRh/MzhlZGNkNDkx"),
+        ('Ham & Cheese Omelet', 'Fluffy eggs with ham and melted cheese', "https://imgs.search.brave.com/mcEyL-i2_KNz1MN24EEqxqqHio6ayFqff_OYxMdJrEI/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9pMC53/cC5jb20vd3d3LnNv/bnNoaW5la2l0Y2hl/bi5jb20vd3AtY29u/dGVudC91cGxvYWRz/LzIwMTkvMDQvSGFt/LWFuZC1DaGVlc2Ut/T21lbGV0LTA0Lmpw/Zz9yZXNpemU9NzAw/LDQ2NyZzc2w9MQ" ),
+        ('Sardine Toast', 'Nutritious open-faced sandwich', "https://imgs.search.brave.com/pQMpSYZGv1U1Qe64S58scccbbyVD42x3f9-TFHuX6vg/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9tZWRp/YS5nZXR0eWltYWdl/cy5jb20vaWQvMTEz/NzA1NTg1NS9waG90/by9icnVzY2hldHRh/LWFuZC1zbWFsbC1z/YW5kd2ljaGVzLXdp/dGgtc2FyZGluZS10/b2FzdGVkLWJyZWFk/LXNuYWNrLW9yLWFw/cGV0aXplci1zYXJk/aW5lLmpwZz9zPTYx/Mng2MTImdz0wJms9/MjAmYz1KYVdUd0My/Sk5QbDBYR1hkTVZR/aTJBSXZYdHhxZjZP/bEhIalRvcUdDeXNv/PQ"),
+        ('Peanut Butter Smoothie', 'Protein-packed drink with nuts', "https://imgs.search.brave.com/2sMqO_OOHZsekwA96BBqK5Cr-2k2sjVpwqIaesVbYws/rs:fit:500:0:1:0/g:ce/aHR0cHM6Ly9jaGVm/c2F2dnkuY29tL3dw/LWNvbnRlbnQvdXBs/b2Fkcy9wZWFudXQt/YnV0dGVyLW9hdG1l/YWwtc21vb3RoaWUu/anBn" ),
+        ('Beef Chili Supreme', 'Spicy meat dish with beans', "https://imgs.search.brave.com/wSbC9MA3sGyBPktiSXblNCGXZhG-EgI6XG-4hPw9Ydo/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly93d3cu/d2ViZm9vZHN0b3Jl/LmNvbS9jZG4vc2hv/cC9wcm9kdWN0cy9j/MGFhNTM1NS1iYmNk/LTQ3MjgtODQxOS1m/NzFkZTEwY2ViYjZf/NDY3MDAyYzYtMjZj/YS00ZDc1LWJiM2Mt/NzgwNTQ4MDE3MTBj/LmpwZz92PTE2Mzkx/MjY4MjImd2lkdGg9/MTQ0NQ"),
+        ('Caesar Salad', 'Classic salad with cheese and dressing', "https://imgs.search.brave.com/OhqiDi15Je4TqAXGvkqOrWzVmRfmhD7nV8i_VHBYW2U/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly93d3cu/bXV5ZGVsaXNoLmNv/bS93cC1jb250ZW50/L3VwbG9hZHMvMjAy/My8xMC9lbnNhbGFk/YS1jZXNhci5qcGc"),
+        ('Apple Pie Delight', 'Traditional American dessert', "https://imgs.search.brave.com/b6VDPfzC6dnujL_WTUSFmy95j-mGoCAJWyfbLwrxuSo/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9hc3Nl/dHMuYm9uYXBwZXRp/dC5jb20vcGhvdG9z/LzU5YzE3ZTgxYWQ5/NjdmNmQwMTM5NmEy/ZS9tYXN0ZXIvd18x/MDI0LGNfbGltaXQv/YnV0dGVyc2NvdGNo/LWFwcGxlLWN1c3Rh/cmQuanBn"),
+        ('Chicken Noodle Soup', 'Comforting soup with tender chicken', "https://imgs.search.brave.com/jEUcIlYT7c5FPMqntnZrpP8g6mCEnkW7ASEz2xFh3vE/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly93d3cu/YXZlcmllY29va3Mu/Y29tL3dwLWNvbnRl/bnQvdXBsb2Fkcy8y/MDI0LzEwL2NoaWNr/ZW5ub29kbGVzb3Vw/LTIyLmpwZw"),
+        ('Chocolate Fudge Cake', 'Rich dessert with chocolate layers', "https://imgs.search.brave.com/PCn4NyupE-feeUWvqyFqgzzq9IGXVNT6Kk9yyix-Neg/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9wcmV2/aWV3LnJlZGQuaXQv/Y2hvY29sYXRlLWZ1/ZGdlLWNha2UtdGhh/dC1pLW1hZGUtZm9y/LW15LXBhcnRuZXJz/LTQwdGgtdjAtMmdt/ZDZ3ajAxZmFiMS5q/cGc_d2lkdGg9NjQw/JmNyb3A9c21hcnQm/YXV0bz13ZWJwJnM9/Y2EyMzNlNTQ3Yjc4/NTQzMjFmYjFmMWM5/N2VlMTdjMTYyNDg4/ZTM1ZQ"),
+        ('Greek Yogurt Bowl', 'Healthy breakfast with nuts and honey', "https://imgs.search.brave.com/2KtTKxyM5wHLUaqUYM5DqtQ1DSnDJYN-Nj9IW8-Ms8o/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly93d3cu/d2FsZGVyd2VsbG5l/c3MuY29tL3dwLWNv/bnRlbnQvdXBsb2Fk/cy8yMDIyLzAyL1Bl/YW51dC1CdXR0ZXIt/R3JlZWstWW9ndXJ0/LVdhbGRlci1XZWxs/bmVzcy0yLTY4MHgx/MDIwLmpwZw"),
+        ('Fish & Chips', 'Crispy fried fish with potato chips', "https://imgs.search.brave.com/JbOvs_UzFhpAnNkYSqxGKQRUFn76gLM3KOR7Qc9xRi4/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly9tZWRp/YS5pc3RvY2twaG90/by5jb20vaWQvMTIw/MjU0NTU1Mi9waG90/by9maXNoLWFuZC1j/aGlwcy1vbi1hLXdv/b2Rlbi1iYWNrZ3Jv/dW5kLWJyaXRpc2gt/ZmFzdC1mb29kLXJl/Y2lwZXMtc25hY2st/dG8tYmVlci1lbmds/aXNoLWN1aXNpbmUu/anBnP3M9NjEyeDYx/MiZ3PTAmaz0yMCZj/PWxsQTdoUnNScVAw/ZlY2VUVrblFIN2JG/THlXajZ5Q3p4THpj/SEhVZTFtUjA9"),
+        ('Vegetable Stir-Fry', 'Fresh mixed vegetables with oil', "https://imgs.search.brave.com/c0jLYAVHDzp4yyVT6i09w3vD5A56IollZ97N-kdIShk/rs:fit:860:0:0:0/g:ce/aHR0cHM6Ly93d3cu/YWxscmVjaXBlcy5j/b20vdGhtYi9NRjd5/VTFNQmJSbGFUNDBv/Z1ZyLTFQZ2dnS2M9/LzE1MDB4MC9maWx0/ZXJzOm5vX3Vwc2Nh/bGUoKTptYXhfYnl0/ZXMoMTUwMDAwKTpz/dHJpcF9pY2MoKS8y/MjI2NTgtZnJvemVu/LXZlZ2V0YWJsZS1z/dGlyLWZyeS00eDMt/MTM4Mi01ODNiNTNm/YTBiY2Q0MjQ3OTIw/NjExYWQ0MzFjMTRj/Yi5qcGc");
+
+    INSERT INTO recipe_content (recipe_id, ingredient_id, ingredient_amount) VALUES
+        (1, 192, 200),  (1, 1, 300),    (1, 6, 2),      (1, 206, 10),   (1, 168, 50),
+        (2, 120, 400),  (2, 137, 200),  (2, 140, 150),  (2, 162, 100),  (2, 48, 20),
+        (3, 150, 200),  (3, 162, 100),  (3, 212, 150),  (3, 12, 100),   (3, 48, 50),
+        (4, 110, 500),  (4, 133, 300),  (4, 158, 200),  (4, 162, 100),  (4, 205, 10), 
+        (5, 1, 200),    (5, 168, 100),  (5, 177, 150),  (5, 173, 100),  (5, 182, 50),
+        (6, 28, 150),   (6, 12, 100),   (6, 1, 200),    (6, 20, 10),    (6, 51, 80),
+        (7, 37, 200),   (7, 22, 50),    (7, 51, 60),    (7, 12, 80),    (7, 26, 30),
+        (8, 39, 300),   (8, 11, 150),   (8, 1, 200),    (8, 20, 15),    (8, 51, 40),
+        (9, 72, 120),   (9, 1, 100),    (9, 20, 20),    (9, 74, 80),    (9, 75, 60),
+        (10, 30, 200),  (10, 13, 120),  (10, 1, 150),   (10, 20, 15),   (10, 51, 50),
+        (11, 36, 180),  (11, 51, 80),   (11, 24, 20),   (11, 40, 100),  (11, 26, 40),
+        (12, 86, 150),  (12, 1, 250),   (12, 85, 100),  (12, 76, 80),   (12, 42, 100),
+        (13, 58, 300),  (13, 30, 250),  (13, 57, 200),  (13, 40, 150),  (13, 24, 30),
+        (14, 13, 150),  (14, 26, 60),   (14, 40, 200),  (14, 24, 40),   (14, 51, 100),
+        (15, 42, 200),  (15, 76, 150),  (15, 78, 100),  (15, 65, 120),  (15, 75, 80),
+        (16, 59, 250),  (16, 39, 200),  (16, 1, 150),   (16, 40, 100),  (16, 51, 60),
+        (17, 63, 200),  (17, 72, 150),  (17, 1, 200),   (17, 20, 25),   (17, 74, 100),
+        (18, 1, 300),   (18, 85, 120),  (18, 76, 100),  (18, 83, 80),   (18, 42, 150),
+        (19, 34, 200),  (19, 41, 150),  (19, 24, 30),   (19, 26, 40),   (19, 51, 80),
+        (20, 39, 250),  (20, 40, 200),  (20, 24, 40),   (20, 26, 30),   (20, 38, 150);
+
+    -- recipe macros are kept by the application, rows inserted here need them computed once
+    CALL REBUILD_RECIPE_MACROS();
+
+    INSERT INTO id_generator (sequence_name, next_val)
+        SELECT 'recipe_content', COALESCE(MAX(recipe_content_id), 0) + 51 FROM recipe_content;
+
+    -- ----------->   EXMAPLE WATER INTAKE DATA   <--------------------------------
+
+    INSERT INTO water_intake (intake_date, user_id, water_amount) VALUES
+    	('2026-02-01 08:00:00', 1, 500), ('2026-02-08 16:45:00', 1, 600),  ('2026-02-01 12:30:00', 1, 750), ('2026-01-29 20:15:00', 1, 400), ('2026-02-02 07:30:00', 1, 650),
+    	('2026-02-02 11:00:00', 1, 800), ('2026-01-29 15:30:00', 1, 550),  ('2026-02-02 19:45:00', 1, 450), ('2026-01-28 08:15:00', 1, 700), ('2026-02-03 13:00:00', 1, 900),
+    	('2026-02-03 17:30:00', 1, 350), ('2026-02-28 21:00:00', 1, 300),  ('2026-02-09 09:00:00', 1, 850), ('2026-01-27 14:15:00', 1, 600), ('2026-02-04 18:30:00', 1, 500),
+    	('2026-02-04 07:45:00', 1, 750), ('2026-02-01 09:30:00', 2, 300),  ('2026-02-01 14:00:00', 2, 400), ('2026-02-01 18:30:00', 2, 250), ('2026-02-02 08:15:00', 2, 350),
+    	('2026-02-05 13:45:00', 1, 450), ('2026-02-02 19:00:00', 2, 200),  ('2026-02-03 10:00:00', 2, 500), ('2026-02-03 15:30:00', 2, 300), ('2026-02-01 10:15:00', 3, 250),
+    	('2026-02-06 15:30:00', 1, 350), ('2026-02-01 20:00:00', 3, 200),  ('2026-02-02 08:45:00', 3, 300), ('2026-02-02 14:30:00', 3, 400), ('2026-02-02 18:15:00', 3, 150),
+    	('2026-02-07 11:00:00', 1, 200), ('2026-02-01 16:15:00', 4, 300),  ('2026-02-01 21:30:00', 4, 150), ('2026-02-02 09:30:00', 4, 250), ('2026-02-01 12:30:00', 5, 180),
+    	('2026-01-30 17:45:00', 1, 280), ('2026-02-01 22:00:00', 5, 120),  ('2026-02-02 10:15:00', 5, 220), ('2026-02-02 11:00:00', 6, 200), ('2026-02-02 17:15:00', 6, 300),
+    	('2026-01-30 21:30:00', 6, 50),  ('2026-02-03 14:30:00', 6, 350),  ('2026-02-03 19:45:00', 6, 150);
+
+    -- ----------->   EXMAPLE EXERCISE DATA   <--------------------------------
+
+    INSERT INTO exercise_info (metabolic_equivalent, name) VALUES
+    	(1.5, 'Writing, desk work, using computer'), (2.0, 'Walking slowly'), (2.5, 'Walking (3.2 km/h)'), (2.3, 'Playing piano'), (1.5, 'Light seated work'),
+    	(1.0, 'Driving a car'), (1.0, 'Lying down'), (3.0, 'Walking (4.8 km/h)'), (3.3, 'Yoga session with asanas and pranayama'), (3.5, 'Light cycling'),
+    	(3.5, 'Housework'), (2.9, 'Volleyball (recreational)'), (3.5, 'Slow cycling'), (3.0, 'Sweeping or mopping floors, vacuuming carpets'), (4.5, 'March (6.4 km/h)'),
+    	(4.5, 'Lawn mowing'), (4.5, 'Slow swimming'), (4.9, 'Wood chopping'), (5.0, 'Tennis doubles'), (5.0, 'Weight lifting (moderate intensity)'),
+    	(5.5, 'Ice skating'), (5.7, 'Fast cycling'), (5.8, 'Sexual activity, aged 22'), (6.0, 'Aerobic dancing, medium effort'), (6.0, 'Aerobics'),
+    	(6.9, 'Mountain walking without load'), (7.0, 'Fast swimming'), (7.4, 'Sun salutation (vigorous with transition jumps)'), (8.0, 'Basketball game'), (8.0, 'Brisk walking (8 km/h)'),
+    	(8.0, 'Swimming moderately to hard'), (8.8, 'Jogging (9.0 km/h)'), (9.8, 'Football'), (10.3, 'Football (from English list)'),
+    	(10.5, 'Rope jumping (84/min)'), (11.0, 'Rope jumping (100/min)'), (11.2, 'Jogging (10.9 km/h)'), (7.0, 'Rowing machine moderate'), 
+        (8.5, 'Rowing machine vigorous'), (9.0, 'Running (9.7 km/h or 6 mph)'), (10.0, 'Running (10.8 km/h or 6.7 mph)'), (11.5, 'Running (11.3 km/h or 7 mph)'), 
+        (12.5, 'Running (12.9 km/h or 8 mph)'), (6.0, 'Handball competitive'), (7.5, 'Squash playing'), (8.0, 'Table tennis competitive'), (10.0, 'Racquetball competitive'), 
+        (12.0, 'Boxing sparring'), (7.0, 'Water polo competitive'), (9.0, 'Surfing recreational'), (8.0, 'Rock climbing moderate'), (10.0, 'Rock climbing vigorous');
+
+
+    INSERT INTO user_exercise (user_id, exercise_id, activity_date, duration) VALUES
+    	(1, 1,  '2026-02-11 08:30:00', 30), (1, 2,  '2026-02-12 18:00:00', 45), (1, 3, '2026-02-13 07:15:00', 60),  (1, 4, '2026-02-13 12:00:00', 40),  (1, 5, '2026-02-12 09:00:00', 50),      
+    	(1, 6,  '2026-02-11 17:30:00', 35), (1, 7,  '2026-02-10 10:00:00', 30), (1, 8, '2026-02-08 15:45:00', 25),  (1, 9, '2026-02-09 19:00:00', 30),  (1, 10, '2026-02-10 08:00:00', 60),
+    	(1, 15, '2026-02-10 07:00:00', 45), (1, 22, '2026-02-12 19:30:00', 60), (2, 8, '2026-02-03 06:45:00', 30),  (2, 33, '2026-02-04 20:15:00', 40), (2, 12, '2026-02-05 08:30:00', 35),
+    	(1, 28, '2026-02-10 18:00:00', 50), (1, 5,  '2026-02-12 07:30:00', 25), (2, 19, '2026-02-08 16:45:00', 55), (2, 31, '2026-02-09 09:15:00', 40), (2, 14, '2026-02-10 17:00:00', 35), 
+    	(1, 17, '2026-02-02 18:45:00', 35), (3, 25, '2026-02-03 08:00:00', 45), (3, 9, '2026-02-04 19:30:00', 30),  (3, 21, '2026-02-05 07:15:00', 60), (3, 36, '2026-02-06 16:30:00', 40),
+    	(1, 11, '2026-02-07 09:45:00', 25), (3, 27, '2026-02-08 20:00:00', 50), (3, 4, '2026-02-09 06:00:00', 35),  (3, 18, '2026-02-10 15:30:00', 45), (4, 7, '2026-02-01 08:15:00', 40),
+    	(1, 24, '2026-02-06 17:30:00', 55), (4, 13, '2026-02-03 09:30:00', 30), (4, 32, '2026-02-04 18:15:00', 45), (4, 6, '2026-02-05 07:45:00', 35),  (4, 20, '2026-02-06 19:45:00', 50),
+    	(1, 29, '2026-02-08 08:00:00', 25), (4, 16, '2026-02-08 17:15:00', 40), (4, 35, '2026-02-09 10:30:00', 60), (4, 23, '2026-02-10 16:00:00', 30), (5, 26, '2026-02-01 05:45:00', 65),
+    	(1, 10, '2026-02-02 20:30:00', 35), (5, 34, '2026-02-03 06:15:00', 50), (5, 1, '2026-02-04 19:00:00', 40),  (5, 30, '2026-02-05 08:45:00', 45), (5, 37, '2026-02-06 17:45:00', 30),
+    	(1, 8,  '2026-02-07 07:00:00', 55), (5, 22, '2026-02-08 18:30:00', 25), (5, 15, '2026-02-09 09:00:00', 40), (5, 31, '2026-02-10 20:15:00', 50), (6, 29, '2026-02-01 10:00:00', 30),
+    	(1, 2,  '2026-02-02 16:45:00', 45), (6, 33, '2026-02-03 08:30:00', 35), (6, 12, '2026-02-04 21:00:00', 60), (6, 25, '2026-02-05 06:30:00', 40), (6, 17, '2026-02-06 18:45:00', 50),
+    	(1, 31, '2026-02-05 09:15:00', 25), (6, 4,  '2026-02-08 19:30:00', 35), (6, 28, '2026-02-09 07:30:00', 45), (3, 3, '2026-02-01 06:30:00', 50),  (6, 14, '2026-02-10 15:45:00', 55);
+
+    -- ----------->   EXMAPLE LIMIT AND WEIGHT HISTORY DATA   <--------------------------------
+    INSERT INTO weight_history (user_id, measurement_date, weight) VALUES 
+    (1, '2025-01-15 08:30:00', 65.50), (1, '2025-01-29 08:15:00', 60.80), (1, '2025-02-04 08:45:00', 60.20), (1, '2025-02-26 08:20:00', 63.60), 
+    (1, '2025-01-18 08:35:00', 63.00), (1, '2025-02-01 08:25:00', 61.40), (1, '2025-04-05 08:40:00', 60.90), (1, '2025-04-22 08:15:00', 61.20), 
+    (1, '2025-01-22 08:30:00', 60.90), (1, '2025-02-02 08:45:00', 60.0),  (1, '2025-05-06 08:25:00', 59.60), (1, '2025-05-23 08:30:00', 59.5),
+    (1, '2025-01-27 08:25:00', 59.60), (1, '2025-02-03 08:30:00', 60.80), (1, '2026-02-07 08:45:00', 59.20), (1, '2026-02-09 08:25:00', 58.60);
+    UPDATE user_info SET weight=55.0 WHERE user_id = 1;
+
+    UPDATE daily_limits 
+        SET calorie_limit = 1700, protein_limit = 120, fat_limit = 60, carb_limit = 200, water_goal = 2500
+    WHERE user_id = 1;
+    UPDATE daily_limits 
+        SET calorie_limit = 1836, protein_limit = 150, fat_limit = 65, carb_limit = 180, water_goal = 3000
+    WHERE user_id = 1;
+END IF;
+END$$
+DELIMITER ;
+
+CALL INSERT_SAMPLE_DATA();
+DROP PROCEDURE INSERT_SAMPLE_DATA;
@@ -0,0 +1,256 @@
+package com.bd2_team6.biteright;
+
+import com.bd2_team6.biteright.entities.daily_summary.DailySummaryRepository;
+import com.bd2_team6.biteright.entities.email_outbox.OutboxEmailRepository;
+import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfoRepository;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+import com.bd2_team6.biteright.entities.meal.MealRepository;
+import com.bd2_team6.biteright.entities.meal_type.MealTypeRepository;
+import com.bd2_team6.biteright.entities.recipe.RecipeRepository;
+import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.entities.user_exercise.UserExerciseRepository;
+import com.bd2_team6.biteright.entities.verification_code.VerificationCodeRepository;
+import com.bd2_team6.biteright.entities.water_intake.WaterIntakeRepository;
+import com.bd2_team6.biteright.entities.weight_history.WeightHistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repository queries, asks H2 for the plan of every statement they send and fails when a plan scans a whole
+ * table, so a query that stops matching an index, or an index dropped from an entity, breaks the build.
+ * The indexes come from the entities' {@code @Table(indexes = ...)}, which mirror the MySQL migrations.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.bd2_team6.biteright.QueryPlanTests$RecordingInspector")
+public class QueryPlanTests {
+    // H2 writes the access path of every table into the plan: "/* PUBLIC.MEAL.tableScan */", or the index name
+    // followed by the conditions it is searched with, "/* PUBLIC.MEAL_USER_DATE_IDX: USER_ID = ?1 */"
+    private static final Pattern ACCESS_PATH = Pattern.compile("/\\* (PUBLIC\\.[A-Z0-9_]+)(\\.tableScan|: [^*]*)? \\*/");
+
+    /// Queries that cannot use an index, with the reason
+    private static final Map<String, String> EXPECTED_SCANS = Map.of(
+            "ExerciseInfoRepository.search", "a contains search on the name, the pattern starts with a wildcard",
+            "RecipeRepository.searchSummaries", "a contains search on the name, the pattern starts with a wildcard",
+            "RecipeRepository.findIdsByNameLike", "a contains search on the name, the pattern starts with a wildcard",
+            "IngredientRepository.findByNameContainingIgnoreCase",
+            "a contains search on the name, the pattern starts with a wildcard",
+            "UserRepository.findByUsernameOrEmail",
+            "MySQL merges the two unique indexes for the OR, H2 cannot",
+            "UserRepository.findByEmailOrUsername",
+            "MySQL merges the two unique indexes for the OR, H2 cannot");
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MealRepository mealRepository;
+    @Autowired
+    private MealTypeRepository mealTypeRepository;
+    @Autowired
+    private WaterIntakeRepository waterIntakeRepository;
+    @Autowired
+    private UserExerciseRepository userExerciseRepository;
+    @Autowired
+    private WeightHistoryRepository weightHistoryRepository;
+    @Autowired
+    private DailySummaryRepository dailySummaryRepository;
+    @Autowired
+    private VerificationCodeRepository verificationCodeRepository;
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+    @Autowired
+    private IngredientRepository ingredientRepository;
+    @Autowired
+    private ExerciseInfoRepository exerciseInfoRepository;
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    private User user;
+
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void userQueriesShouldUseIndexes() {
+        assertPlans("UserRepository.findByEmail", () -> userRepository.findByEmail("john@example.com"));
+        assertPlans("UserRepository.findByUsername", () -> userRepository.findByUsername("john_doe"));
+        assertPlans("UserRepository.existsByUsername", () -> userRepository.existsByUsername("john_doe"));
+        assertPlans("UserRepository.findByUsernameOrEmail",
+                () -> userRepository.findByUsernameOrEmail("john_doe", "john@example.com"));
+        assertPlans("UserRepository.findByEmailOrUsername",
+                () -> userRepository.findByEmailOrUsername("john@example.com", "john_doe"));
+        assertPlans("VerificationCodeRepository.findByUser", () -> verificationCodeRepository.findByUser(user));
+    }
+
+    @Test
+    public void historyQueriesShouldUseIndexes() {
+        LocalDateTime start = LocalDateTime.parse("2025-05-01T00:00:00");
+        LocalDateTime end = LocalDateTime.parse("2025-06-01T00:00:00");
+        PageRequest page = PageRequest.of(1, 10);
+
+        assertPlans("MealRepository.findHistoryIds", () -> mealRepository.findHistoryIds(user.getId(), start, end,
+                null, end, Long.MAX_VALUE, PageRequest.of(0, 20)));
+        assertPlans("MealRepository.findAllByUserIdAndMealDateBetweenOrderByMealDateAscMealIdAsc",
+                () -> mealRepository.findAllByUserIdAndMealDateBetweenOrderByMealDateAscMealIdAsc(user.getId(),
+                        start, end));
+        assertPlans("MealRepository.findByUserIdAndMealId", () -> mealRepository.findByUserIdAndMealId(user.getId(), 1L));
+
+        assertPlans("WaterIntakeRepository.findByUserId", () -> waterIntakeRepository.findByUserId(user.getId(),
+                page.withSort(Sort.by(Sort.Direction.DESC, "intakeDate"))));
+        assertPlans("WaterIntakeRepository.findByUserIdAndIntakeDateBetween",
+                () -> waterIntakeRepository.findByUserIdAndIntakeDateBetween(user.getId(), start, end, page));
+        assertPlans("WaterIntakeRepository.findTopByUserIdOrderByIntakeDateDesc",
+                () -> waterIntakeRepository.findTopByUserIdOrderByIntakeDateDesc(user.getId()));
+        assertPlans("WaterIntakeRepository.findHistory", () -> waterIntakeRepository.findHistory(user.getId(), start, end, end,
+                Long.MAX_VALUE, PageRequest.of(0, 21)));
+        assertPlans("WaterIntakeRepository.countHistory", () -> waterIntakeRepository.countHistory(user.getId(), start, end));
+
+        assertPlans("UserExerciseRepository.findByUserId", () -> userExerciseRepository.findByUserId(user.getId(),
+                page.withSort(Sort.by(Sort.Direction.DESC, "activityDate"))));
+        assertPlans("UserExerciseRepository.findByUserIdAndActivityDateBetween",
+                () -> userExerciseRepository.findByUserIdAndActivityDateBetween(user.getId(), start, end, page));
+        assertPlans("UserExerciseRepository.findTopByUserIdOrderByActivityDateDesc",
+                () -> userExerciseRepository.findTopByUserIdOrderByActivityDateDesc(user.getId()));
+        assertPlans("UserExerciseRepository.findHistory", () -> userExerciseRepository.findHistory(user.getId(), start, end, end,
+                Long.MAX_VALUE, PageRequest.of(0, 21)));
+        assertPlans("UserExerciseRepository.countHistory", () -> userExerciseRepository.countHistory(user.getId(), start, end));
+
+        assertPlans("WeightHistoryRepository.findByUserId", () -> weightHistoryRepository.findByUserId(user.getId(),
+                page.withSort(Sort.by(Sort.Direction.DESC, "measurementDate"))));
+        assertPlans("WeightHistoryRepository.findByUserIdAndMeasurementDateBetween",
+                () -> weightHistoryRepository.findByUserIdAndMeasurementDateBetween(user.getId(), start, end, page));
+        assertPlans("WeightHistoryRepository.findTopByUserIdOrderByMeasurementDateDesc",
+                () -> weightHistoryRepository.findTopByUserIdOrderByMeasurementDateDesc(user.getId()));
+        assertPlans("WeightHistoryRepository.findHistory", () -> weightHistoryRepository.findHistory(user.getId(), start, end, end,
+                Long.MAX_VALUE, PageRequest.of(0, 21)));
+        assertPlans("WeightHistoryRepository.countHistory", () -> weightHistoryRepository.countHistory(user.getId(), start, end));
+        assertPlans("WeightHistoryRepository.findBounds", () -> weightHistoryRepository.findBounds(user.getId(), start, end));
+
+        assertPlans("DailySummaryRepository.findByUserIdAndSummaryDateBetweenOrderBySummaryDateAsc",
+                () -> dailySummaryRepository.findByUserIdAndSummaryDateBetweenOrderBySummaryDateAsc(user.getId(),
+                        LocalDate.parse("2025-05-01"), LocalDate.parse("2025-05-31")));
+        assertPlans("DailySummaryRepository.findByUserIdAndSummaryDateLessThanEqualOrderBySummaryDateAsc",
+                () -> dailySummaryRepository.findByUserIdAndSummaryDateLessThanEqualOrderBySummaryDateAsc(
+                        user.getId(), LocalDate.parse("2025-05-31")));
+    }
+
+    @Test
+    public void catalogQueriesShouldUseIndexes() {
+        assertPlans("IngredientRepository.findByName", () -> ingredientRepository.findByName("Milk"));
+        assertPlans("IngredientRepository.findByNameContainingIgnoreCase",
+                () -> ingredientRepository.findByNameContainingIgnoreCase("milk"));
+        assertPlans("ExerciseInfoRepository.findByName", () -> exerciseInfoRepository.findByName("Running"));
+        assertPlans("ExerciseInfoRepository.search",
+                () -> exerciseInfoRepository.search("%run%", "", 0L, PageRequest.of(0, 20)));
+        assertPlans("MealTypeRepository.findByName", () -> mealTypeRepository.findByName("Lunch"));
+        assertPlans("RecipeRepository.findByName", () -> recipeRepository.findByName("Pancakes"));
+        assertPlans("RecipeRepository.findIdsByNameLike",
+                () -> recipeRepository.findIdsByNameLike("%pan%", PageRequest.of(0, 20)));
+        assertPlans("RecipeRepository.findWithContentsByRecipeIdIn",
+                () -> recipeRepository.findWithContentsByRecipeIdIn(List.of(1L, 2L)));
+        assertPlans("RecipeRepository.searchSummaries",
+                () -> recipeRepository.searchSummaries("%pan%", "", 0L, PageRequest.of(0, 20)));
+        assertPlans("RecipeRepository.recalculateMacrosOfRecipesWithIngredient",
+                () -> recipeRepository.recalculateMacrosOfRecipesWithIngredient(1L));
+        assertPlans("MealRepository.recalculateNutritionOfMealsWithIngredient",
+                () -> mealRepository.recalculateNutritionOfMealsWithIngredient(1L));
+    }
+
+    @Test
+    public void outboxQueriesShouldUseIndexes() {
+        assertPlans("OutboxEmailRepository.findDueForUpdate",
+                () -> outboxEmailRepository.findDueForUpdate(LocalDateTime.now(), PageRequest.of(0, 20)));
+        assertPlans("OutboxEmailRepository.countByStatus", () -> outboxEmailRepository.countByStatus("pending"));
+        assertPlans("OutboxEmailRepository.deleteFinishedBefore",
+                () -> outboxEmailRepository.deleteFinishedBefore(LocalDateTime.now()));
+    }
+
+    private void assertPlans(String query, Runnable call) {
+        RecordingInspector.statements.clear();
+        call.run();
+        List<String> statements = new ArrayList<>(RecordingInspector.statements);
+        assertFalse(statements.isEmpty(), query + " sent no statements");
+
+        List<String> scans = new ArrayList<>();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher accessPath = ACCESS_PATH.matcher(plan);
+            while (accessPath.find()) {
+                // an index read without conditions reads the whole table in index order
+                if (accessPath.group(2) == null || accessPath.group(2).equals(".tableScan")) {
+                    scans.add(accessPath.group(1) + " in\n" + plan);
+                }
+            }
+        }
+        if (EXPECTED_SCANS.containsKey(query)) {
+            assertFalse(scans.isEmpty(), query + " is expected to scan (" + EXPECTED_SCANS.get(query)
+                    + ") but uses an index now, remove it from EXPECTED_SCANS");
+        } else {
+            assertTrue(scans.isEmpty(), query + " scans a whole table:\n" + String.join("\n", scans));
+        }
+    }
+
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // H2 folds conditions on null into FALSE, so every parameter gets a value of its type; strings are
+                // contains patterns, the kind of string that cannot be searched in an index
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    switch (parameters.getParameterType(i)) {
+                        case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR -> statement.setString(i, "%a%");
+                        case Types.DATE -> statement.setObject(i, LocalDate.parse("2025-05-01"));
+                        case Types.TIMESTAMP -> statement.setObject(i, LocalDateTime.parse("2025-05-01T00:00:00"));
+                        case Types.BOOLEAN -> statement.setBoolean(i, true);
+                        default -> statement.setInt(i, 1);
+                    }
+                }
+                try (ResultSet result = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (result.next()) {
+                        plan.append(result.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+}
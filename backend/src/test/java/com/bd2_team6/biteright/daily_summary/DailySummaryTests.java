@@ -0,0 +1,147 @@
+package com.bd2_team6.biteright.daily_summary;
+
+import com.bd2_team6.biteright.entities.daily_summary.DailyActivity;
+import com.bd2_team6.biteright.entities.daily_summary.DailySummary;
+import com.bd2_team6.biteright.entities.daily_summary.DailySummaryRepository;
+import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.controllers.DTO.NutritionStatsDTO;
+import com.bd2_team6.biteright.service.ActivityStreaks;
+import com.bd2_team6.biteright.service.DailySummaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class DailySummaryTests {
+
+    @Autowired
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void shouldSaveDailySummary() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+
+        DailySummary summary = new DailySummary(user.getId(), LocalDate.parse("2025-05-12"), 2100, 120, 70, 250, 1500, 300);
+        dailySummaryRepository.save(summary);
+
+        DailySummary found = dailySummaryRepository
+                .findByUserIdAndSummaryDate(user.getId(), LocalDate.parse("2025-05-12")).orElse(null);
+        assertNotNull(found);
+        assertEquals(2100, found.getCalories());
+        assertEquals(1500, found.getWaterDrank());
+        assertEquals(300, found.getCaloriesBurnt());
+    }
+
+    @Test
+    public void shouldUpdateDailySummary() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+
+        DailySummary summary = new DailySummary(user.getId(), LocalDate.parse("2025-05-12"), 2100, 120, 70, 250, 1500, 300);
+        dailySummaryRepository.save(summary);
+
+        summary.setWaterDrank(2000);
+        dailySummaryRepository.save(summary);
+
+        DailySummary updated = dailySummaryRepository
+                .findByUserIdAndSummaryDate(user.getId(), LocalDate.parse("2025-05-12")).orElse(null);
+        assertNotNull(updated);
+        assertEquals(2000, updated.getWaterDrank());
+    }
+
+    @Test
+    public void shouldFindDailySummariesBetweenDates() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        User otherUser = new User("jane_doe", "jane@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+        userRepository.save(otherUser);
+
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-10"), 1800, 100, 60, 200, 1000, 0));
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-11"), 1900, 110, 65, 210, 1200, 150));
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-14"), 2000, 120, 70, 220, 1400, 0));
+        dailySummaryRepository.save(new DailySummary(otherUser.getId(), LocalDate.parse("2025-05-11"), 2500, 150, 90, 300, 2000, 500));
+
+        List<DailySummary> summaries = dailySummaryRepository.findByUserIdAndSummaryDateBetween(
+                user.getId(), LocalDate.parse("2025-05-10"), LocalDate.parse("2025-05-12"));
+        assertEquals(2, summaries.size());
+        assertTrue(summaries.stream().allMatch(summary -> summary.getUserId().equals(user.getId())));
+    }
+
+    @Test
+    public void shouldDeleteDailySummary() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+
+        DailySummary summary = new DailySummary(user.getId(), LocalDate.parse("2025-05-12"), 2100, 120, 70, 250, 1500, 300);
+        dailySummaryRepository.save(summary);
+
+        dailySummaryRepository.delete(summary);
+        assertTrue(dailySummaryRepository
+                .findByUserIdAndSummaryDate(user.getId(), LocalDate.parse("2025-05-12")).isEmpty());
+    }
+
+    @Test
+    public void shouldFindActivityUpToDateInOrder() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-12"), 2000, 120, 70, 220, 1400, 0));
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-10"), 1800, 100, 60, 200, 1000, 0));
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-11"), 1900, 110, 65, 210, 1200, 150));
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-14"), 2100, 120, 70, 250, 1500, 300));
+
+        List<DailyActivity> activity = dailySummaryRepository
+                .findByUserIdAndSummaryDateLessThanEqualOrderBySummaryDateAsc(user.getId(), LocalDate.parse("2025-05-13"));
+        assertEquals(3, activity.size());
+        assertEquals(LocalDate.parse("2025-05-10"), activity.get(0).getSummaryDate());
+        assertEquals(150, activity.get(1).getCaloriesBurnt());
+
+        ActivityStreaks streaks = ActivityStreaks.of(
+                activity.stream().map(DailyActivity::getSummaryDate).toList(), LocalDate.parse("2025-05-13"));
+        assertEquals(3, streaks.getCurrentStreak());
+        assertEquals(3, streaks.getLongestStreak());
+    }
+
+    @Test
+    public void shouldCalculateStatisticsPerMonth() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-04-30"), 1000, 100, 60, 200, 1000, 0));
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-10"), 2000, 100, 60, 200, 1000, 0));
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-11"), 3000, 110, 65, 210, 1200, 150));
+        dailySummaryRepository.save(new DailySummary(user.getId(), LocalDate.parse("2025-05-14"), 4000, 120, 70, 220, 1400, 0));
+
+        DailySummaryService service = new DailySummaryService(dailySummaryRepository);
+        List<NutritionStatsDTO> stats = service.calculateStatistics(
+                user.getId(), LocalDate.parse("2025-04-15"), LocalDate.parse("2025-05-20"), "month");
+
+        assertEquals(2, stats.size());
+        assertEquals(LocalDate.parse("2025-04-15"), stats.get(0).getPeriodStart());
+        assertEquals(1, stats.get(0).getDays());
+
+        NutritionStatsDTO may = stats.get(1);
+        assertEquals(LocalDate.parse("2025-05-01"), may.getPeriodStart());
+        assertEquals(LocalDate.parse("2025-05-20"), may.getPeriodEnd());
+        assertEquals(3, may.getDays());
+        assertEquals(3000.0, may.getCalories().getAverage(), 1e-9);
+        assertEquals(2000, may.getCalories().getMin());
+        assertEquals(4000, may.getCalories().getMax());
+        assertEquals(Math.sqrt(2_000_000.0 / 3), may.getCalories().getStandardDeviation(), 1e-6);
+        assertEquals(3000.0, may.getCalories().getMedian(), 1e-9);
+        assertEquals(3800.0, may.getCalories().getPercentile90(), 1e-9);
+        assertEquals(50.0, may.getCaloriesBurnt().getAverage(), 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> service.calculateStatistics(
+                user.getId(), LocalDate.parse("2025-04-15"), LocalDate.parse("2025-05-20"), "year"));
+    }
+}
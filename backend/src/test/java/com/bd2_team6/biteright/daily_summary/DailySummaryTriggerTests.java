@@ -0,0 +1,182 @@
+package com.bd2_team6.biteright.daily_summary;
+
+import com.bd2_team6.biteright.controllers.DTO.MealContentDTO;
+import com.bd2_team6.biteright.controllers.requests.create_requests.MealCreateRequest;
+import com.bd2_team6.biteright.controllers.requests.create_requests.UserExerciseCreateRequest;
+import com.bd2_team6.biteright.controllers.requests.create_requests.WaterIntakeCreateRequest;
+import com.bd2_team6.biteright.controllers.requests.update_requests.MealUpdateRequest;
+import com.bd2_team6.biteright.controllers.requests.update_requests.UserExerciseUpdateRequest;
+import com.bd2_team6.biteright.controllers.requests.update_requests.WaterIntakeUpdateRequest;
+import com.bd2_team6.biteright.entities.daily_summary.DailySummary;
+import com.bd2_team6.biteright.entities.daily_summary.DailySummaryRepository;
+import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfo;
+import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfoRepository;
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+import com.bd2_team6.biteright.entities.meal.Meal;
+import com.bd2_team6.biteright.entities.meal_type.MealType;
+import com.bd2_team6.biteright.entities.meal_type.MealTypeRepository;
+import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.entities.user_exercise.UserExercise;
+import com.bd2_team6.biteright.entities.user_goal.UserGoal;
+import com.bd2_team6.biteright.entities.user_goal.UserGoalRepository;
+import com.bd2_team6.biteright.entities.user_info.UserInfo;
+import com.bd2_team6.biteright.entities.user_info.UserInfoRepository;
+import com.bd2_team6.biteright.entities.water_intake.WaterIntake;
+import com.bd2_team6.biteright.service.DailySummaryRebuildService;
+import com.bd2_team6.biteright.service.HistoryCountCache;
+import com.bd2_team6.biteright.service.MealService;
+import com.bd2_team6.biteright.service.UserExerciseService;
+import com.bd2_team6.biteright.service.WaterIntakeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the rollup is maintained by the MySQL triggers of V2__create_triggers_and_procedures.sql, which H2 cannot run;
+// the schema is created by the migrations in a MySQL container, the class is skipped where Docker is missing
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({MealService.class, WaterIntakeService.class, UserExerciseService.class, DailySummaryRebuildService.class,
+        HistoryCountCache.class, SimpleMeterRegistry.class})
+public class DailySummaryTriggerTests {
+    private static final LocalDate DAY = LocalDate.parse("2025-05-12");
+    private static final LocalDate NEXT_DAY = DAY.plusDays(1);
+
+    // same server flag as docker-compose, the migrations create triggers
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4")
+            .withCommand("--log-bin-trust-function-creators=ON");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserGoalRepository userGoalRepository;
+
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+
+    @Autowired
+    private MealTypeRepository mealTypeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private ExerciseInfoRepository exerciseInfoRepository;
+
+    @Autowired
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private WaterIntakeService waterIntakeService;
+
+    @Autowired
+    private UserExerciseService userExerciseService;
+
+    @Autowired
+    private DailySummaryRebuildService dailySummaryRebuildService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void shouldRollUpMealsWaterAndExercisesThroughTriggers() {
+        User user = userRepository.save(new User("rollup_user", "rollup@example.com", "passwordHash", "user"));
+        UserGoal goal = userGoalRepository.save(new UserGoal("maintain", 60.0f, LocalDate.parse("2026-01-01")));
+        // calories burnt are computed by a trigger from this weight
+        userInfoRepository.save(new UserInfo(user, goal, "Jane", "Doe", 30, 60.0f, 170, "active", 20.8f));
+        MealType lunch = mealTypeRepository.save(new MealType("Rollup lunch"));
+        Ingredient rice = ingredientRepository.save(new Ingredient("Rollup rice", "Brand", 100, 130, 3, 0, 28));
+        Ingredient chicken = ingredientRepository.save(new Ingredient("Rollup chicken", "Brand", 100, 165, 31, 4, 0));
+        ExerciseInfo running = exerciseInfoRepository.save(new ExerciseInfo(8.0f, "Rollup running"));
+        Long userId = user.getId();
+
+        Meal meal = mealService.createMeal(userId, new MealCreateRequest(lunch.getTypeId(), "Lunch", null,
+                DAY.atTime(12, 0), List.of(
+                        new MealContentDTO(null, rice.getIngredientId(), rice.getName(), 200),
+                        new MealContentDTO(null, chicken.getIngredientId(), chicken.getName(), 100))));
+        waterIntakeService.createWaterIntake(userId, new WaterIntakeCreateRequest(DAY.atTime(8, 0), 500));
+        WaterIntake afternoonWater = waterIntakeService.createWaterIntake(userId,
+                new WaterIntakeCreateRequest(DAY.atTime(15, 0), 250));
+        WaterIntake nextDayWater = waterIntakeService.createWaterIntake(userId,
+                new WaterIntakeCreateRequest(NEXT_DAY.atTime(9, 0), 300));
+        UserExercise run = userExerciseService.createUserExercise(userId,
+                new UserExerciseCreateRequest(running.getExerciseId(), DAY.atTime(18, 0), 30));
+
+        // 200 g rice and 100 g chicken; 8 MET * 60 kg * 30 min / 60
+        assertRollup(userId, DAY, 425, 37, 4, 56, 750, 240);
+        assertRollup(userId, NEXT_DAY, 0, 0, 0, 0, 300, 0);
+
+        mealService.updateMeal(userId, new MealUpdateRequest(lunch.getTypeId(), "Lunch", null, List.of(
+                new MealContentDTO(null, rice.getIngredientId(), rice.getName(), 100))), meal.getMealId());
+        waterIntakeService.updateWaterIntakeById(userId, afternoonWater.getWaterIntakeId(),
+                new WaterIntakeUpdateRequest(400));
+        waterIntakeService.deleteWaterIntakeById(userId, nextDayWater.getWaterIntakeId());
+        userExerciseService.updateUserExerciseById(userId, run.getUserExerciseId(),
+                new UserExerciseUpdateRequest(running.getExerciseId(), NEXT_DAY.atTime(7, 0), 15));
+        Meal snack = mealService.createMeal(userId, new MealCreateRequest(lunch.getTypeId(), "Snack", null,
+                DAY.plusDays(2).atTime(16, 0), List.of(
+                        new MealContentDTO(null, rice.getIngredientId(), rice.getName(), 50))));
+        assertRollup(userId, DAY.plusDays(2), 65, 2, 0, 14, 0, 0);
+        mealService.deleteMeal(userId, snack.getMealId());
+
+        assertRollup(userId, DAY, 130, 3, 0, 28, 900, 0);
+        // the exercise moved to the next day, whose water was deleted
+        assertRollup(userId, NEXT_DAY, 0, 0, 0, 0, 0, 120);
+        // the row of a day is removed with its last entry
+        assertTrue(dailySummaryRepository.findByUserIdAndSummaryDate(userId, DAY.plusDays(2)).isEmpty());
+
+        List<String> maintained = summariesOf(userId);
+        dailySummaryRebuildService.rebuildDailySummaries();
+        entityManager.clear();
+        assertEquals(maintained, summariesOf(userId));
+    }
+
+    private void assertRollup(Long userId, LocalDate date, int calories, int protein, int fat, int carbs,
+                              int waterDrank, int caloriesBurnt) {
+        entityManager.flush();
+        entityManager.clear();
+        DailySummary summary = dailySummaryRepository.findByUserIdAndSummaryDate(userId, date).orElse(null);
+        assertNotNull(summary);
+        assertEquals(List.of(calories, protein, fat, carbs, waterDrank, caloriesBurnt), List.of(summary.getCalories(),
+                summary.getProtein(), summary.getFat(), summary.getCarbs(), summary.getWaterDrank(),
+                summary.getCaloriesBurnt()));
+    }
+
+    private List<String> summariesOf(Long userId) {
+        entityManager.flush();
+        entityManager.clear();
+        return dailySummaryRepository.findByUserIdAndSummaryDateBetweenOrderBySummaryDateAsc(userId,
+                DAY.minusDays(1), DAY.plusDays(3)).stream().map(DailySummary::toString).toList();
+    }
+}
@@ -0,0 +1,142 @@
+package com.bd2_team6.biteright.email_outbox;
+
+import com.bd2_team6.biteright.entities.email_outbox.OutboxEmail;
+import com.bd2_team6.biteright.entities.email_outbox.OutboxEmailRepository;
+import com.bd2_team6.biteright.service.EmailOutboxDispatcher;
+import com.bd2_team6.biteright.service.EmailSendingService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class EmailOutboxTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmailOutboxDispatcher dispatcher;
+
+    @AfterEach
+    public void shutdownDispatcher() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private EmailSendingService emailService(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        EmailSendingService emailService = new EmailSendingService(mailSender, outboxEmailRepository,
+                new DefaultResourceLoader(), "biteright@example.com");
+        dispatcher = new EmailOutboxDispatcher(outboxEmailRepository, emailService, mailSender, transactionManager,
+                meterRegistry, 2, 50, 2, 30, 7, false);
+        return emailService;
+    }
+
+    @Test
+    public void shouldQueueEmailInsteadOfSendingIt() {
+        EmailSendingService emailService = emailService(ServerSetupTest.SMTP.getPort());
+        emailService.sendVerificationEmail("john_doe", "john@example.com", "12345678");
+
+        List<OutboxEmail> queued = outboxEmailRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals(OutboxEmail.PENDING, queued.get(0).getStatus());
+        assertEquals("12345678", queued.get(0).getCode());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    public void shouldSendQueuedEmails() throws Exception {
+        EmailSendingService emailService = emailService(ServerSetupTest.SMTP.getPort());
+        emailService.sendVerificationEmail("john_doe", "john@example.com", "12345678");
+        emailService.sendForgotPasswordEmail("jane_doe", "jane@example.com", "87654321");
+        emailService.sendVerificationEmail("jack <b>", "jack@example.com", "11111111");
+
+        assertEquals(3, dispatcher.dispatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertTrue(greenMail.getReceivedMessagesForDomain("jane@example.com")[0].getSubject().contains("Forgotten password"));
+        for (OutboxEmail email : outboxEmailRepository.findAll()) {
+            assertEquals(OutboxEmail.SENT, email.getStatus());
+            assertEquals(1, email.getAttempts());
+            assertNotNull(email.getSentAt());
+        }
+        assertEquals(0, dispatcher.dispatch());
+        assertEquals(3, meterRegistry.counter("biteright.email.outbox.sent").count());
+        assertEquals(0, meterRegistry.get("biteright.email.outbox.pending").gauge().value());
+    }
+
+    @Test
+    public void shouldRetryAndThenGiveUpWhenSmtpServerIsDown() {
+        EmailSendingService emailService = emailService(ServerSetupTest.SMTP.getPort() + 1);
+        emailService.sendVerificationEmail("john_doe", "john@example.com", "12345678");
+
+        assertEquals(1, dispatcher.dispatch());
+        OutboxEmail email = outboxEmailRepository.findAll().get(0);
+        assertEquals(OutboxEmail.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNotNull(email.getLastError());
+        assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertEquals(1, meterRegistry.counter("biteright.email.outbox.failures", "outcome", "retry").count());
+
+        // not due yet
+        assertEquals(0, dispatcher.dispatch());
+
+        email.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        assertEquals(1, dispatcher.dispatch());
+        assertEquals(OutboxEmail.FAILED, outboxEmailRepository.findAll().get(0).getStatus());
+        assertEquals(1, meterRegistry.counter("biteright.email.outbox.failures", "outcome", "dropped").count());
+        assertEquals(0, dispatcher.dispatch());
+    }
+
+    @Test
+    public void shouldPurgeSentAndFailedEmailsAfterRetention() {
+        EmailSendingService emailService = emailService(ServerSetupTest.SMTP.getPort());
+        emailService.sendVerificationEmail("john_doe", "john@example.com", "12345678");
+        emailService.sendVerificationEmail("jane_doe", "jane@example.com", "87654321");
+        emailService.sendVerificationEmail("jack_doe", "jack@example.com", "11111111");
+        emailService.sendVerificationEmail("jill_doe", "jill@example.com", "22222222");
+        List<OutboxEmail> emails = outboxEmailRepository.findAll();
+
+        LocalDateTime old = LocalDateTime.now().minusDays(8);
+        emails.get(0).setStatus(OutboxEmail.SENT);
+        emails.get(0).setNextAttemptAt(old);
+        emails.get(1).setStatus(OutboxEmail.FAILED);
+        emails.get(1).setNextAttemptAt(old);
+        // sent within the retention period
+        emails.get(2).setStatus(OutboxEmail.SENT);
+        emails.get(2).setNextAttemptAt(LocalDateTime.now().minusDays(6));
+        // still waiting to be sent, however long
+        emails.get(3).setNextAttemptAt(old);
+        outboxEmailRepository.flush();
+
+        assertEquals(2, dispatcher.purge());
+        assertEquals(List.of("jack@example.com", "jill@example.com"),
+                outboxEmailRepository.findAll().stream().map(OutboxEmail::getRecipient).sorted().toList());
+        assertEquals(2, meterRegistry.counter("biteright.email.outbox.purged").count());
+        assertEquals(0, dispatcher.purge());
+    }
+}
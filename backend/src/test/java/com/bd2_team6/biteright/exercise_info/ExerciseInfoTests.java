@@ -6,6 +6,9 @@ import com.bd2_team6.biteright.entities.user_exercise.UserExerciseRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -54,5 +57,21 @@ public class ExerciseInfoTests {
         ExerciseInfo deletedExerciseInfo = exerciseInfoRepository.findById(exerciseInfo.getExerciseId()).orElse(null);
         assertNull(deletedExerciseInfo);
     }
-}
 
+    @Test
+    public void shouldSearchExerciseInfoByKeyset() {
+        exerciseInfoRepository.save(new ExerciseInfo(9.8f, "Running"));
+        exerciseInfoRepository.save(new ExerciseInfo(6.0f, "Trail running"));
+        exerciseInfoRepository.save(new ExerciseInfo(8.0f, "Cycling"));
+
+        List<ExerciseInfo> firstPage = exerciseInfoRepository.search("%running%", "", 0L, PageRequest.of(0, 1));
+        assertEquals(1, firstPage.size());
+        assertEquals("Running", firstPage.get(0).getName());
+
+        ExerciseInfo last = firstPage.get(0);
+        List<ExerciseInfo> secondPage = exerciseInfoRepository.search("%running%", last.getName(),
+                last.getExerciseId(), PageRequest.of(0, 2));
+        assertEquals(1, secondPage.size());
+        assertEquals("Trail running", secondPage.get(0).getName());
+    }
+}
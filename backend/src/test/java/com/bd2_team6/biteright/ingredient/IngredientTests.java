@@ -1,11 +1,19 @@
 package com.bd2_team6.biteright.ingredient;
 
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+import com.bd2_team6.biteright.controllers.DTO.IngredientDTO;
 import com.bd2_team6.biteright.entities.ingredient.Ingredient;
 import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+import com.bd2_team6.biteright.service.IngredientCatalog;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,4 +65,98 @@ public class IngredientTests {
         Ingredient deletedIngredient = ingredientRepository.findById(ingredient.getIngredientId()).orElse(null);
         assertNull(deletedIngredient);
     }
+
+    @Test
+    public void shouldSearchIngredientCatalog() {
+        ingredientRepository.save(new Ingredient("Tomato", "FreshFarm", 100, 22, 1, 0, 5));
+        ingredientRepository.save(new Ingredient("Cherry tomato", "FreshFarm", 100, 18, 1, 0, 4));
+        ingredientRepository.save(new Ingredient("Sun-dried tomatoes", "Sunny", 100, 258, 14, 3, 56));
+        ingredientRepository.save(new Ingredient("Potato", "FreshFarm", 100, 77, 2, 0, 17));
+        ingredientRepository.save(new Ingredient("Crème fraîche", "Dairy", 100, 292, 2, 30, 3));
+
+        IngredientCatalog catalog = new IngredientCatalog(ingredientRepository);
+        catalog.reload();
+        assertEquals(5, catalog.size());
+
+        List<IngredientDTO> tomatoes = catalog.search("TOMATO", 20);
+        assertEquals(List.of("Tomato", "Cherry tomato", "Sun-dried tomatoes"),
+                tomatoes.stream().map(IngredientDTO::getName).toList());
+        assertEquals(1, catalog.search("tomato", 1).size());
+        assertEquals("Crème fraîche", catalog.search("creme", 20).get(0).getName());
+        assertEquals("Potato", catalog.search("potatoe", 20).get(0).getName());
+
+        IngredientDTO potato = catalog.search("potato", 1).get(0);
+        potato.setName("Sweet potato");
+
+        // changes wait for the commit, the test transaction is rolled back
+        catalog.put(potato);
+        TestTransaction.end();
+        assertEquals("Potato", catalog.search("pota", 20).get(0).getName());
+
+        catalog.put(potato);
+        catalog.remove(tomatoes.get(0).getId());
+        assertEquals(List.of("Sweet potato"), catalog.search("pota", 20).stream().map(IngredientDTO::getName).toList());
+        assertEquals(List.of("Cherry tomato", "Sun-dried tomatoes"),
+                catalog.search("tomato", 20).stream().map(IngredientDTO::getName).toList());
+    }
+
+    @Test
+    public void shouldKeepWritesMadeWhileCatalogReloads() throws InterruptedException {
+        Ingredient tomato = ingredientRepository.save(new Ingredient("Tomato", "FreshFarm", 100, 22, 1, 0, 5));
+        Ingredient potato = ingredientRepository.save(new Ingredient("Potato", "FreshFarm", 100, 77, 2, 0, 17));
+        IngredientDTO sweetPotato = new IngredientDTO(potato);
+        sweetPotato.setName("Sweet potato");
+
+        // other requests commit their writes after the reload has read the table
+        IngredientRepository repository = Mockito.mock(IngredientRepository.class);
+        IngredientCatalog catalog = new IngredientCatalog(repository);
+        Mockito.when(repository.findAll()).thenAnswer(invocation -> {
+            List<Ingredient> snapshot = ingredientRepository.findAll();
+            Thread writer = new Thread(() -> {
+                catalog.put(sweetPotato);
+                catalog.remove(tomato.getIngredientId());
+                catalog.put(new IngredientDTO(Long.MAX_VALUE, "Basil", "Herbs", 10, 2, 0, 0, 0));
+            });
+            writer.start();
+            writer.join();
+            return snapshot;
+        });
+
+        catalog.reload();
+        assertEquals(2, catalog.size());
+        assertEquals(List.of("Sweet potato"), catalog.search("pota", 20).stream().map(IngredientDTO::getName).toList());
+        assertTrue(catalog.search("tomato", 20).isEmpty());
+        assertEquals("Basil", catalog.search("basil", 20).get(0).getName());
+    }
+
+    @Test
+    public void shouldPageThroughEveryIngredientMatch() {
+        IngredientCatalog catalog = new IngredientCatalog(Mockito.mock(IngredientRepository.class));
+        catalog.replaceAll(LongStream.rangeClosed(1, 120)
+                .mapToObj(id -> new IngredientDTO(id, String.format("Tomato %03d", id), "FreshFarm", 100, 22, 1, 0, 5))
+                .toList());
+
+        // more matches than a single search returns are reachable page by page
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<IngredientDTO> page = catalog.searchPage("tomato", cursor, 50);
+            page.getItems().forEach(ingredient -> names.add(ingredient.getName()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(120, names.size());
+        assertEquals("Tomato 001", names.get(0));
+        assertEquals("Tomato 120", names.get(119));
+
+        // writes between two requests neither repeat nor skip the matches that stayed
+        TestTransaction.end();
+        CursorPageDTO<IngredientDTO> first = catalog.searchPage("tomato", null, 10);
+        catalog.put(new IngredientDTO(121L, "Tomato 000", "FreshFarm", 100, 22, 1, 0, 5));
+        catalog.remove(5L);
+        CursorPageDTO<IngredientDTO> second = catalog.searchPage("tomato", first.getNextCursor(), 10);
+        assertEquals("Tomato 010", first.getItems().get(9).getName());
+        assertEquals("Tomato 011", second.getItems().get(0).getName());
+
+        assertThrows(IllegalArgumentException.class, () -> catalog.searchPage("tomato", "not a cursor", 10));
+    }
 }
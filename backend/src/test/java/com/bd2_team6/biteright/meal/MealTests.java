@@ -1,16 +1,29 @@
 package com.bd2_team6.biteright.meal;
 
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
 import com.bd2_team6.biteright.entities.meal.Meal;
+import com.bd2_team6.biteright.entities.meal_content.MealContent;
 import com.bd2_team6.biteright.entities.user.User;
 import com.bd2_team6.biteright.entities.meal_type.MealType;
 import com.bd2_team6.biteright.entities.meal.MealRepository;
 import com.bd2_team6.biteright.entities.user.UserRepository;
 import com.bd2_team6.biteright.entities.meal_type.MealTypeRepository;
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+import com.bd2_team6.biteright.controllers.DTO.MealContentDTO;
+import com.bd2_team6.biteright.controllers.DTO.MealDTO;
+import com.bd2_team6.biteright.controllers.requests.create_requests.MealCreateRequest;
+import com.bd2_team6.biteright.service.MealService;
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +40,9 @@ public class MealTests {
     @Autowired
     private MealTypeRepository mealTypeRepository;
 
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -225,4 +241,162 @@ public class MealTests {
         MealType saved = mealTypeRepository.findById(mealType.getTypeId()).orElseThrow();
         assertEquals(1, saved.getMeals().size());
     }
+
+    @Test
+    public void shouldStoreAndRecalculateNutritionTotals() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+
+        MealType mealType = new MealType("Breakfast");
+        mealTypeRepository.save(mealType);
+
+        Ingredient oats = ingredientRepository.save(new Ingredient("Oats", "Brand", 100, 380, 13, 7, 60));
+        Ingredient milk = ingredientRepository.save(new Ingredient("Milk", "Brand", 100, 60, 3, 3, 5));
+
+        Meal meal = new Meal(user, mealType, LocalDateTime.parse("2025-05-11T08:00:00"), "Porridge", "Oats with milk");
+        meal.getMealContents().add(new MealContent(oats, meal, 50));
+        meal.getMealContents().add(new MealContent(milk, meal, 200));
+        meal.recalculateNutrition();
+        mealRepository.save(meal);
+
+        assertEquals(310f, meal.getCalories(), 0.01f);
+        assertEquals(12.5f, meal.getProtein(), 0.01f);
+
+        oats.setCalories(400);
+        ingredientRepository.save(oats);
+        assertEquals(1, mealRepository.recalculateNutritionOfMealsWithIngredient(oats.getIngredientId()));
+
+        Meal updatedMeal = mealRepository.findById(meal.getMealId()).orElseThrow();
+        assertEquals(320f, updatedMeal.getCalories(), 0.01f);
+        assertEquals(12.5f, updatedMeal.getProtein(), 0.01f);
+    }
+
+    @Test
+    public void shouldLoadMealsOfDayInOneQuery() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+
+        MealType breakfast = mealTypeRepository.save(new MealType("Breakfast"));
+        MealType dinner = mealTypeRepository.save(new MealType("Dinner"));
+
+        Ingredient oats = ingredientRepository.save(new Ingredient("Oats", "Brand", 100, 380, 13, 7, 60));
+        Ingredient milk = ingredientRepository.save(new Ingredient("Milk", "Brand", 100, 60, 3, 3, 5));
+        Ingredient rice = ingredientRepository.save(new Ingredient("Rice", "Brand", 100, 130, 3, 0, 28));
+
+        for (int hour = 8; hour <= 20; hour += 3) {
+            Meal meal = new Meal(user, hour < 12 ? breakfast : dinner, LocalDateTime.of(2025, 5, 11, hour, 0),
+                    "Meal " + hour, "Meal at " + hour);
+            meal.getMealContents().add(new MealContent(oats, meal, 50));
+            meal.getMealContents().add(new MealContent(milk, meal, 200));
+            meal.getMealContents().add(new MealContent(rice, meal, 100));
+            mealRepository.save(meal);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        MealService mealService = new MealService(userRepository, mealRepository, mealTypeRepository, ingredientRepository);
+        List<MealDTO> meals = mealService.findMealsByDate(user.getId(), LocalDate.of(2025, 5, 11));
+
+        assertEquals(5, meals.size());
+        assertEquals("Breakfast", meals.get(0).getMealTypeName());
+        assertTrue(meals.stream().allMatch(meal -> meal.getContents().size() == 3));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldPageMealHistoryNewestFirst() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+
+        MealType breakfast = mealTypeRepository.save(new MealType("Breakfast"));
+        MealType dinner = mealTypeRepository.save(new MealType("Dinner"));
+
+        for (int day = 1; day <= 5; day++) {
+            mealRepository.save(new Meal(user, breakfast, LocalDateTime.of(2025, 5, day, 8, 0), "Breakfast " + day, null));
+            mealRepository.save(new Meal(user, dinner, LocalDateTime.of(2025, 5, day, 19, 0), "Dinner " + day, null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        MealService mealService = new MealService(userRepository, mealRepository, mealTypeRepository, ingredientRepository);
+
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<MealDTO> page = mealService.findMealHistory(user.getId(), LocalDate.of(2025, 5, 2),
+                    LocalDate.of(2025, 5, 4), null, cursor, 4);
+            page.getItems().forEach(meal -> names.add(meal.getName()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(List.of("Dinner 4", "Breakfast 4", "Dinner 3", "Breakfast 3", "Dinner 2", "Breakfast 2"), names);
+
+        CursorPageDTO<MealDTO> dinners = mealService.findMealHistory(user.getId(), null, null, dinner.getTypeId(), null, 20);
+        assertEquals(5, dinners.getItems().size());
+        assertNull(dinners.getNextCursor());
+        assertTrue(dinners.getItems().stream().allMatch(meal -> meal.getMealTypeName().equals("Dinner")));
+
+        assertThrows(IllegalArgumentException.class, () -> mealService.findMealHistory(user.getId(), null, null,
+                null, "not a cursor", 20));
+    }
+
+    @Test
+    public void shouldCreateMealWithConstantNumberOfStatements() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+        MealType lunch = mealTypeRepository.save(new MealType("Lunch"));
+
+        List<MealContentDTO> contents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Ingredient ingredient = ingredientRepository.save(new Ingredient("Ingredient " + i, "Brand", 100, 100, 10, 5, 20));
+            contents.add(new MealContentDTO(null, ingredient.getIngredientId(), ingredient.getName(), 100));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        MealService mealService = new MealService(userRepository, mealRepository, mealTypeRepository, ingredientRepository);
+
+        // the first create also takes a block of content ids from id_generator
+        mealService.createMeal(user.getId(), new MealCreateRequest(lunch.getTypeId(), "First", null,
+                LocalDateTime.of(2025, 5, 11, 8, 0), contents.subList(0, 1)));
+        entityManager.flush();
+
+        statistics.clear();
+        mealService.createMeal(user.getId(), new MealCreateRequest(lunch.getTypeId(), "Small", null,
+                LocalDateTime.of(2025, 5, 11, 12, 0), contents.subList(0, 5)));
+        entityManager.flush();
+        long smallMealStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Meal bigMeal = mealService.createMeal(user.getId(), new MealCreateRequest(lunch.getTypeId(), "Big", null,
+                LocalDateTime.of(2025, 5, 11, 13, 0), contents));
+        entityManager.flush();
+
+        assertEquals(20, bigMeal.getMealContents().size());
+        assertEquals(2000f, bigMeal.getCalories(), 0.01f);
+        assertEquals(smallMealStatements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldListMissingIngredientsWhenCreatingMeal() {
+        User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
+        userRepository.save(user);
+        MealType lunch = mealTypeRepository.save(new MealType("Lunch"));
+        Ingredient rice = ingredientRepository.save(new Ingredient("Rice", "Brand", 100, 130, 3, 0, 28));
+
+        MealService mealService = new MealService(userRepository, mealRepository, mealTypeRepository, ingredientRepository);
+        MealCreateRequest request = new MealCreateRequest(lunch.getTypeId(), "Rice", null, null, List.of(
+                new MealContentDTO(null, rice.getIngredientId(), null, 100),
+                new MealContentDTO(null, 998L, null, 50),
+                new MealContentDTO(null, 999L, null, 50)));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> mealService.createMeal(user.getId(), request));
+        assertEquals("Ingredients not found: [998, 999]", exception.getMessage());
+    }
 }
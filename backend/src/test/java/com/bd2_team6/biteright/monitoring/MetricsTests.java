@@ -0,0 +1,68 @@
+package com.bd2_team6.biteright.monitoring;
+
+import com.bd2_team6.biteright.authentication.jason_web_token.JwtService;
+import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    public void shouldExposeEndpointAndRepositoryLatencyHistogramsTaggedWithException() throws Exception {
+        User user = userRepository.save(new User("metrics_user", "metrics@example.com", "passwordHash", "user"));
+        String token = jwtService.generateToken(user.getEmail(), user.getId(), user.getUsername());
+
+        mockMvc.perform(get("/meal/history").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/meal/history").param("cursor", "not a cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        User admin = userRepository.save(new User("metrics_admin", "metrics_admin@example.com", "passwordHash",
+                "admin"));
+        String adminToken = jwtService.generateToken(admin.getEmail(), admin.getId(), admin.getUsername());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        String metrics = mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith("http_server_requests_seconds_count{")
+                && line.contains("exception=\"IllegalArgumentException\"")
+                && line.contains("outcome=\"CLIENT_ERROR\"")
+                && line.contains("uri=\"/meal/history\"")));
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith("spring_data_repository_invocations_seconds_bucket{")
+                && line.contains("repository=\"MealRepository\"")));
+    }
+}
@@ -0,0 +1,162 @@
+package com.bd2_team6.biteright.monitoring;
+
+import com.bd2_team6.biteright.authentication.jason_web_token.JwtService;
+import com.bd2_team6.biteright.controllers.DTO.MealContentDTO;
+import com.bd2_team6.biteright.controllers.requests.create_requests.MealCreateRequest;
+import com.bd2_team6.biteright.controllers.requests.create_requests.UserExerciseCreateRequest;
+import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfo;
+import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfoRepository;
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
+import com.bd2_team6.biteright.entities.meal_type.MealType;
+import com.bd2_team6.biteright.entities.meal_type.MealTypeRepository;
+import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserRepository;
+import com.bd2_team6.biteright.entities.weight_history.WeightHistory;
+import com.bd2_team6.biteright.entities.weight_history.WeightHistoryRepository;
+import com.bd2_team6.biteright.service.MealService;
+import com.bd2_team6.biteright.service.UserExerciseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// same configuration as MetricsTests, so both share one application context
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class SqlBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MealTypeRepository mealTypeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private ExerciseInfoRepository exerciseInfoRepository;
+
+    @Autowired
+    private WeightHistoryRepository weightHistoryRepository;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private UserExerciseService userExerciseService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    public void shouldKeepMealEndpointsWithinStatementBudget() throws Exception {
+        User user = userRepository.save(new User("budget_user", "budget@example.com", "passwordHash", "user"));
+        MealType mealType = mealTypeRepository.save(new MealType("Budget lunch"));
+        Ingredient rice = ingredientRepository.save(new Ingredient("Budget rice", "Brand", 100, 130, 3, 0, 28));
+        Ingredient chicken = ingredientRepository.save(new Ingredient("Budget chicken", "Brand", 100, 165, 31, 4, 0));
+        for (int i = 0; i < 30; i++) {
+            List<MealContentDTO> contents = List.of(
+                    new MealContentDTO(null, rice.getIngredientId(), rice.getName(), 150),
+                    new MealContentDTO(null, chicken.getIngredientId(), chicken.getName(), 120));
+            mealService.createMeal(user.getId(), new MealCreateRequest(mealType.getTypeId(), "Meal " + i, null,
+                    LocalDateTime.of(2025, 5, 1, 12, 0).plusDays(i), contents));
+        }
+        String token = "Bearer " + jwtService.generateToken(user.getEmail(), user.getId(), user.getUsername());
+
+        MvcResult history = mockMvc.perform(get("/meal/history").param("size", "20").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(7))
+                .andExpect(StatementBudget.noRepeatedStatements())
+                .andReturn();
+        assertTrue(StatementBudget.of(history).getRows() >= 20);
+
+        mockMvc.perform(get("/meal/findUserMeals").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(7))
+                .andExpect(StatementBudget.noRepeatedStatements());
+    }
+
+    @Test
+    public void shouldKeepExerciseHistoryWithinStatementBudget() throws Exception {
+        User user = userRepository.save(new User("history_user", "history@example.com", "passwordHash", "user"));
+        List<ExerciseInfo> exercises = List.of(
+                exerciseInfoRepository.save(new ExerciseInfo(7.0f, "History running")),
+                exerciseInfoRepository.save(new ExerciseInfo(5.0f, "History cycling")),
+                exerciseInfoRepository.save(new ExerciseInfo(3.0f, "History walking")));
+        for (int i = 0; i < 25; i++) {
+            userExerciseService.createUserExercise(user.getId(), new UserExerciseCreateRequest(
+                    exercises.get(i % 3).getExerciseId(), LocalDateTime.of(2025, 5, 1, 18, 0).plusDays(i), 30));
+        }
+        String token = "Bearer " + jwtService.generateToken(user.getEmail(), user.getId(), user.getUsername());
+
+        // the exercise info comes with the page, not with one query per row
+        mockMvc.perform(get("/userExercise/history").param("size", "20").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.noRepeatedStatements());
+
+        MvcResult counted = mockMvc.perform(get("/userExercise/history").param("count", "true")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult cached = mockMvc.perform(get("/userExercise/history").param("count", "true")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(StatementBudget.of(counted).getStatements() - 1, StatementBudget.of(cached).getStatements());
+    }
+
+    @Test
+    public void shouldKeepWeightSeriesWithinStatementBudget() throws Exception {
+        User user = userRepository.save(new User("series_user", "series@example.com", "passwordHash", "user"));
+        List<WeightHistory> measurements = new ArrayList<>();
+        for (int day = 0; day < 400; day++) {
+            measurements.add(new WeightHistory(user, LocalDateTime.of(2024, 1, 1, 7, 0).plusDays(day), 81.0f));
+        }
+        weightHistoryRepository.saveAll(measurements);
+        String token = "Bearer " + jwtService.generateToken(user.getEmail(), user.getId(), user.getUsername());
+
+        mockMvc.perform(get("/weightHistory/series").header("Authorization", token))
+                .andExpect(status().isOk());
+        MvcResult series = mockMvc.perform(get("/weightHistory/series").param("maxPoints", "20")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                // the bounds of the range, then the measurements in one pass
+                .andExpect(StatementBudget.atMost(2))
+                .andReturn();
+        assertTrue(StatementBudget.of(series).getRows() >= 400);
+    }
+
+    @Test
+    public void shouldFlagRepeatedStatementShapes() {
+        RequestStatements statements = new RequestStatements();
+        for (int id = 1; id <= 5; id++) {
+            statements.recordStatement("select * from meal_content where meal_id = " + id, 1_000);
+        }
+        statements.recordStatement("select * from ingredient where ingredient_id in (?, ?)", 1_000);
+        statements.recordStatement("select * from ingredient where ingredient_id in (?,?,?)", 1_000);
+
+        assertEquals(7, statements.getStatements());
+        assertEquals(List.of("5x select * from meal_content where meal_id = ?"), statements.repeatedStatements(5));
+        assertEquals(List.of("2x select * from ingredient where ingredient_id in (?...)"),
+                statements.repeatedStatements(2).stream().filter(shape -> shape.contains("ingredient")).toList());
+    }
+}
@@ -0,0 +1,42 @@
+package com.bd2_team6.biteright.monitoring;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MockMvc matchers over the statements {@link SqlBudgetFilter} counted for a request, so an endpoint that starts
+ * issuing more queries fails the build:
+ * {@code mockMvc.perform(get("/meal/history")).andExpect(StatementBudget.atMost(4))}
+ */
+public final class StatementBudget {
+    private static final int REPEATED_STATEMENT_THRESHOLD = 3;
+
+    private StatementBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            RequestStatements counted = of(result);
+            assertTrue(counted.getStatements() <= statements, result.getRequest().getRequestURI() + " ran "
+                    + counted.getStatements() + " statements, the budget is " + statements);
+        };
+    }
+
+    public static ResultMatcher noRepeatedStatements() {
+        return result -> {
+            List<String> repeated = of(result).repeatedStatements(REPEATED_STATEMENT_THRESHOLD);
+            assertTrue(repeated.isEmpty(), result.getRequest().getRequestURI() + " repeated statements:\n"
+                    + String.join("\n", repeated));
+        };
+    }
+
+    public static RequestStatements of(MvcResult result) {
+        Object statements = result.getRequest().getAttribute(SqlBudgetFilter.ATTRIBUTE);
+        assertNotNull(statements, "No statements were tracked, is SqlBudgetFilter enabled?");
+        return (RequestStatements) statements;
+    }
+}
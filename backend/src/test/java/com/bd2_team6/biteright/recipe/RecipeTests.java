@@ -1,11 +1,25 @@
 package com.bd2_team6.biteright.recipe;
 
+import com.bd2_team6.biteright.entities.ingredient.Ingredient;
+import com.bd2_team6.biteright.entities.ingredient.IngredientRepository;
 import com.bd2_team6.biteright.entities.recipe.Recipe;
 import com.bd2_team6.biteright.entities.recipe.RecipeRepository;
+import com.bd2_team6.biteright.entities.recipe_content.RecipeContent;
+import com.bd2_team6.biteright.controllers.DTO.RecipeDTO;
+import com.bd2_team6.biteright.controllers.DTO.RecipeContentDTO;
+import com.bd2_team6.biteright.controllers.DTO.RecipeSummaryDTO;
+import com.bd2_team6.biteright.controllers.requests.update_requests.RecipeUpdateRequest;
+import com.bd2_team6.biteright.service.RecipeService;
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,6 +29,9 @@ public class RecipeTests {
     @Autowired
     private RecipeRepository recipeRepository;
 
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -54,4 +71,110 @@ public class RecipeTests {
         Recipe deletedRecipe = recipeRepository.findById(recipe.getRecipeId()).orElse(null);
         assertNull(deletedRecipe);
     }
+
+    @Test
+    public void shouldStoreAndRecalculateMacros() {
+        Ingredient pasta = ingredientRepository.save(new Ingredient("Pasta", "Brand", 100, 350, 12, 2, 70));
+        Ingredient sauce = ingredientRepository.save(new Ingredient("Tomato sauce", "Brand", 50, 20, 1, 0, 4));
+        Ingredient unused = ingredientRepository.save(new Ingredient("Cheese", "Brand", 100, 400, 25, 33, 1));
+
+        Recipe recipe = new Recipe("Pasta", "Delicious pasta with tomato sauce");
+        recipe.getRecipeContents().add(new RecipeContent(recipe, pasta, 200));
+        recipe.getRecipeContents().add(new RecipeContent(recipe, sauce, 100));
+        recipe.recalculateMacros();
+        recipeRepository.save(recipe);
+
+        assertEquals(740.0, recipe.getCalories(), 0.001);
+        assertEquals(26.0, recipe.getProtein(), 0.001);
+
+        sauce.setCalories(30);
+        ingredientRepository.save(sauce);
+        assertEquals(1, recipeRepository.recalculateMacrosOfRecipesWithIngredient(sauce.getIngredientId()));
+        assertEquals(0, recipeRepository.recalculateMacrosOfRecipesWithIngredient(unused.getIngredientId()));
+
+        Recipe updatedRecipe = recipeRepository.findById(recipe.getRecipeId()).orElseThrow();
+        assertEquals(760.0, updatedRecipe.getCalories(), 0.001);
+        assertEquals(148.0, updatedRecipe.getCarbs(), 0.001);
+    }
+
+    @Test
+    public void shouldReplaceContentsWhenRecipeUpdated() {
+        Ingredient pasta = ingredientRepository.save(new Ingredient("Pasta", "Brand", 100, 350, 12, 2, 70));
+        Ingredient sauce = ingredientRepository.save(new Ingredient("Tomato sauce", "Brand", 50, 20, 1, 0, 4));
+        Ingredient cheese = ingredientRepository.save(new Ingredient("Cheese", "Brand", 100, 400, 25, 33, 1));
+
+        Recipe recipe = new Recipe("Pasta", "Delicious pasta with tomato sauce");
+        recipe.getRecipeContents().add(new RecipeContent(recipe, pasta, 200));
+        recipe.getRecipeContents().add(new RecipeContent(recipe, sauce, 100));
+        recipe.recalculateMacros();
+        recipeRepository.save(recipe);
+        entityManager.flush();
+        entityManager.clear();
+
+        RecipeService recipeService = new RecipeService(recipeRepository, ingredientRepository);
+        recipeService.updateRecipe(new RecipeUpdateRequest("Pasta", "Pasta with cheese", null,
+                Set.of(new RecipeContentDTO(null, pasta.getIngredientId(), null, 200),
+                        new RecipeContentDTO(null, cheese.getIngredientId(), null, 50))), recipe.getRecipeId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // the replaced contents are deleted, not left behind next to the new ones
+        Recipe updatedRecipe = recipeRepository.findWithContentsByRecipeId(recipe.getRecipeId()).orElseThrow();
+        assertEquals(2, updatedRecipe.getRecipeContents().size());
+        assertTrue(updatedRecipe.getRecipeContents().stream()
+                .noneMatch(content -> content.getIngredient().getIngredientId().equals(sauce.getIngredientId())));
+        assertEquals(900.0, updatedRecipe.getCalories(), 0.001);
+        entityManager.clear();
+
+        pasta.setCalories(300);
+        ingredientRepository.save(pasta);
+        assertEquals(1, recipeRepository.recalculateMacrosOfRecipesWithIngredient(pasta.getIngredientId()));
+        assertEquals(0, recipeRepository.recalculateMacrosOfRecipesWithIngredient(sauce.getIngredientId()));
+        assertEquals(800.0, recipeRepository.findById(recipe.getRecipeId()).orElseThrow().getCalories(), 0.001);
+    }
+
+    @Test
+    public void shouldSearchRecipeSummariesByKeyset() {
+        recipeRepository.save(new Recipe("Pasta salad", "Cold pasta"));
+        recipeRepository.save(new Recipe("Chicken pasta", "Pasta with chicken"));
+        recipeRepository.save(new Recipe("Pasta", "Pasta with tomato sauce"));
+        recipeRepository.save(new Recipe("Pancakes", "Sweet pancakes"));
+
+        List<RecipeSummaryDTO> firstPage = recipeRepository.searchSummaries("%pasta%", "", 0L, PageRequest.of(0, 2));
+        assertEquals(List.of("Chicken pasta", "Pasta"), firstPage.stream().map(RecipeSummaryDTO::getName).toList());
+
+        RecipeSummaryDTO last = firstPage.get(1);
+        List<RecipeSummaryDTO> secondPage = recipeRepository.searchSummaries("%pasta%", last.getName(),
+                last.getRecipeId(), PageRequest.of(0, 2));
+        assertEquals(List.of("Pasta salad"), secondPage.stream().map(RecipeSummaryDTO::getName).toList());
+
+        // wildcards typed by the user are escaped and matched literally
+        assertTrue(recipeRepository.searchSummaries("%!%%", "", 0L, PageRequest.of(0, 2)).isEmpty());
+    }
+
+    @Test
+    public void shouldLoadRecipesWithContentsInTwoQueries() {
+        Ingredient pasta = ingredientRepository.save(new Ingredient("Pasta", "Brand", 100, 350, 12, 2, 70));
+        Ingredient sauce = ingredientRepository.save(new Ingredient("Tomato sauce", "Brand", 50, 20, 1, 0, 4));
+
+        for (int i = 1; i <= 4; i++) {
+            Recipe recipe = new Recipe("Pasta " + i, "Pasta with tomato sauce");
+            recipe.getRecipeContents().add(new RecipeContent(recipe, pasta, 100 * i));
+            recipe.getRecipeContents().add(new RecipeContent(recipe, sauce, 50));
+            recipeRepository.save(recipe);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        RecipeService recipeService = new RecipeService(recipeRepository, ingredientRepository);
+        List<RecipeDTO> recipes = recipeService.findRecipes("pasta");
+
+        assertEquals(List.of("Pasta 1", "Pasta 2", "Pasta 3", "Pasta 4"), recipes.stream().map(RecipeDTO::getName).toList());
+        assertTrue(recipes.stream().allMatch(recipe -> recipe.getContents().size() == 2));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
 }
@@ -0,0 +1,31 @@
+package com.bd2_team6.biteright.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticationServiceTests {
+
+    @Test
+    public void shouldReportOnlyUsernameAndEmailUniqueViolationsAsTaken() {
+        assertTrue(AuthenticationService.violatesUsernameOrEmailUnique(violation("app_user.user_username_un")));
+        assertTrue(AuthenticationService.violatesUsernameOrEmailUnique(violation("app_user.user_email_un")));
+        assertTrue(AuthenticationService.violatesUsernameOrEmailUnique(
+                violation("PUBLIC.USER_EMAIL_UN_INDEX_7 ON PUBLIC.APP_USER(EMAIL NULLS FIRST)")));
+
+        assertFalse(AuthenticationService.violatesUsernameOrEmailUnique(violation("user_info_user_fk")));
+        assertFalse(AuthenticationService.violatesUsernameOrEmailUnique(violation(null)));
+        assertFalse(AuthenticationService.violatesUsernameOrEmailUnique(
+                new DataIntegrityViolationException("NULL not allowed for column \"USER_ID\"")));
+    }
+
+    private DataIntegrityViolationException violation(String constraintName) {
+        ConstraintViolationException cause = new ConstraintViolationException("could not execute statement",
+                new SQLException("constraint violated"), constraintName);
+        return new DataIntegrityViolationException("could not execute statement", cause);
+    }
+}
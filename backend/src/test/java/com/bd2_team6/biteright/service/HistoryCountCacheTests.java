@@ -0,0 +1,59 @@
+package com.bd2_team6.biteright.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistoryCountCacheTests {
+    private static final LocalDateTime START = LocalDateTime.parse("2025-05-01T00:00:00");
+    private static final LocalDateTime END = LocalDateTime.parse("2025-06-01T00:00:00");
+
+    private final HistoryCountCache cache = new HistoryCountCache(new SimpleMeterRegistry(), 100, 60);
+    private final AtomicInteger counted = new AtomicInteger();
+
+    private long count(HistoryCountCache.History history, Long userId, Runnable whileCounting) {
+        return cache.count(history, userId, START, END, () -> {
+            counted.incrementAndGet();
+            whileCounting.run();
+            return 10;
+        });
+    }
+
+    @Test
+    public void shouldKeepCountWhenAnotherUserWritesWhileCounting() {
+        count(HistoryCountCache.History.WATER_INTAKE, 1L,
+                () -> cache.invalidate(HistoryCountCache.History.WATER_INTAKE, 2L));
+        count(HistoryCountCache.History.WATER_INTAKE, 1L, () -> {});
+        assertEquals(1, counted.get());
+    }
+
+    @Test
+    public void shouldKeepCountWhenSameUserWritesAnotherHistoryWhileCounting() {
+        count(HistoryCountCache.History.WATER_INTAKE, 1L,
+                () -> cache.invalidate(HistoryCountCache.History.WEIGHT_HISTORY, 1L));
+        count(HistoryCountCache.History.WATER_INTAKE, 1L, () -> {});
+        assertEquals(1, counted.get());
+    }
+
+    @Test
+    public void shouldDiscardCountWhenSameHistoryIsWrittenWhileCounting() {
+        count(HistoryCountCache.History.WATER_INTAKE, 1L,
+                () -> cache.invalidate(HistoryCountCache.History.WATER_INTAKE, 1L));
+        count(HistoryCountCache.History.WATER_INTAKE, 1L, () -> {});
+        count(HistoryCountCache.History.WATER_INTAKE, 1L, () -> {});
+        assertEquals(2, counted.get());
+    }
+
+    @Test
+    public void shouldCountAgainAfterInvalidation() {
+        count(HistoryCountCache.History.USER_EXERCISE, 1L, () -> {});
+        count(HistoryCountCache.History.USER_EXERCISE, 1L, () -> {});
+        cache.invalidate(HistoryCountCache.History.USER_EXERCISE, 1L);
+        count(HistoryCountCache.History.USER_EXERCISE, 1L, () -> {});
+        assertEquals(2, counted.get());
+    }
+}
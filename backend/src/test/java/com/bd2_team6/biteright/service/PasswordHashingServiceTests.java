@@ -0,0 +1,68 @@
+package com.bd2_team6.biteright.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceTests {
+
+    @Test
+    public void shouldUpgradePasswordHashMadeWithLowerStrength() {
+        PasswordHashingService weak = new PasswordHashingService(new BCryptPasswordEncoder(4),
+                new SimpleMeterRegistry(), 1, 4);
+        PasswordHashingService strong = new PasswordHashingService(new BCryptPasswordEncoder(5),
+                new SimpleMeterRegistry(), 1, 4);
+
+        String hash = weak.encode("password");
+        assertTrue(strong.matches("password", hash));
+        assertFalse(strong.matches("wrong_password", hash));
+        assertTrue(strong.needsUpgrade(hash));
+        assertFalse(strong.needsUpgrade(strong.encode("password")));
+
+        weak.shutdown();
+        strong.shutdown();
+    }
+
+    @Test
+    public void shouldRejectPasswordChecksBeyondQueueCapacity() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService hashing = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 1);
+
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        Future<Boolean> running = clients.submit(() -> hashing.matches("password", "hash"));
+        Future<Boolean> queued = clients.submit(() -> hashing.matches("password", "hash"));
+        while (meterRegistry.get("biteright.password.hashing.queue").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> hashing.matches("password", "hash"));
+        assertEquals(1, meterRegistry.counter("biteright.password.hashing.rejected").count());
+
+        release.countDown();
+        assertTrue(running.get());
+        assertTrue(queued.get());
+        clients.shutdown();
+        hashing.shutdown();
+    }
+}
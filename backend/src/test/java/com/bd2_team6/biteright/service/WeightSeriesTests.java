@@ -0,0 +1,57 @@
+package com.bd2_team6.biteright.service;
+
+import com.bd2_team6.biteright.controllers.DTO.WeightSeriesPointDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightSeriesTests {
+
+    @Test
+    public void shouldStartWeeksOnMonday() {
+        // 2024-01-07 is a Sunday, 2024-01-08 the Monday after it
+        assertEquals(LocalDate.parse("2024-01-01"), SeriesBucket.WEEK.start(LocalDate.parse("2024-01-07")));
+        assertEquals(LocalDate.parse("2024-01-08"), SeriesBucket.WEEK.start(LocalDate.parse("2024-01-08")));
+        assertEquals(LocalDate.parse("2024-01-08"), SeriesBucket.WEEK.start(LocalDate.parse("2024-01-14")));
+        assertEquals(2, SeriesBucket.WEEK.count(LocalDate.parse("2024-01-07"), LocalDate.parse("2024-01-08")));
+        assertEquals(1, SeriesBucket.WEEK.count(LocalDate.parse("2024-01-08"), LocalDate.parse("2024-01-14")));
+    }
+
+    @Test
+    public void shouldSplitWeeksAtMidnightBetweenSundayAndMonday() {
+        WeightSeriesBuilder series = new WeightSeriesBuilder(SeriesBucket.WEEK);
+        series.add(LocalDateTime.parse("2024-01-01T07:00:00"), 80.0f);
+        series.add(LocalDateTime.parse("2024-01-07T23:59:59"), 82.0f);
+        series.add(LocalDateTime.parse("2024-01-08T00:00:00"), 81.0f);
+        series.add(LocalDateTime.parse("2024-01-09T07:00:00"), null);
+
+        List<WeightSeriesPointDTO> points = series.build();
+        assertEquals(List.of(
+                new WeightSeriesPointDTO(LocalDate.parse("2024-01-01"), 81.0f, 80.0f, 82.0f, 2),
+                new WeightSeriesPointDTO(LocalDate.parse("2024-01-08"), 81.0f, 81.0f, 81.0f, 1)), points);
+    }
+
+    @Test
+    public void shouldWidenBucketUntilRangeFits() {
+        LocalDate first = LocalDate.parse("2024-01-01");
+        LocalDate tenthDay = LocalDate.parse("2024-01-10");
+        assertEquals(SeriesBucket.DAY, SeriesBucket.fitting(SeriesBucket.DAY, first, tenthDay, 10));
+        assertEquals(SeriesBucket.WEEK, SeriesBucket.fitting(SeriesBucket.DAY, first, tenthDay.plusDays(1), 10));
+        assertEquals(SeriesBucket.MONTH, SeriesBucket.fitting(SeriesBucket.MONTH, first, tenthDay, 10));
+        // 60 months do not fit in 10 points, 5 years do
+        LocalDate fifthYear = LocalDate.parse("2028-12-31");
+        assertEquals(SeriesBucket.YEAR, SeriesBucket.fitting(SeriesBucket.DAY, first, fifthYear, 10));
+    }
+
+    @Test
+    public void shouldRejectRangeLongerThanMaxPointsYears() {
+        assertThrows(IllegalArgumentException.class, () -> SeriesBucket.fitting(SeriesBucket.DAY,
+                LocalDate.parse("2000-01-01"), LocalDate.parse("2024-12-31"), 10));
+        assertThrows(IllegalArgumentException.class, () -> SeriesBucket.parse("hour"));
+        assertEquals(SeriesBucket.MONTH, SeriesBucket.parse("Month"));
+    }
+}
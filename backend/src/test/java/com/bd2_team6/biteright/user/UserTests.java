@@ -1,10 +1,14 @@
 package com.bd2_team6.biteright.user;
 
 import com.bd2_team6.biteright.entities.user.User;
+import com.bd2_team6.biteright.entities.user.UserIdentity;
 import com.bd2_team6.biteright.entities.user.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,4 +60,38 @@ public class UserTests {
         User deletedUser = userRepository.findById(user.getId()).orElse(null);
         assertNull(deletedUser);
     }
+
+    @Test
+    public void shouldFindTakenUsernamesAndEmailsInOneQuery() {
+        userRepository.save(new User("john_doe", "john@example.com", "hashed_password", "USER"));
+        userRepository.save(new User("jane_doe", "jane@example.com", "hashed_password", "USER"));
+
+        List<UserIdentity> taken = userRepository.findByUsernameOrEmail("john_doe", "jane@example.com");
+        assertEquals(2, taken.size());
+
+        taken = userRepository.findByUsernameOrEmail("jack_doe", "john@example.com");
+        assertEquals(1, taken.size());
+        assertEquals("john_doe", taken.get(0).getUsername());
+
+        assertTrue(userRepository.findByUsernameOrEmail(null, "jack@example.com").isEmpty());
+    }
+
+    @Test
+    public void shouldNotSave2UsersWithSameEmail() {
+        userRepository.save(new User("john_doe", "john@example.com", "hashed_password", "USER"));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                userRepository.saveAndFlush(new User("jane_doe", "john@example.com", "hashed_password", "USER")));
+    }
+
+    @Test
+    public void shouldFindUserByEmailOrUsernameInOneQuery() {
+        userRepository.save(new User("john_doe", "john@example.com", "hashed_password", "USER"));
+        userRepository.save(new User("jane@example.com", "jane@example.org", "hashed_password", "USER"));
+
+        assertEquals("john_doe", userRepository.findByEmailOrUsername("john@example.com", "john@example.com")
+                .get(0).getUsername());
+        assertEquals("jane@example.org", userRepository.findByEmailOrUsername("jane@example.com", "jane@example.com")
+                .get(0).getEmail());
+    }
 }
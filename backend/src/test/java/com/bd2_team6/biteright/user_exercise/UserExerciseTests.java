@@ -1,22 +1,35 @@
 package com.bd2_team6.biteright.user_exercise;
 
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+import com.bd2_team6.biteright.controllers.UserExerciseController;
+import com.bd2_team6.biteright.controllers.requests.create_requests.UserExerciseCreateRequest;
 import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfo;
 import com.bd2_team6.biteright.entities.user.User;
 import com.bd2_team6.biteright.entities.user_exercise.UserExercise;
 import com.bd2_team6.biteright.entities.user_exercise.UserExerciseRepository;
 import com.bd2_team6.biteright.entities.user.UserRepository;
 import com.bd2_team6.biteright.entities.exercise_info.ExerciseInfoRepository;
+import com.bd2_team6.biteright.service.HistoryCountCache;
+import com.bd2_team6.biteright.service.UserExerciseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import({UserExerciseService.class, HistoryCountCache.class, SimpleMeterRegistry.class})
 public class UserExerciseTests {
 
     @Autowired
@@ -31,6 +44,9 @@ public class UserExerciseTests {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private UserExerciseService userExerciseService;
+
     @Test
     public void shouldSaveUserExercise() {
         User user = new User("test_user", "test@example.com", "hash", "standard");
@@ -215,4 +231,102 @@ public class UserExerciseTests {
         assertEquals(1, saved.getUserExercises().size());
     }
 
+    @Test
+    public void shouldPageUserExerciseHistoryByCursor() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        List<ExerciseInfo> exercises = List.of(
+                exerciseInfoRepository.save(new ExerciseInfo(7.0f, "Running")),
+                exerciseInfoRepository.save(new ExerciseInfo(5.0f, "Cycling")),
+                exerciseInfoRepository.save(new ExerciseInfo(3.0f, "Walking")));
+        List<UserExercise> userExercises = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // two exercises at the same time each day, pages have to break the tie by id
+            userExercises.add(new UserExercise(user, exercises.get(i % 3),
+                    LocalDateTime.parse("2025-05-01T18:00:00").plusDays(i / 2), 30, 200));
+        }
+        userExerciseRepository.saveAll(userExercises);
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> expected = userExercises.stream()
+                .sorted(Comparator.comparing(UserExercise::getActivityDate)
+                        .thenComparing(UserExercise::getUserExerciseId).reversed())
+                .map(UserExercise::getUserExerciseId)
+                .toList();
+
+        List<Long> read = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<UserExercise> page = userExerciseService.findUserExerciseHistory(user.getId(), null, null,
+                    cursor, 10, false);
+            assertNull(page.getTotal());
+            page.getItems().forEach(exercise -> {
+                assertNotNull(exercise.getExerciseInfo().getName());
+                read.add(exercise.getUserExerciseId());
+            });
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(3, pages);
+        assertEquals(expected, read);
+    }
+
+    @Test
+    public void shouldCacheUserExerciseCountUntilWrittenThroughService() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        ExerciseInfo running = exerciseInfoRepository.save(new ExerciseInfo(7.0f, "Running"));
+        for (int i = 0; i < 5; i++) {
+            userExerciseRepository.save(new UserExercise(user, running,
+                    LocalDateTime.parse("2025-05-01T18:00:00").plusDays(i), 30, 200));
+        }
+        assertEquals(5, userExerciseService.findUserExerciseHistory(user.getId(), null, null, null, 2, true)
+                .getTotal());
+
+        // a row written past the service is not seen until the cached count is dropped
+        userExerciseRepository.save(new UserExercise(user, running, LocalDateTime.parse("2025-05-10T18:00:00"),
+                30, 200));
+        assertEquals(5, userExerciseService.findUserExerciseHistory(user.getId(), null, null, null, 2, true)
+                .getTotal());
+
+        UserExercise created = userExerciseService.createUserExercise(user.getId(),
+                new UserExerciseCreateRequest(running.getExerciseId(), LocalDateTime.parse("2025-05-11T18:00:00"), 45));
+        assertEquals(7, userExerciseService.findUserExerciseHistory(user.getId(), null, null, null, 2, true)
+                .getTotal());
+
+        userExerciseService.deleteUserExerciseById(user.getId(), created.getUserExerciseId());
+        assertEquals(6, userExerciseService.findUserExerciseHistory(user.getId(), null, null, null, 2, true)
+                .getTotal());
+    }
+
+    @Test
+    public void shouldRejectSortingUserExercisesByUnindexedColumn() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        UserExerciseController controller = new UserExerciseController(userExerciseService);
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.findExerciseForUser(principal(user), 0, 10, "desc",
+                "duration").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.findExercisesByDate(principal(user), 0, 10, "desc",
+                "duration", LocalDate.parse("2025-05-01")).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.findExerciseForUser(principal(user), 0, 10, "desc",
+                "activityDate").getStatusCode());
+    }
+
+    private static AuthenticatedUser principal(User user) {
+        return new AuthenticatedUser() {
+            @Override
+            public Long getUserId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getUsername() {
+                return user.getUsername();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+        };
+    }
 }
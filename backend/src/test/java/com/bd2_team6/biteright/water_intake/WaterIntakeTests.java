@@ -1,19 +1,33 @@
 package com.bd2_team6.biteright.water_intake;
 
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+import com.bd2_team6.biteright.controllers.WaterIntakeController;
+import com.bd2_team6.biteright.controllers.requests.create_requests.WaterIntakeCreateRequest;
 import com.bd2_team6.biteright.entities.user.User;
 import com.bd2_team6.biteright.entities.user.UserRepository;
 import com.bd2_team6.biteright.entities.water_intake.WaterIntake;
 import com.bd2_team6.biteright.entities.water_intake.WaterIntakeRepository;
+import com.bd2_team6.biteright.service.HistoryCountCache;
+import com.bd2_team6.biteright.service.WaterIntakeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import({WaterIntakeService.class, HistoryCountCache.class, SimpleMeterRegistry.class})
 public class WaterIntakeTests {
 
     @Autowired
@@ -25,6 +39,9 @@ public class WaterIntakeTests {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private WaterIntakeService waterIntakeService;
+
     @Test
     public void shouldSaveWaterIntake() {
         User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
@@ -122,4 +139,94 @@ public class WaterIntakeTests {
         User saved = userRepository.findById(user.getId()).orElseThrow();
         assertEquals(1, saved.getWaterIntakes().size());
     }
+
+    @Test
+    public void shouldPageWaterIntakeHistoryByCursor() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        List<WaterIntake> intakes = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // two intakes at the same time each day, pages have to break the tie by id
+            intakes.add(new WaterIntake(LocalDateTime.parse("2025-05-01T08:00:00").plusDays(i / 2), user, 250));
+        }
+        waterIntakeRepository.saveAll(intakes);
+        List<Long> expected = intakes.stream()
+                .sorted(Comparator.comparing(WaterIntake::getIntakeDate).thenComparing(WaterIntake::getWaterIntakeId)
+                        .reversed())
+                .map(WaterIntake::getWaterIntakeId)
+                .toList();
+
+        List<Long> read = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<WaterIntake> page = waterIntakeService.findWaterIntakeHistory(user.getId(), null, null,
+                    cursor, 10, false);
+            assertNull(page.getTotal());
+            page.getItems().forEach(intake -> read.add(intake.getWaterIntakeId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(3, pages);
+        assertEquals(expected, read);
+
+        CursorPageDTO<WaterIntake> range = waterIntakeService.findWaterIntakeHistory(user.getId(),
+                LocalDate.parse("2025-05-02"), LocalDate.parse("2025-05-03"), null, 10, false);
+        assertEquals(4, range.getItems().size());
+        assertNull(range.getNextCursor());
+    }
+
+    @Test
+    public void shouldCacheWaterIntakeCountUntilWrittenThroughService() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        for (int i = 0; i < 5; i++) {
+            waterIntakeRepository.save(new WaterIntake(LocalDateTime.parse("2025-05-01T08:00:00").plusDays(i), user,
+                    250));
+        }
+        assertEquals(5, waterIntakeService.findWaterIntakeHistory(user.getId(), null, null, null, 2, true).getTotal());
+
+        // a row written past the service is not seen until the cached count is dropped
+        waterIntakeRepository.save(new WaterIntake(LocalDateTime.parse("2025-05-10T08:00:00"), user, 250));
+        assertEquals(5, waterIntakeService.findWaterIntakeHistory(user.getId(), null, null, null, 2, true).getTotal());
+
+        WaterIntake created = waterIntakeService.createWaterIntake(user.getId(),
+                new WaterIntakeCreateRequest(LocalDateTime.parse("2025-05-11T08:00:00"), 300));
+        assertEquals(7, waterIntakeService.findWaterIntakeHistory(user.getId(), null, null, null, 2, true).getTotal());
+
+        waterIntakeService.deleteWaterIntakeById(user.getId(), created.getWaterIntakeId());
+        assertEquals(6, waterIntakeService.findWaterIntakeHistory(user.getId(), null, null, null, 2, true).getTotal());
+    }
+
+    @Test
+    public void shouldRejectSortingWaterIntakesByUnindexedColumn() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        WaterIntakeController controller = new WaterIntakeController(waterIntakeService);
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.findWaterIntakeForUser(principal(user), 0, 10, "desc",
+                "waterAmount").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.findWaterIntakesByDate(principal(user), 0, 10, "desc",
+                "waterAmount", LocalDate.parse("2025-05-01")).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.findWaterIntakeForUser(principal(user), 0, 10, "asc",
+                "intakeDate").getStatusCode());
+        assertEquals(HttpStatus.OK, controller.findWaterIntakeForUser(principal(user), 0, 10, "desc",
+                "waterIntakeId").getStatusCode());
+    }
+
+    private static AuthenticatedUser principal(User user) {
+        return new AuthenticatedUser() {
+            @Override
+            public Long getUserId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getUsername() {
+                return user.getUsername();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+        };
+    }
 }
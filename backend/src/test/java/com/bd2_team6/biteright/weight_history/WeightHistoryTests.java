@@ -1,19 +1,35 @@
 package com.bd2_team6.biteright.weight_history;
 
+import com.bd2_team6.biteright.authentication.custom_user_details.AuthenticatedUser;
+import com.bd2_team6.biteright.controllers.DTO.CursorPageDTO;
+import com.bd2_team6.biteright.controllers.DTO.WeightSeriesDTO;
+import com.bd2_team6.biteright.controllers.DTO.WeightSeriesPointDTO;
+import com.bd2_team6.biteright.controllers.WeightHistoryController;
+import com.bd2_team6.biteright.controllers.requests.update_requests.WeightHistoryUpdateRequest;
 import com.bd2_team6.biteright.entities.user.User;
 import com.bd2_team6.biteright.entities.user.UserRepository;
 import com.bd2_team6.biteright.entities.weight_history.WeightHistory;
 import com.bd2_team6.biteright.entities.weight_history.WeightHistoryRepository;
+import com.bd2_team6.biteright.service.HistoryCountCache;
+import com.bd2_team6.biteright.service.WeightHistoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import({WeightHistoryService.class, HistoryCountCache.class, SimpleMeterRegistry.class})
 public class WeightHistoryTests {
 
     @Autowired
@@ -25,6 +41,9 @@ public class WeightHistoryTests {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private WeightHistoryService weightHistoryService;
+
     @Test
     public void shouldSaveWeightHistory() {
         User user = new User("john_doe", "john@example.com", "passwordHash", "standard");
@@ -122,4 +141,134 @@ public class WeightHistoryTests {
         User saved = userRepository.findById(user.getId()).orElseThrow();
         assertEquals(1, saved.getWeightHistories().size());
     }
+
+    @Test
+    public void shouldPageWeightHistoryByCursor() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        List<WeightHistory> measurements = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // two measurements at the same time each day, pages have to break the tie by id
+            measurements.add(new WeightHistory(user, LocalDateTime.parse("2025-05-01T07:00:00").plusDays(i / 2),
+                    70.0f + i));
+        }
+        weightHistoryRepository.saveAll(measurements);
+        List<Long> expected = measurements.stream()
+                .sorted(Comparator.comparing(WeightHistory::getMeasurementDate)
+                        .thenComparing(WeightHistory::getWeightId).reversed())
+                .map(WeightHistory::getWeightId)
+                .toList();
+
+        List<Long> read = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<WeightHistory> page = weightHistoryService.findWeightHistory(user.getId(), null, null,
+                    cursor, 10, false);
+            assertNull(page.getTotal());
+            page.getItems().forEach(measurement -> read.add(measurement.getWeightId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(3, pages);
+        assertEquals(expected, read);
+
+        CursorPageDTO<WeightHistory> range = weightHistoryService.findWeightHistory(user.getId(),
+                LocalDate.parse("2025-05-12"), null, null, 10, false);
+        assertEquals(3, range.getItems().size());
+        assertNull(range.getNextCursor());
+    }
+
+    @Test
+    public void shouldCacheWeightHistoryCountUntilWrittenThroughService() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        List<WeightHistory> measurements = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            measurements.add(new WeightHistory(user, LocalDateTime.parse("2025-05-01T07:00:00").plusDays(i), 70.0f));
+        }
+        weightHistoryRepository.saveAll(measurements);
+        LocalDate from = LocalDate.parse("2025-05-01");
+        LocalDate to = LocalDate.parse("2025-05-31");
+        assertEquals(5, weightHistoryService.findWeightHistory(user.getId(), from, to, null, 2, true).getTotal());
+
+        // rows written past the service are not seen until the cached count is dropped
+        weightHistoryRepository.save(new WeightHistory(user, LocalDateTime.parse("2025-05-10T07:00:00"), 71.0f));
+        weightHistoryRepository.save(new WeightHistory(user, LocalDateTime.parse("2025-05-11T07:00:00"), 71.0f));
+        assertEquals(5, weightHistoryService.findWeightHistory(user.getId(), from, to, null, 2, true).getTotal());
+
+        weightHistoryService.updateWeightHistoryById(user.getId(), measurements.get(0).getWeightId(),
+                new WeightHistoryUpdateRequest(LocalDateTime.parse("2025-06-01T07:00:00"), 70.0f));
+        assertEquals(6, weightHistoryService.findWeightHistory(user.getId(), from, to, null, 2, true).getTotal());
+
+        weightHistoryService.deleteWeightHistoryById(user.getId(), measurements.get(1).getWeightId());
+        assertEquals(5, weightHistoryService.findWeightHistory(user.getId(), from, to, null, 2, true).getTotal());
+    }
+
+    @Test
+    public void shouldRejectSortingWeightHistoryByUnindexedColumn() {
+        User user = userRepository.save(new User("john_doe", "john@example.com", "passwordHash", "standard"));
+        WeightHistoryController controller = new WeightHistoryController(weightHistoryService);
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.findWeightHistoriesForUser(principal(user), 0, 10, "desc",
+                "weight").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.findWeightHistoriesByDate(principal(user), 0, 10, "weight",
+                "desc", LocalDate.parse("2025-05-01")).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.findWeightHistoriesForUser(principal(user), 0, 10, "desc",
+                "measurementDate").getStatusCode());
+        assertEquals(HttpStatus.OK, controller.findWeightHistoriesForUser(principal(user), 0, 10, "asc",
+                "weightId").getStatusCode());
+    }
+
+    @Test
+    public void shouldAggregateWeightSeriesIntoBoundedPoints() {
+        User user = userRepository.save(new User("series_user", "series@example.com", "passwordHash", "user"));
+        List<WeightHistory> measurements = new ArrayList<>();
+        for (int day = 0; day < 400; day++) {
+            for (int i = 0; i < 3; i++) {
+                measurements.add(new WeightHistory(user, LocalDateTime.of(2024, 1, 1, 7 + 7 * i, 0).plusDays(day),
+                        81.0f + i));
+            }
+        }
+        weightHistoryRepository.saveAll(measurements);
+        entityManager.flush();
+
+        WeightSeriesDTO daily = weightHistoryService.findWeightSeries(user.getId(), LocalDate.parse("2024-01-01"),
+                LocalDate.parse("2024-01-31"), "day", 200);
+        assertEquals("day", daily.getBucket());
+        assertEquals(31, daily.getPoints().size());
+        assertEquals(new WeightSeriesPointDTO(LocalDate.parse("2024-01-01"), 82.0f, 81.0f, 83.0f, 3),
+                daily.getPoints().get(0));
+
+        // 400 days do not fit in 20 days or weeks, so the points are months
+        WeightSeriesDTO monthly = weightHistoryService.findWeightSeries(user.getId(), null, null, "day", 20);
+        assertEquals("month", monthly.getBucket());
+        assertEquals(14, monthly.getPoints().size());
+        assertEquals(1200, monthly.getPoints().stream().mapToInt(WeightSeriesPointDTO::getCount).sum());
+        assertEquals(LocalDate.parse("2024-02-01"), monthly.getPoints().get(1).getDate());
+        assertEquals(29 * 3, monthly.getPoints().get(1).getCount());
+
+        WeightHistoryController controller = new WeightHistoryController(weightHistoryService);
+        assertEquals(HttpStatus.BAD_REQUEST, controller.findWeightSeries(principal(user), null, null, "hour", 200)
+                .getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.findWeightSeries(principal(user), null, null, "day", 5000)
+                .getStatusCode());
+    }
+
+    private static AuthenticatedUser principal(User user) {
+        return new AuthenticatedUser() {
+            @Override
+            public Long getUserId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getUsername() {
+                return user.getUsername();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+        };
+    }
 }